@@ -0,0 +1,50 @@
+package com.jpagenerator.benchmarks;
+
+import com.jpagenerator.generator.CrudGenerator;
+import com.jpagenerator.generator.CrudLayer;
+import com.jpagenerator.output.GeneratedFile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cada camada do {@link CrudGenerator} isoladamente.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CrudGenerationBenchmark {
+
+    @Param({"REQUEST", "RESPONSE", "REPOSITORY", "SERVICE", "CONTROLLER"})
+    public CrudLayer layer;
+
+    private Set<CrudLayer> layers;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        layers = EnumSet.of(layer);
+    }
+
+    @Benchmark
+    public List<GeneratedFile> generateLayer(TableState state) {
+        return new CrudGenerator(state.config, state.helper)
+                .renderCrud(state.table, state.className, state.classNames, state.foreignKeyHandling, layers);
+    }
+}
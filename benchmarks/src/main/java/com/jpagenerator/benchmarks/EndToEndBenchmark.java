@@ -0,0 +1,145 @@
+package com.jpagenerator.benchmarks;
+
+import com.jpagenerator.config.DatabaseConfig;
+import com.jpagenerator.config.GenerationPlan;
+import com.jpagenerator.engine.GenerationEngine;
+import com.jpagenerator.engine.GenerationRequest;
+import com.jpagenerator.engine.GenerationResult;
+import com.jpagenerator.engine.PlanDecisions;
+import com.jpagenerator.inspector.InMemorySchemaSource;
+import com.jpagenerator.output.DirectorySink;
+import com.jpagenerator.output.FileSink;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Geração de um schema sintético inteiro, sem banco de dados. Uma operação gera todas as tabelas; os contadores
+ * {@code tables} e {@code files} são reportados por segundo, ao lado das operações.
+ *
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar EndToEnd -p tableCount=10000 -p path=CRUD -p sink=NULL
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class EndToEndBenchmark {
+
+    public enum GenerationPath {
+        /** Apenas as entidades. */
+        ENTITY,
+        /** Entidades e todas as camadas do CRUD. */
+        CRUD
+    }
+
+    public enum SinkType {
+        /** Descarta os arquivos. */
+        NULL,
+        /** Grava em um diretório temporário, limpo a cada iteração. */
+        DIRECTORY
+    }
+
+    @Param({"100", "1000", "10000", "50000"})
+    public int tableCount;
+
+    @Param({"ENTITY", "CRUD"})
+    public GenerationPath path;
+
+    @Param({"NULL", "DIRECTORY"})
+    public SinkType sink;
+
+    private GenerationEngine engine;
+    private GenerationRequest request;
+    private Path outputDirectory;
+    private FileSink fileSink;
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Counters {
+        public long tables;
+        public long files;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        SyntheticSchema schema = SyntheticSchema.builder()
+                .tableCount(tableCount)
+                .build();
+
+        DatabaseConfig config = new DatabaseConfig();
+        config.setBasePackage("com.example.entity");
+
+        GenerationPlan plan = new GenerationPlan();
+        plan.setForeignKeyStrategy("relationship");
+        plan.setGenerateCrud(path == GenerationPath.CRUD);
+
+        engine = new GenerationEngine(new InMemorySchemaSource(schema.generate()));
+        request = GenerationRequest.builder()
+                .config(config)
+                .schema(schema.schema())
+                .decisions(new PlanDecisions(plan, config))
+                .build();
+
+        if (sink == SinkType.DIRECTORY) {
+            outputDirectory = Files.createTempDirectory("jpa-generator-bench");
+            fileSink = new DirectorySink(outputDirectory.toString());
+        } else {
+            fileSink = FileSink.DISCARD;
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void cleanIteration() throws IOException {
+        if (outputDirectory != null) {
+            deleteContents(outputDirectory);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (outputDirectory != null) {
+            deleteContents(outputDirectory);
+            Files.deleteIfExists(outputDirectory);
+        }
+    }
+
+    @Benchmark
+    public GenerationResult generateSchema(Counters counters) throws Exception {
+        GenerationResult result = engine.generate(request, fileSink);
+        counters.tables += tableCount;
+        counters.files += result.generatedFiles().size();
+        return result;
+    }
+
+    private static void deleteContents(Path root) throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                if (!path.equals(root)) {
+                    Files.deleteIfExists(path);
+                }
+            }
+        }
+    }
+}
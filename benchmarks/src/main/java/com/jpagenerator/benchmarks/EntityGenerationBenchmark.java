@@ -0,0 +1,30 @@
+package com.jpagenerator.benchmarks;
+
+import com.jpagenerator.generator.CodeGenerator;
+import com.jpagenerator.output.GeneratedFile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CodeGenerator#renderEntity}: a entidade em memória, sem o custo de gravar no disco.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EntityGenerationBenchmark {
+
+    @Benchmark
+    public GeneratedFile generateEntity(TableState state) {
+        return new CodeGenerator(state.config, state.helper)
+                .renderEntity(state.table, state.className, state.foreignKeyHandling, state.classNames);
+    }
+}
@@ -0,0 +1,73 @@
+package com.jpagenerator.benchmarks;
+
+import com.jpagenerator.config.DatabaseConfig;
+import com.jpagenerator.engine.GenerationEngine;
+import com.jpagenerator.engine.GenerationRequest;
+import com.jpagenerator.engine.GenerationResult;
+import com.jpagenerator.inspector.InMemorySchemaSource;
+import com.jpagenerator.output.FileSink;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * O fecho de FKs do {@link GenerationEngine} (antes em {@code Main.processSelectedTables}): a geração parte da
+ * última tabela de um schema sintético e segue os relacionamentos até as tabelas referenciadas.
+ * As entidades são descartadas ({@link FileSink#DISCARD}) para medir só a orquestração e a renderização.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ForeignKeyClosureBenchmark {
+    private static final int TABLE_COUNT = 50;
+
+    @Param({"8", "32", "128"})
+    public int columnCount;
+
+    @Param({"0.0", "0.25", "0.5"})
+    public double fkDensity;
+
+    private GenerationEngine engine;
+    private GenerationRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        DatabaseConfig config = new DatabaseConfig();
+        config.setBasePackage("com.example.entity");
+        config.setForeignKeyStrategy("relationship");
+
+        SyntheticSchema schema = SyntheticSchema.builder()
+                .tableCount(TABLE_COUNT)
+                .columns(columnCount, columnCount)
+                .foreignKeyShape(SyntheticSchema.ForeignKeyShape.RANDOM)
+                .foreignKeyDensity(fkDensity)
+                .build();
+
+        engine = new GenerationEngine(new InMemorySchemaSource(schema.generate()));
+        request = GenerationRequest.builder()
+                .config(config)
+                .schema(schema.schema())
+                .tables(List.of(SyntheticSchema.tableName(TABLE_COUNT - 1)))
+                .build();
+    }
+
+    @Benchmark
+    public GenerationResult foreignKeyClosure() throws Exception {
+        return engine.generate(request, FileSink.DISCARD);
+    }
+}
@@ -0,0 +1,88 @@
+package com.jpagenerator.benchmarks;
+
+import com.jpagenerator.model.ColumnInfo;
+import com.jpagenerator.model.TableInfo;
+import com.jpagenerator.util.CodeGeneratorHelper;
+import com.jpagenerator.util.Inflector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inflexão e nomes: chamados várias vezes por coluna durante a geração. Cada operação percorre um lote fixo
+ * de entradas, para não medir sempre o mesmo ramo das regras.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NamingBenchmark {
+    private static final String[] PLURALS = {
+            "pedidos", "lotacoes", "funcoes", "papeis", "animais", "usuarios", "empresas", "itens",
+            "mulheres", "luzes", "cidadaos", "paises", "status", "onibus", "enderecos", "cartoes"
+    };
+    private static final String[] SINGULARS = {
+            "pedido", "lotacao", "funcao", "papel", "animal", "usuario", "empresa", "item",
+            "mulher", "luz", "cidadao", "pais", "status", "onibus", "endereco", "cartao"
+    };
+    private static final String[] SNAKE_CASE = {
+            "id", "papel_empresa_id", "data_criacao", "valor_total_bruto", "uf", "created_at",
+            "numero_documento_fiscal_eletronico", "ativo"
+    };
+
+    private final CodeGeneratorHelper helper = new CodeGeneratorHelper();
+    private List<ColumnInfo> columns;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        TableInfo table = SyntheticSchema.builder()
+                .tableCount(1)
+                .columns(64, 64)
+                .build()
+                .generate()
+                .getFirst();
+        columns = table.columns();
+    }
+
+    @Benchmark
+    public void singularize(Blackhole bh) {
+        for (String word : PLURALS) {
+            bh.consume(Inflector.singularize(word));
+        }
+    }
+
+    @Benchmark
+    public void pluralize(Blackhole bh) {
+        for (String word : SINGULARS) {
+            bh.consume(Inflector.pluralize(word));
+        }
+    }
+
+    @Benchmark
+    public void toCamelCase(Blackhole bh) {
+        for (String name : SNAKE_CASE) {
+            bh.consume(helper.toCamelCase(name));
+        }
+    }
+
+    @Benchmark
+    public void mapSqlTypeToJava(Blackhole bh) {
+        for (ColumnInfo column : columns) {
+            bh.consume(helper.mapSqlTypeToJava(column));
+        }
+    }
+}
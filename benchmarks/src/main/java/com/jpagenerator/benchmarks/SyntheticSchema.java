@@ -0,0 +1,337 @@
+package com.jpagenerator.benchmarks;
+
+import com.jpagenerator.model.ColumnInfo;
+import com.jpagenerator.model.ForeignKeyInfo;
+import com.jpagenerator.model.PrimaryKeyInfo;
+import com.jpagenerator.model.SequenceInfo;
+import com.jpagenerator.model.TableInfo;
+import com.jpagenerator.model.UniqueConstraintInfo;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Gera schemas sintéticos realistas a partir de uma semente: a mesma configuração produz sempre as mesmas tabelas.
+ * Controla a quantidade de tabelas e colunas, a mistura de tipos, o formato do grafo de FKs, as constraints
+ * únicas e as sequences.
+ *
+ * <pre>
+ * List&lt;TableInfo&gt; tables = SyntheticSchema.builder()
+ *         .seed(7)
+ *         .tableCount(10_000)
+ *         .foreignKeyShape(SyntheticSchema.ForeignKeyShape.HUBS)
+ *         .build()
+ *         .generate();
+ * </pre>
+ */
+public final class SyntheticSchema {
+
+    /**
+     * Formato do grafo de FKs. Uma tabela só referencia tabelas anteriores, então o grafo é sempre acíclico.
+     */
+    public enum ForeignKeyShape {
+        /** Nenhuma FK. */
+        NONE,
+        /** Cada tabela referencia a anterior: o fecho de FKs da última tabela é o schema inteiro. */
+        CHAIN,
+        /** Todas referenciam a primeira tabela. */
+        STAR,
+        /** Árvore binária: a tabela {@code i} referencia {@code (i - 1) / 2}. */
+        TREE,
+        /** Até {@code maxForeignKeys} FKs por tabela, com alvos uniformes. */
+        RANDOM,
+        /** Como {@code RANDOM}, mas os alvos se concentram nas primeiras tabelas (cadastros muito referenciados). */
+        HUBS
+    }
+
+    /**
+     * Pesos dos tipos SQL sorteados para as colunas comuns.
+     */
+    public enum TypeMix {
+        BALANCED(new int[]{4, 3, 2, 2, 2, 2, 2, 2, 1, 1}),
+        TEXT_HEAVY(new int[]{10, 1, 1, 5, 1, 1, 1, 1, 1, 0}),
+        NUMERIC_HEAVY(new int[]{2, 5, 4, 1, 5, 1, 1, 1, 0, 3});
+
+        private static final String[] DATA_TYPES = {
+                "character varying", "integer", "bigint", "text", "numeric", "boolean",
+                "date", "timestamp with time zone", "uuid", "smallint"
+        };
+
+        private final int[] weights;
+        private final int totalWeight;
+
+        TypeMix(int[] weights) {
+            this.weights = weights;
+            int total = 0;
+            for (int weight : weights) {
+                total += weight;
+            }
+            this.totalWeight = total;
+        }
+
+        String pick(Random random) {
+            int roll = random.nextInt(totalWeight);
+            for (int i = 0; i < weights.length; i++) {
+                roll -= weights[i];
+                if (roll < 0) {
+                    return DATA_TYPES[i];
+                }
+            }
+            return DATA_TYPES[0];
+        }
+    }
+
+    private static final String[] TABLE_NOUNS = {
+            "pedidos", "clientes", "produtos", "empresas", "usuarios", "enderecos", "lotacoes", "funcoes",
+            "papeis", "itens", "pagamentos", "documentos", "contratos", "servidores", "veiculos", "cartoes"
+    };
+    private static final String[] COLUMN_NAMES = {
+            "nome", "descricao", "valor", "quantidade", "ativo", "data_criacao", "data_atualizacao", "observacao",
+            "email", "telefone", "situacao", "numero", "percentual", "data_referencia", "identificador", "ordem"
+    };
+
+    private final long seed;
+    private final String schema;
+    private final int tableCount;
+    private final int minColumns;
+    private final int maxColumns;
+    private final TypeMix typeMix;
+    private final ForeignKeyShape foreignKeyShape;
+    private final int maxForeignKeys;
+    private final double foreignKeyDensity;
+    private final double uniqueConstraintRatio;
+    private final double sequenceRatio;
+
+    private SyntheticSchema(Builder builder) {
+        this.seed = builder.seed;
+        this.schema = builder.schema;
+        this.tableCount = builder.tableCount;
+        this.minColumns = builder.minColumns;
+        this.maxColumns = builder.maxColumns;
+        this.typeMix = builder.typeMix;
+        this.foreignKeyShape = builder.foreignKeyShape;
+        this.maxForeignKeys = builder.maxForeignKeys;
+        this.foreignKeyDensity = builder.foreignKeyDensity;
+        this.uniqueConstraintRatio = builder.uniqueConstraintRatio;
+        this.sequenceRatio = builder.sequenceRatio;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public String schema() {
+        return schema;
+    }
+
+    public static String tableName(int index) {
+        return "m" + index + "_" + TABLE_NOUNS[index % TABLE_NOUNS.length];
+    }
+
+    public List<TableInfo> generate() {
+        Random random = new Random(seed);
+        List<TableInfo> tables = new ArrayList<>(tableCount);
+        for (int i = 0; i < tableCount; i++) {
+            tables.add(table(i, random));
+        }
+        return tables;
+    }
+
+    private TableInfo table(int index, Random random) {
+        String name = tableName(index);
+        int columnCount = minColumns + random.nextInt(maxColumns - minColumns + 1);
+        boolean useSequence = random.nextDouble() < sequenceRatio;
+
+        List<ColumnInfo> columns = new ArrayList<>(columnCount + maxForeignKeys);
+        columns.add(ColumnInfo.builder()
+                .name("id")
+                .dataType("bigint")
+                .nullable(false)
+                .defaultValue(useSequence ? "nextval('" + schema + "." + name + "_id_seq'::regclass)" : null)
+                .ordinalPosition(1)
+                .build());
+
+        List<ForeignKeyInfo> foreignKeys = new ArrayList<>();
+        for (int target : foreignKeyTargets(index, columnCount, random)) {
+            String referenced = tableName(target);
+            String columnName = referenced + "_id";
+            columns.add(ColumnInfo.builder()
+                    .name(columnName)
+                    .dataType("bigint")
+                    .nullable(random.nextInt(4) == 0)
+                    .ordinalPosition(columns.size() + 1)
+                    .build());
+            foreignKeys.add(new ForeignKeyInfo(columnName, schema, referenced, "id", name + "_" + columnName + "_fk"));
+        }
+
+        Map<String, Integer> usedNames = new HashMap<>();
+        while (columns.size() < columnCount) {
+            String baseName = COLUMN_NAMES[random.nextInt(COLUMN_NAMES.length)];
+            int occurrence = usedNames.merge(baseName, 1, Integer::sum);
+            String columnName = occurrence == 1 ? baseName : baseName + "_" + occurrence;
+            columns.add(column(columnName, typeMix.pick(random), columns.size() + 1, random));
+        }
+
+        List<UniqueConstraintInfo> uniqueConstraints = new ArrayList<>();
+        if (random.nextDouble() < uniqueConstraintRatio) {
+            columns.add(ColumnInfo.builder()
+                    .name("codigo")
+                    .dataType("character varying")
+                    .maxLength(30)
+                    .nullable(false)
+                    .ordinalPosition(columns.size() + 1)
+                    .build());
+            uniqueConstraints.add(new UniqueConstraintInfo(name + "_codigo_key", List.of("codigo")));
+        }
+
+        return TableInfo.builder()
+                .schema(schema)
+                .name(name)
+                .columns(columns)
+                .primaryKey(new PrimaryKeyInfo(List.of("id")))
+                .foreignKeys(foreignKeys)
+                .uniqueConstraints(uniqueConstraints)
+                .sequences(useSequence ? List.of(new SequenceInfo("id", name + "_id_seq", schema)) : List.of())
+                .build();
+    }
+
+    private Set<Integer> foreignKeyTargets(int index, int columnCount, Random random) {
+        Set<Integer> targets = new LinkedHashSet<>();
+        if (index == 0) {
+            return targets;
+        }
+        switch (foreignKeyShape) {
+            case NONE -> {
+            }
+            case CHAIN -> targets.add(index - 1);
+            case STAR -> targets.add(0);
+            case TREE -> targets.add((index - 1) / 2);
+            case RANDOM, HUBS -> {
+                int count = foreignKeyDensity >= 0
+                        ? Math.min(index, (int) Math.round(foreignKeyDensity * (columnCount - 1)))
+                        : random.nextInt(Math.min(maxForeignKeys, index) + 1);
+                while (targets.size() < count) {
+                    double r = random.nextDouble();
+                    // HUBS: r² concentra os sorteios no início do schema
+                    targets.add((int) (index * (foreignKeyShape == ForeignKeyShape.HUBS ? r * r : r)));
+                }
+            }
+        }
+        return targets;
+    }
+
+    private static ColumnInfo column(String name, String dataType, int position, Random random) {
+        ColumnInfo.ColumnInfoBuilder column = ColumnInfo.builder()
+                .name(name)
+                .dataType(dataType)
+                .nullable(random.nextInt(3) > 0)
+                .ordinalPosition(position);
+        switch (dataType) {
+            case "character varying" -> column.maxLength(new int[]{2, 20, 50, 100, 255}[random.nextInt(5)]);
+            case "numeric" -> column.precision(12 + random.nextInt(7)).scale(2);
+            case "boolean" -> column.nullable(false).defaultValue(random.nextBoolean() ? "true" : "false");
+            case "timestamp with time zone" -> column.defaultValue(random.nextBoolean() ? "now()" : null);
+            case "uuid" -> column.defaultValue("gen_random_uuid()");
+            default -> {
+            }
+        }
+        return column.build();
+    }
+
+    public static final class Builder {
+        private long seed = 42;
+        private String schema = "bench";
+        private int tableCount = 100;
+        private int minColumns = 4;
+        private int maxColumns = 24;
+        private TypeMix typeMix = TypeMix.BALANCED;
+        private ForeignKeyShape foreignKeyShape = ForeignKeyShape.HUBS;
+        private int maxForeignKeys = 3;
+        private double foreignKeyDensity = -1; // negativa: sorteia até maxForeignKeys
+        private double uniqueConstraintRatio = 0.3;
+        private double sequenceRatio = 0.8;
+
+        private Builder() {
+        }
+
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public Builder schema(String schema) {
+            this.schema = schema;
+            return this;
+        }
+
+        public Builder tableCount(int tableCount) {
+            this.tableCount = tableCount;
+            return this;
+        }
+
+        /**
+         * Intervalo de colunas por tabela, incluindo o id e as FKs.
+         */
+        public Builder columns(int minColumns, int maxColumns) {
+            if (minColumns < 1 || maxColumns < minColumns) {
+                throw new IllegalArgumentException("Intervalo de colunas inválido: " + minColumns + ".." + maxColumns);
+            }
+            this.minColumns = minColumns;
+            this.maxColumns = maxColumns;
+            return this;
+        }
+
+        public Builder typeMix(TypeMix typeMix) {
+            this.typeMix = typeMix;
+            return this;
+        }
+
+        public Builder foreignKeyShape(ForeignKeyShape foreignKeyShape) {
+            this.foreignKeyShape = foreignKeyShape;
+            return this;
+        }
+
+        public Builder maxForeignKeys(int maxForeignKeys) {
+            this.maxForeignKeys = maxForeignKeys;
+            return this;
+        }
+
+        /**
+         * Em {@code RANDOM} e {@code HUBS}, fixa a fração das colunas (além do id) que são FKs, em vez de sortear
+         * até {@code maxForeignKeys}. Limitada pelo número de tabelas anteriores, já que cada FK aponta para uma
+         * tabela diferente.
+         */
+        public Builder foreignKeyDensity(double foreignKeyDensity) {
+            if (foreignKeyDensity < 0 || foreignKeyDensity > 1) {
+                throw new IllegalArgumentException("Densidade de FKs inválida: " + foreignKeyDensity);
+            }
+            this.foreignKeyDensity = foreignKeyDensity;
+            return this;
+        }
+
+        /**
+         * Fração das tabelas com uma coluna {@code codigo} única.
+         */
+        public Builder uniqueConstraintRatio(double uniqueConstraintRatio) {
+            this.uniqueConstraintRatio = uniqueConstraintRatio;
+            return this;
+        }
+
+        /**
+         * Fração das tabelas cujo id vem de uma sequence ({@code nextval}).
+         */
+        public Builder sequenceRatio(double sequenceRatio) {
+            this.sequenceRatio = sequenceRatio;
+            return this;
+        }
+
+        public SyntheticSchema build() {
+            return new SyntheticSchema(this);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.jpagenerator.benchmarks;
+
+import com.jpagenerator.config.DatabaseConfig;
+import com.jpagenerator.model.TableInfo;
+import com.jpagenerator.util.CodeGeneratorHelper;
+import com.jpagenerator.util.Inflector;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Uma tabela sintética parametrizada por quantidade de colunas e densidade de FKs, com os mapas que o
+ * {@code GenerationEngine} montaria para ela. É a última de um {@link SyntheticSchema}, o mesmo formato de schema
+ * medido no {@code EndToEndBenchmark}.
+ */
+@State(Scope.Benchmark)
+public class TableState {
+
+    @Param({"8", "32", "128"})
+    public int columnCount;
+
+    @Param({"0.0", "0.25", "0.5"})
+    public double fkDensity;
+
+    public DatabaseConfig config;
+    public CodeGeneratorHelper helper;
+    public TableInfo table;
+    public String className;
+    public Map<String, String> classNames;
+    public Map<String, String> foreignKeyHandling;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        config = new DatabaseConfig();
+        config.setBasePackage("com.example.entity");
+        helper = new CodeGeneratorHelper();
+
+        // Tabelas anteriores suficientes para que cada FK aponte para uma tabela diferente
+        List<TableInfo> tables = SyntheticSchema.builder()
+                .tableCount(columnCount)
+                .columns(columnCount, columnCount)
+                .foreignKeyShape(SyntheticSchema.ForeignKeyShape.RANDOM)
+                .foreignKeyDensity(fkDensity)
+                .build()
+                .generate();
+
+        classNames = new HashMap<>();
+        for (TableInfo synthetic : tables) {
+            classNames.put(synthetic.name(), Inflector.singularize(Inflector.toPascalCase(synthetic.name())));
+        }
+        table = tables.getLast();
+        className = classNames.get(table.name());
+
+        foreignKeyHandling = new HashMap<>();
+        table.foreignKeys().forEach(fk -> foreignKeyHandling.put(fk.columnName(), "relationship"));
+    }
+}
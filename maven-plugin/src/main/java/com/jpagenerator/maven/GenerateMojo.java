@@ -0,0 +1,276 @@
+package com.jpagenerator.maven;
+
+import com.jpagenerator.config.ConfigManager;
+import com.jpagenerator.config.DatabaseConfig;
+import com.jpagenerator.config.GenerationPlan;
+import com.jpagenerator.engine.GenerationEngine;
+import com.jpagenerator.engine.GenerationRequest;
+import com.jpagenerator.engine.GenerationResult;
+import com.jpagenerator.engine.PlanDecisions;
+import com.jpagenerator.inspector.DatabaseInspector;
+import com.jpagenerator.inspector.SchemaSnapshot;
+import com.jpagenerator.inspector.SchemaSource;
+import com.jpagenerator.output.DirectorySink;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecution;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.SQLException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Gera as entidades (e o CRUD, conforme o plano) na fase {@code generate-sources} e registra o diretório de saída
+ * como raiz de fontes do projeto.
+ * <p>
+ * Antes de gerar, calcula uma chave a partir da versão do plugin, da configuração, do plano e da impressão digital
+ * do schema (o snapshot informado em {@code snapshotFile} ou uma única consulta ao catálogo). Se a chave for igual
+ * à da última execução e o diretório de saída existir, a geração é pulada por inteiro.
+ *
+ * <pre>
+ * mvn jpa-generator:generate -Djpagenerator.schema=vendas
+ * </pre>
+ */
+@Mojo(name = "generate", defaultPhase = LifecyclePhase.GENERATE_SOURCES, threadSafe = true)
+public class GenerateMojo extends AbstractMojo {
+
+    @Parameter(defaultValue = "${project}", readonly = true, required = true)
+    private MavenProject project;
+
+    @Parameter(defaultValue = "${mojoExecution}", readonly = true, required = true)
+    private MojoExecution mojoExecution;
+
+    /**
+     * Configuração do gerador (conexão, pacote base, versão do Java...). Opcional com {@code snapshotFile}.
+     */
+    @Parameter(property = "jpagenerator.configFile", defaultValue = "${project.basedir}/config/database.json")
+    private File configFile;
+
+    /**
+     * Plano de geração; por padrão, o plan.json ao lado da configuração.
+     */
+    @Parameter(property = "jpagenerator.planFile")
+    private File planFile;
+
+    /**
+     * Schema a gerar; por padrão, o do plano ou o do snapshot.
+     */
+    @Parameter(property = "jpagenerator.schema")
+    private String schema;
+
+    /**
+     * Snapshot gravado com {@code --save-snapshot}: gera sem conectar ao banco de dados.
+     */
+    @Parameter(property = "jpagenerator.snapshotFile")
+    private File snapshotFile;
+
+    /**
+     * Sobrepõe o pacote base da configuração.
+     */
+    @Parameter(property = "jpagenerator.basePackage")
+    private String basePackage;
+
+    @Parameter(property = "jpagenerator.outputDirectory",
+            defaultValue = "${project.build.directory}/generated-sources/jpa-generator")
+    private File outputDirectory;
+
+    @Parameter(defaultValue = "${project.build.directory}/jpa-generator/generation.key", readonly = true)
+    private File keyFile;
+
+    /**
+     * Gera mesmo que a chave não tenha mudado.
+     */
+    @Parameter(property = "jpagenerator.force", defaultValue = "false")
+    private boolean force;
+
+    @Parameter(property = "jpagenerator.skip", defaultValue = "false")
+    private boolean skip;
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        if (skip) {
+            getLog().info("Geração pulada (jpagenerator.skip).");
+            return;
+        }
+
+        ConfigManager configManager = new ConfigManager();
+        DatabaseConfig config = loadConfig(configManager);
+        GenerationPlan plan = loadPlan(configManager);
+
+        SchemaSnapshot snapshot = null;
+        if (snapshotFile != null) {
+            try {
+                snapshot = SchemaSnapshot.load(snapshotFile.toPath());
+            } catch (IOException e) {
+                throw new MojoExecutionException("Snapshot inválido em " + snapshotFile + ": " + e.getMessage(), e);
+            }
+        }
+
+        String targetSchema = schema != null ? schema
+                : plan != null && plan.getSchema() != null ? plan.getSchema()
+                : snapshot != null ? snapshot.schema() : null;
+        if (targetSchema == null) {
+            throw new MojoExecutionException("Informe o schema (parâmetro schema, plano ou snapshot).");
+        }
+
+        DatabaseInspector inspector = snapshot == null ? new DatabaseInspector(config) : null;
+        try {
+            String fingerprint;
+            SchemaSource source;
+            if (snapshot != null) {
+                fingerprint = snapshot.fingerprint();
+                source = snapshot.toSource();
+            } else {
+                inspector.connect();
+                fingerprint = inspector.schemaFingerprint(targetSchema);
+                source = inspector;
+            }
+
+            String key = generationKey(targetSchema, fingerprint);
+            Path output = outputDirectory.toPath();
+            if (!force && Files.isDirectory(output) && key.equals(readKey())) {
+                getLog().info("Nada mudou desde a última geração; geração pulada (" + output + ").");
+            } else {
+                generate(source, config, plan, targetSchema, output);
+                writeKey(key);
+            }
+        } catch (SQLException e) {
+            throw new MojoExecutionException("Erro de banco de dados: " + e.getMessage(), e);
+        } catch (IOException e) {
+            throw new MojoExecutionException("Erro ao gravar os arquivos gerados: " + e.getMessage(), e);
+        } finally {
+            disconnect(inspector);
+        }
+
+        project.addCompileSourceRoot(outputDirectory.getAbsolutePath());
+    }
+
+    private DatabaseConfig loadConfig(ConfigManager configManager) throws MojoExecutionException {
+        DatabaseConfig config = configFile.exists() ? configManager.loadConfig(configFile.getPath()) : null;
+        if (config == null) {
+            if (snapshotFile == null) {
+                throw new MojoExecutionException("Configuração não encontrada ou inválida: " + configFile);
+            }
+            config = new DatabaseConfig();
+        }
+        if (basePackage != null) {
+            config.setBasePackage(basePackage);
+        }
+        config.setOutputDirectory(outputDirectory.getAbsolutePath());
+        return config;
+    }
+
+    private GenerationPlan loadPlan(ConfigManager configManager) throws MojoExecutionException {
+        String planPath = planFile != null ? planFile.getPath() : configManager.defaultPlanPath(configFile.getPath());
+        try {
+            return configManager.loadPlan(planPath);
+        } catch (IllegalArgumentException e) {
+            throw new MojoExecutionException(e.getMessage(), e);
+        }
+    }
+
+    private void generate(SchemaSource source, DatabaseConfig config, GenerationPlan plan,
+                          String targetSchema, Path output) throws SQLException, IOException {
+        cleanOutput(output);
+
+        GenerationEngine engine = new GenerationEngine(source);
+        GenerationPlan effectivePlan = plan != null ? plan : new GenerationPlan();
+        List<String> tables = engine.resolveTables(targetSchema, effectivePlan);
+        GenerationRequest request = GenerationRequest.builder()
+                .config(config)
+                .schema(targetSchema)
+                .tables(tables)
+                .decisions(new PlanDecisions(effectivePlan, config))
+                .build();
+        GenerationResult result = engine.generate(request, new DirectorySink(output.toString()));
+
+        getLog().info(result.generatedFiles().size() + " arquivo(s) gerado(s) do schema '" + targetSchema
+                + "' em " + output);
+    }
+
+    /**
+     * Limpa a saída anterior para não deixar classes de tabelas removidas; só dentro do diretório de build.
+     */
+    private void cleanOutput(Path output) throws IOException {
+        Path buildDirectory = Path.of(project.getBuild().getDirectory()).toAbsolutePath().normalize();
+        Path target = output.toAbsolutePath().normalize();
+        if (!Files.isDirectory(target) || !target.startsWith(buildDirectory) || target.equals(buildDirectory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(target)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                if (!path.equals(target)) {
+                    Files.deleteIfExists(path);
+                }
+            }
+        }
+    }
+
+    private String generationKey(String targetSchema, String fingerprint) throws MojoExecutionException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            update(digest, mojoExecution.getMojoDescriptor().getPluginDescriptor().getVersion());
+            update(digest, targetSchema);
+            update(digest, fingerprint);
+            update(digest, basePackage);
+            update(digest, outputDirectory.getAbsolutePath());
+            updateFile(digest, configFile);
+            updateFile(digest, planFile != null ? planFile
+                    : new File(new ConfigManager().defaultPlanPath(configFile.getPath())));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        } catch (IOException e) {
+            throw new MojoExecutionException("Erro ao ler a configuração ou o plano: " + e.getMessage(), e);
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update((value == null ? "" : value).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static void updateFile(MessageDigest digest, File file) throws IOException {
+        if (file.isFile()) {
+            digest.update(Files.readAllBytes(file.toPath()));
+        }
+        digest.update((byte) 0);
+    }
+
+    private String readKey() {
+        try {
+            return keyFile.isFile() ? Files.readString(keyFile.toPath()).trim() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void writeKey(String key) throws IOException {
+        Files.createDirectories(keyFile.toPath().toAbsolutePath().getParent());
+        Files.writeString(keyFile.toPath(), key + System.lineSeparator());
+    }
+
+    private void disconnect(DatabaseInspector inspector) {
+        if (inspector == null) {
+            return;
+        }
+        try {
+            inspector.disconnect();
+        } catch (SQLException e) {
+            getLog().warn("Erro ao fechar a conexão: " + e.getMessage());
+        }
+    }
+}
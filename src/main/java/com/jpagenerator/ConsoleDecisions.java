@@ -0,0 +1,82 @@
+package com.jpagenerator;
+
+import com.jpagenerator.config.DatabaseConfig;
+import com.jpagenerator.engine.GenerationDecisions;
+import com.jpagenerator.generator.CrudLayer;
+import com.jpagenerator.generator.CrudOptions;
+import com.jpagenerator.model.ForeignKeyInfo;
+
+import java.util.EnumSet;
+import java.util.Scanner;
+import java.util.Set;
+
+/**
+ * Decisões do modo interativo: pergunta ao usuário pelo terminal, respeitando as preferências da configuração.
+ */
+class ConsoleDecisions implements GenerationDecisions {
+    private final DatabaseConfig config;
+    private final Scanner scanner;
+    private Boolean autoNameClasses;
+
+    ConsoleDecisions(DatabaseConfig config, Scanner scanner) {
+        this.config = config;
+        this.scanner = scanner;
+    }
+
+    @Override
+    public String className(String tableName, String suggestedClassName) {
+        if (isAutoNameClasses()) {
+            return suggestedClassName;
+        }
+        System.out.print("\nTabela: " + tableName + " -> Nome da Classe [" + suggestedClassName + "]: ");
+        String className = scanner.nextLine().trim();
+        return className.isEmpty() ? suggestedClassName : className;
+    }
+
+    @Override
+    public String foreignKeyHandling(String tableName, ForeignKeyInfo fk) {
+        switch (config.getForeignKeyStrategy()) {
+            case "relationship":
+                return "relationship";
+            case "column":
+                return "column";
+            default: // "interactive"
+                System.out.println("  " + fk.columnName() + " -> " + fk.referencedSchema() + "." + fk.referencedTable());
+                System.out.print("  Tratamento (1=coluna simples, 2=relacionamento JPA) [2]: ");
+                String choice = scanner.nextLine().trim();
+                return choice.equals("1") ? "column" : "relationship";
+        }
+    }
+
+    @Override
+    public boolean generateCrud(String tableName, String className) {
+        System.out.print("\nDeseja gerar um CRUD Spring Boot para a entidade '" + className + "'? (s/n) [n]: ");
+        String choice = scanner.nextLine().trim().toLowerCase();
+        return choice.equals("s") || choice.equals("sim");
+    }
+
+    @Override
+    public Set<CrudLayer> crudLayers(String tableName) {
+        return EnumSet.allOf(CrudLayer.class);
+    }
+
+    @Override
+    public CrudOptions crudOptions(String tableName) {
+        return CrudOptions.defaults();
+    }
+
+    private boolean isAutoNameClasses() {
+        if (autoNameClasses == null) {
+            autoNameClasses = config.isUseAutomaticSingularization();
+            // Apenas pergunta se estiver em modo interativo de verdade
+            if (System.console() != null && config.isUseAutomaticSingularization()) {
+                System.out.print("\nNomear classes automaticamente (singularizando o nome das tabelas)? (s/n) [s]: ");
+                String choice = scanner.nextLine().trim().toLowerCase();
+                if (!choice.isEmpty()) {
+                    autoNameClasses = !choice.equals("n") && !choice.equals("nao");
+                }
+            }
+        }
+        return autoNameClasses;
+    }
+}
@@ -2,63 +2,225 @@ package com.jpagenerator;
 
 import com.jpagenerator.config.ConfigManager;
 import com.jpagenerator.config.DatabaseConfig;
-import com.jpagenerator.generator.CodeGenerator;
-import com.jpagenerator.generator.CrudGenerator;
+import com.jpagenerator.config.GenerationPlan;
+import com.jpagenerator.daemon.DaemonClient;
+import com.jpagenerator.daemon.DaemonRequest;
+import com.jpagenerator.daemon.DaemonResponse;
+import com.jpagenerator.daemon.GenerationDaemon;
+import com.jpagenerator.engine.GenerationDecisions;
+import com.jpagenerator.engine.GenerationEngine;
+import com.jpagenerator.engine.GenerationRequest;
+import com.jpagenerator.engine.GenerationResult;
+import com.jpagenerator.engine.PlanDecisions;
 import com.jpagenerator.inspector.DatabaseInspector;
-import com.jpagenerator.model.ForeignKeyInfo;
-import com.jpagenerator.model.TableInfo;
-import com.jpagenerator.util.CodeGeneratorHelper;
-import com.jpagenerator.util.Inflector;
-import org.slf4j.Logger;
+import com.jpagenerator.inspector.SchemaSnapshot;
+import com.jpagenerator.logging.QuietLogConfigurator;
+import com.jpagenerator.metrics.JfrRecorder;
+import com.jpagenerator.metrics.Phase;
+import com.jpagenerator.metrics.QueryProfiler;
+import com.jpagenerator.metrics.RunMetrics;
+import com.jpagenerator.output.CheckSink;
+import com.jpagenerator.output.DirectorySink;
+import com.jpagenerator.output.FileSink;
+import com.jpagenerator.output.InMemorySink;
+import com.jpagenerator.output.StaleFileException;
+import com.jpagenerator.verify.CompileResult;
+import com.jpagenerator.verify.CompileVerifier;
+import com.jpagenerator.watch.FileChangeWatcher;
+import com.jpagenerator.watch.SchemaVersions;
+import com.jpagenerator.watch.WatchSession;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Scanner;
 import java.util.Set;
 
 public class Main {
-    private static final Logger logger = LoggerFactory.getLogger(Main.class);
-    private static final Scanner scanner = new Scanner(System.in);
-    private static final ConfigManager configManager = new ConfigManager();
-    private static DatabaseInspector inspector;
-    private static CodeGenerator generator;
-    private static CrudGenerator crudGenerator;
+    // Componentes criados sob demanda: uma execução em lote ou remota não paga pelo que não usa
+    private static Scanner scanner;
+    private static ConfigManager configManager;
 
     public static void main(String[] args) {
+        boolean failed = false;
+        boolean quiet = false;
+        JfrRecorder jfr = null;
         try {
-            System.out.println("=== Gerador Automático de Classes JPA ===\n");
-
             // Parse command line arguments
             CommandLineArgs cmdArgs = parseArgs(args);
+            quiet = cmdArgs.quiet;
+
+            // Precisa valer antes do primeiro logger: o logback se configura na primeira chamada
+            if (cmdArgs.quiet) {
+                System.setProperty(QuietLogConfigurator.QUIET_PROPERTY, "true");
+            } else {
+                System.out.println("=== Gerador Automático de Classes JPA ===\n");
+            }
+
+            if (cmdArgs.jfrFile != null) {
+                jfr = JfrRecorder.start(cmdArgs.jfrFile);
+            }
+
+            if (cmdArgs.trainingRun) {
+                int files = TrainingRun.run();
+                System.out.println("Execução de treino concluída: " + files + " arquivo(s) gerado(s).");
+                if (!cmdArgs.quiet) {
+                    reportStartupTime("o fim da execução de treino");
+                }
+                return;
+            }
+
+            if (cmdArgs.remote) {
+                runRemote(cmdArgs);
+                return;
+            }
 
             // Load or create configuration
-            DatabaseConfig config = loadConfiguration();
+            DatabaseConfig config = loadConfiguration(cmdArgs);
+            if (cmdArgs.outputDir != null) {
+                config.setOutputDirectory(cmdArgs.outputDir);
+            }
+
+            if (cmdArgs.daemon) {
+                runDaemon(cmdArgs, config);
+                return;
+            }
 
-            CodeGeneratorHelper helper = new CodeGeneratorHelper();
+            GenerationPlan plan = null; // presente apenas no modo não interativo
+            if (cmdArgs.nonInteractive) {
+                plan = loadPlan(cmdArgs);
+                if (cmdArgs.schema == null && cmdArgs.table == null) {
+                    cmdArgs.schema = plan.getSchema();
+                }
+                if (cmdArgs.schema == null && cmdArgs.table == null) {
+                    throw new IllegalArgumentException("Modo não interativo requer --schema, --table ou \"schema\" no plano de geração");
+                }
+            }
+
+            if (cmdArgs.watch) {
+                runWatch(cmdArgs, config, plan);
+                return;
+            }
 
             // Initialize components
-            inspector = new DatabaseInspector(config);
-            generator = new CodeGenerator(config, helper);
-            crudGenerator = new CrudGenerator(config, helper);
+            RunMetrics metrics = new RunMetrics();
+            if (cmdArgs.profileQueries) {
+                metrics.setQueryProfiler(new QueryProfiler(cmdArgs.explainSlowest));
+            }
+            PrintStream console = cmdArgs.quiet ? new PrintStream(PrintStream.nullOutputStream()) : System.out;
+            PrintStream progress = cmdArgs.check ? new PrintStream(PrintStream.nullOutputStream()) : console;
+            DatabaseInspector inspector = new DatabaseInspector(config);
+            inspector.setMetrics(metrics);
+            inspector.setOut(console);
+            GenerationEngine engine = new GenerationEngine(inspector, progress);
+            CheckSink check = cmdArgs.check ? new CheckSink(config.getOutputDirectory(), cmdArgs.failFast) : null;
+            FileSink output = check != null ? check : new DirectorySink(config.getOutputDirectory());
+            InMemorySink compiled = cmdArgs.verify ? new InMemorySink() : null;
+            FileSink sink = compiled == null ? output : file -> {
+                compiled.write(file);
+                return output.write(file);
+            };
+
+            if (cmdArgs.saveSnapshotFile != null) {
+                saveSnapshot(cmdArgs, inspector);
+                return;
+            }
+
+            if (cmdArgs.installDdlLog || cmdArgs.uninstallDdlLog) {
+                manageDdlLog(cmdArgs, inspector);
+                return;
+            }
 
             // Execute based on arguments
-            if (cmdArgs.interactive || (cmdArgs.schema == null && cmdArgs.table == null)) {
-                runInteractiveMode(config);
-            } else {
-                runBatchMode(cmdArgs, config);
+            GenerationResult result;
+            try {
+                if (!cmdArgs.nonInteractive && (cmdArgs.interactive || (cmdArgs.schema == null && cmdArgs.table == null))) {
+                    result = runInteractiveMode(config, inspector, engine, sink, metrics);
+                } else {
+                    result = runBatchMode(cmdArgs, config, plan, inspector, engine, sink, metrics);
+                }
+                if (cmdArgs.explainSlowest > 0) {
+                    inspector.explainSlowestQueries();
+                }
+            } finally {
+                inspector.disconnect();
             }
 
+            if (compiled != null && result != null) {
+                long verifyStart = System.nanoTime();
+                CompileResult compileResult = new CompileVerifier().verify(compiled.getFiles());
+                metrics.record(Phase.COMPILE_VERIFICATION, verifyStart);
+                failed = !reportCompilation(compileResult);
+            }
+
+            if (check != null) {
+                failed |= !reportCheck(check, cmdArgs.table == null);
+            } else if (result != null) {
+                printSummary(result.generatedFiles(), cmdArgs.quiet);
+            }
+
+            // Também no --check: é no CI que o relatório de cada execução é guardado
+            if (result != null) {
+                metrics.finish();
+                if (!cmdArgs.quiet) {
+                    System.out.println("\n=== Desempenho ===");
+                    System.out.println(metrics.summary());
+                }
+                if (cmdArgs.reportFile != null) {
+                    configManager().saveReport(metrics.toReport(), cmdArgs.reportFile);
+                    System.out.println("Relatório de desempenho salvo em: " + cmdArgs.reportFile);
+                }
+
+                if (check == null && cmdArgs.savePlanFile != null) {
+                    configManager().savePlan(result.resolvedPlan(), cmdArgs.savePlanFile);
+                    System.out.println("Plano de geração salvo em: " + cmdArgs.savePlanFile);
+                }
+            }
+
+        } catch (StaleFileException e) {
+            failed = true;
+            System.out.println("✗ " + e.getMessage());
+            System.out.println("Verificação interrompida na primeira diferença (--fail-fast).");
         } catch (Exception e) {
+            failed = true;
             System.err.println("Erro durante a execução: " + e.getMessage());
-            logger.error("Erro durante execução", e);
+            LoggerFactory.getLogger(Main.class).error("Erro durante execução", e);
         } finally {
-            scanner.close();
+            if (jfr != null) {
+                jfr.close();
+                if (!quiet) {
+                    System.out.println("Gravação JFR salva em: " + jfr.getDestination());
+                }
+            }
+            if (scanner != null) {
+                scanner.close();
+            }
         }
+
+        if (failed) {
+            System.exit(1);
+        }
+    }
+
+    private static Scanner scanner() {
+        if (scanner == null) {
+            scanner = new Scanner(System.in);
+        }
+        return scanner;
+    }
+
+    private static ConfigManager configManager() {
+        if (configManager == null) {
+            configManager = new ConfigManager();
+        }
+        return configManager;
     }
 
     private static CommandLineArgs parseArgs(String[] args) {
@@ -89,14 +251,131 @@ public class Main {
                         cmdArgs.outputDir = args[++i];
                     }
                     break;
+                case "--plan":
+                    if (i + 1 < args.length) {
+                        cmdArgs.planFile = args[++i];
+                        cmdArgs.nonInteractive = true;
+                    }
+                    break;
+                case "--non-interactive":
+                    cmdArgs.nonInteractive = true;
+                    break;
+                case "--save-plan":
+                    if (i + 1 < args.length) {
+                        cmdArgs.savePlanFile = args[++i];
+                    }
+                    break;
+                case "--daemon":
+                    cmdArgs.daemon = true;
+                    cmdArgs.nonInteractive = true;
+                    break;
+                case "--remote":
+                    cmdArgs.remote = true;
+                    break;
+                case "--refresh":
+                    cmdArgs.refresh = true;
+                    break;
+                case "--port":
+                    if (i + 1 < args.length) {
+                        cmdArgs.port = Integer.parseInt(args[++i]);
+                    }
+                    break;
+                case "--report":
+                    if (i + 1 < args.length) {
+                        cmdArgs.reportFile = args[++i];
+                    }
+                    break;
+                case "--jfr":
+                    if (i + 1 < args.length) {
+                        cmdArgs.jfrFile = args[++i];
+                    }
+                    break;
+                case "--profile-queries":
+                    cmdArgs.profileQueries = true;
+                    break;
+                case "--explain-slowest":
+                    if (i + 1 < args.length) {
+                        cmdArgs.profileQueries = true;
+                        cmdArgs.explainSlowest = Integer.parseInt(args[++i]);
+                    }
+                    break;
+                case "--check":
+                    cmdArgs.check = true;
+                    cmdArgs.nonInteractive = true;
+                    break;
+                case "--save-snapshot":
+                    if (i + 1 < args.length) {
+                        cmdArgs.saveSnapshotFile = args[++i];
+                    }
+                    break;
+                case "--watch":
+                    cmdArgs.watch = true;
+                    cmdArgs.nonInteractive = true;
+                    if (i + 1 < args.length && !args[i + 1].startsWith("--")) {
+                        cmdArgs.watchPaths.add(args[++i]);
+                    }
+                    break;
+                case "--snapshot":
+                    if (i + 1 < args.length) {
+                        cmdArgs.snapshotFile = args[++i];
+                    }
+                    break;
+                case "--ddl-log":
+                    cmdArgs.ddlLog = true;
+                    break;
+                case "--install-ddl-log":
+                    cmdArgs.installDdlLog = true;
+                    break;
+                case "--uninstall-ddl-log":
+                    cmdArgs.uninstallDdlLog = true;
+                    break;
+                case "--poll":
+                    if (i + 1 < args.length) {
+                        cmdArgs.pollMillis = Long.parseLong(args[++i]);
+                    }
+                    break;
+                case "--debounce":
+                    if (i + 1 < args.length) {
+                        cmdArgs.debounceMillis = Long.parseLong(args[++i]);
+                    }
+                    break;
+                case "--verify":
+                    cmdArgs.verify = true;
+                    break;
+                case "--fail-fast":
+                    cmdArgs.failFast = true;
+                    break;
+                case "--quiet":
+                    cmdArgs.quiet = true;
+                    break;
+                case "--training-run":
+                    cmdArgs.trainingRun = true;
+                    break;
+                case "--cache-ttl":
+                    if (i + 1 < args.length) {
+                        cmdArgs.cacheTtlSeconds = Long.parseLong(args[++i]);
+                    }
+                    break;
             }
         }
 
         return cmdArgs;
     }
 
-    private static DatabaseConfig loadConfiguration() {
-        DatabaseConfig config = configManager.loadConfig();
+    private static DatabaseConfig loadConfiguration(CommandLineArgs cmdArgs) {
+        DatabaseConfig config = cmdArgs.configFile != null
+                ? configManager().loadConfig(cmdArgs.configFile)
+                : configManager().loadConfig();
+
+        if (cmdArgs.nonInteractive) {
+            if (config == null) {
+                throw new IllegalStateException("Configuração não encontrada. Crie-a no modo interativo antes de usar o modo não interativo.");
+            }
+            if (!cmdArgs.quiet) {
+                System.out.println("Configuração carregada: " + config.getHost() + ":" + config.getPort() + "/" + config.getDatabase());
+            }
+            return config;
+        }
 
         if (config == null) {
             System.out.println("Configuração não encontrada. Vamos criar uma nova configuração.");
@@ -105,7 +384,7 @@ public class Main {
             System.out.println("Configuração carregada: " + config.getHost() + ":" + config.getPort() + "/" + config.getDatabase());
 
             System.out.print("Deseja usar esta configuração? (s/n): ");
-            String choice = scanner.nextLine().trim().toLowerCase();
+            String choice = scanner().nextLine().trim().toLowerCase();
 
             if (!choice.equals("s") && !choice.equals("sim") && !choice.isEmpty()) {
                 config = createNewConfiguration();
@@ -115,41 +394,201 @@ public class Main {
         return config;
     }
 
+    private static GenerationPlan loadPlan(CommandLineArgs cmdArgs) {
+        String planPath = cmdArgs.planFile != null ? cmdArgs.planFile : configManager().defaultPlanPath(cmdArgs.configFile);
+        GenerationPlan loaded = configManager().loadPlan(planPath);
+
+        if (loaded == null) {
+            if (cmdArgs.planFile != null) {
+                throw new IllegalArgumentException("Plano de geração não encontrado: " + planPath);
+            }
+            if (!cmdArgs.quiet) {
+                System.out.println("Plano de geração não encontrado em " + planPath + ". Usando os padrões da configuração.");
+            }
+            return new GenerationPlan();
+        }
+
+        if (!cmdArgs.quiet) {
+            System.out.println("Plano de geração carregado: " + planPath);
+        }
+        return loaded;
+    }
+
+    private static void saveSnapshot(CommandLineArgs cmdArgs, DatabaseInspector inspector) throws Exception {
+        if (cmdArgs.schema == null) {
+            throw new IllegalArgumentException("--save-snapshot requer --schema (ou \"schema\" no plano de geração)");
+        }
+        try {
+            inspector.connect();
+            SchemaSnapshot snapshot = SchemaSnapshot.capture(inspector, cmdArgs.schema);
+            snapshot.save(Path.of(cmdArgs.saveSnapshotFile));
+            System.out.println("Snapshot do schema '" + cmdArgs.schema + "' salvo em: " + cmdArgs.saveSnapshotFile
+                    + " (" + snapshot.tables().size() + " tabela(s))");
+        } finally {
+            inspector.disconnect();
+        }
+    }
+
+    /**
+     * Gera o schema inteiro e, a cada alteração nos arquivos observados (ou no log de DDL), gera de novo só as
+     * tabelas afetadas, mantendo a JVM, a conexão e o cache de metadados aquecidos. Roda até o processo ser
+     * interrompido.
+     */
+    private static void runWatch(CommandLineArgs cmdArgs, DatabaseConfig config, GenerationPlan plan) throws Exception {
+        if (cmdArgs.schema == null) {
+            throw new IllegalArgumentException("--watch requer --schema (ou \"schema\" no plano de geração)");
+        }
+
+        List<Path> watched = new ArrayList<>();
+        cmdArgs.watchPaths.forEach(path -> watched.add(Path.of(path)));
+        if (cmdArgs.snapshotFile != null) {
+            watched.add(Path.of(cmdArgs.snapshotFile));
+        }
+        if (watched.isEmpty() && !cmdArgs.ddlLog) {
+            throw new IllegalArgumentException("--watch requer um diretório de migrations, --snapshot ou --ddl-log");
+        }
+
+        DatabaseInspector inspector = null;
+        try {
+            SchemaVersions versions;
+            if (cmdArgs.snapshotFile != null) {
+                versions = SchemaVersions.snapshot(Path.of(cmdArgs.snapshotFile));
+            } else {
+                inspector = new DatabaseInspector(config);
+                inspector.setOut(cmdArgs.quiet ? new PrintStream(PrintStream.nullOutputStream()) : System.out);
+                inspector.connect();
+                versions = cmdArgs.ddlLog ? SchemaVersions.ddlLog(inspector) : SchemaVersions.database(inspector);
+            }
+
+            PrintStream progress = cmdArgs.quiet ? new PrintStream(PrintStream.nullOutputStream()) : System.out;
+            WatchSession session = new WatchSession(versions, config, plan, cmdArgs.schema,
+                    new DirectorySink(config.getOutputDirectory()), progress);
+            printWatchCycle(session.generateAll());
+            if (watched.isEmpty()) {
+                // Só o log de DDL: a consulta custa o número de alterações, então pode ser repetida sem observar arquivos
+                System.out.println("Consultando o log de DDL a cada " + cmdArgs.pollMillis + " ms (Ctrl+C para encerrar)");
+                while (true) {
+                    Thread.sleep(cmdArgs.pollMillis);
+                    regenerateChanged(session, false);
+                }
+            }
+            try (FileChangeWatcher watcher = new FileChangeWatcher(watched, Duration.ofMillis(cmdArgs.debounceMillis))) {
+                System.out.println("Observando " + watched + " (Ctrl+C para encerrar)");
+                while (true) {
+                    Set<Path> changes = watcher.awaitChanges();
+                    System.out.println("\n" + changes.size() + " arquivo(s) alterado(s): " + changes.iterator().next()
+                            + (changes.size() > 1 ? " ..." : ""));
+                    regenerateChanged(session, true);
+                }
+            }
+        } finally {
+            if (inspector != null) {
+                inspector.disconnect();
+            }
+        }
+    }
+
+    private static void regenerateChanged(WatchSession session, boolean reportUnchanged) {
+        try {
+            WatchSession.WatchCycle cycle = session.regenerateChanged();
+            if (reportUnchanged || !cycle.isEmpty()) {
+                printWatchCycle(cycle);
+            }
+        } catch (Exception e) {
+            // Snapshot gravado pela metade, conexão perdida...: espera a próxima alteração
+            System.err.println("Erro ao gerar novamente: " + e.getMessage());
+        }
+    }
+
+    private static void manageDdlLog(CommandLineArgs cmdArgs, DatabaseInspector inspector) throws Exception {
+        try {
+            inspector.connect();
+            if (cmdArgs.uninstallDdlLog) {
+                inspector.uninstallDdlChangeLog();
+                System.out.println("Log de DDL removido.");
+            } else {
+                inspector.installDdlChangeLog();
+                System.out.println("Log de DDL instalado: jpa_generator.ddl_log, alimentado pelos event triggers "
+                        + "jpa_generator_ddl_command_end e jpa_generator_sql_drop.");
+            }
+        } finally {
+            inspector.disconnect();
+        }
+    }
+
+    private static void printWatchCycle(WatchSession.WatchCycle cycle) {
+        if (cycle.isEmpty()) {
+            System.out.println("Nenhuma tabela alterada (" + cycle.elapsedMillis() + " ms).");
+            return;
+        }
+        System.out.println(cycle.changedTables().size() + " tabela(s) alterada(s), " + cycle.generatedFiles().size()
+                + " arquivo(s) gerado(s) em " + cycle.elapsedMillis() + " ms");
+        if (!cycle.removedTables().isEmpty()) {
+            System.out.println("Tabelas removidas (arquivos mantidos): " + String.join(", ", cycle.removedTables()));
+        }
+    }
+
+    private static void runDaemon(CommandLineArgs cmdArgs, DatabaseConfig config) throws Exception {
+        Duration cacheTtl = cmdArgs.cacheTtlSeconds > 0 ? Duration.ofSeconds(cmdArgs.cacheTtlSeconds) : null;
+        GenerationDaemon daemon = new GenerationDaemon(config, configManager(), cacheTtl);
+        Runtime.getRuntime().addShutdownHook(new Thread(daemon::stop));
+        daemon.start(cmdArgs.port);
+        daemon.awaitShutdown();
+    }
+
+    private static void runRemote(CommandLineArgs cmdArgs) throws Exception {
+        DaemonRequest request = new DaemonRequest();
+        request.setWorkingDirectory(new File("").getAbsolutePath());
+        request.setSchema(cmdArgs.schema);
+        request.setTable(cmdArgs.table);
+        request.setPlanFile(cmdArgs.planFile);
+        request.setOutputDirectory(cmdArgs.outputDir);
+        request.setRefresh(cmdArgs.refresh);
+
+        DaemonResponse response = new DaemonClient(cmdArgs.port).submit(request);
+        if (response.getError() != null) {
+            throw new IllegalStateException(response.getError());
+        }
+
+        printSummary(response.getFiles(), cmdArgs.quiet);
+        System.out.println("Tempo no daemon: " + response.getElapsedMillis() + " ms");
+    }
+
     private static DatabaseConfig createNewConfiguration() {
         DatabaseConfig config = new DatabaseConfig();
 
         System.out.print("Host do banco (localhost): ");
-        String host = scanner.nextLine().trim();
+        String host = scanner().nextLine().trim();
         config.setHost(host.isEmpty() ? "localhost" : host);
 
         System.out.print("Porta (5432): ");
-        String port = scanner.nextLine().trim();
+        String port = scanner().nextLine().trim();
         config.setPort(port.isEmpty() ? 5432 : Integer.parseInt(port));
 
         System.out.print("Nome do banco: ");
-        config.setDatabase(scanner.nextLine().trim());
+        config.setDatabase(scanner().nextLine().trim());
 
         System.out.print("Usuário: ");
-        config.setUsername(scanner.nextLine().trim());
+        config.setUsername(scanner().nextLine().trim());
 
         System.out.print("Senha: ");
-        config.setPassword(scanner.nextLine().trim());
+        config.setPassword(scanner().nextLine().trim());
 
         System.out.print("Versão do Java (8/17) [17]: ");
-        String javaVersion = scanner.nextLine().trim();
+        String javaVersion = scanner().nextLine().trim();
         config.setJavaVersion(javaVersion.isEmpty() ? 17 : Integer.parseInt(javaVersion));
 
         System.out.print("Diretório de saída [src/main/java]: ");
-        String outputDir = scanner.nextLine().trim();
+        String outputDir = scanner().nextLine().trim();
         config.setOutputDirectory(outputDir.isEmpty() ? "src/main/java" : outputDir);
 
         System.out.print("Package base [com.example.entity]: ");
-        String basePackage = scanner.nextLine().trim();
+        String basePackage = scanner().nextLine().trim();
         config.setBasePackage(basePackage.isEmpty() ? "com.example.entity" : basePackage);
 
         // Nova pergunta para singularização automática
         System.out.print("Usar nomeação automática de classes (singularização)? (s/n) [s]: ");
-        String autoSingularize = scanner.nextLine().trim().toLowerCase();
+        String autoSingularize = scanner().nextLine().trim().toLowerCase();
         config.setUseAutomaticSingularization(!autoSingularize.equals("n") && !autoSingularize.equals("nao"));
 
         // Nova pergunta para tratamento de Foreign Keys
@@ -158,7 +597,7 @@ public class Main {
         System.out.println("2. Tratar todas como Relacionamento JPA (@ManyToOne)");
         System.out.println("3. Tratar todas como Coluna Simples (campo ID)");
         System.out.print("Escolha uma opção [1]: ");
-        String fkChoice = scanner.nextLine().trim();
+        String fkChoice = scanner().nextLine().trim();
         switch (fkChoice) {
             case "2":
                 config.setForeignKeyStrategy("relationship");
@@ -173,21 +612,23 @@ public class Main {
 
 
         System.out.print("\nDeseja salvar esta configuração? (s/n): ");
-        String save = scanner.nextLine().trim().toLowerCase();
+        String save = scanner().nextLine().trim().toLowerCase();
 
         if (save.equals("s") || save.equals("sim") || save.isEmpty()) {
-            configManager.saveConfig(config);
+            configManager().saveConfig(config);
             System.out.println("Configuração salva com sucesso!");
         }
 
         return config;
     }
 
-    private static void runInteractiveMode(DatabaseConfig config) throws Exception {
+    private static GenerationResult runInteractiveMode(DatabaseConfig config, DatabaseInspector inspector, GenerationEngine engine, FileSink sink,
+                                                       RunMetrics metrics) throws Exception {
         System.out.println("\n=== Modo Interativo ===");
 
         // Connect to database
         inspector.connect();
+        reportStartupTime("a conexão com o banco");
 
         // List available schemas
         List<String> schemas = inspector.getSchemas();
@@ -197,7 +638,7 @@ public class Main {
         }
 
         System.out.print("\nEscolha o schema (número ou nome): ");
-        String schemaChoice = scanner.nextLine().trim();
+        String schemaChoice = scanner().nextLine().trim();
 
         String selectedSchema;
         try {
@@ -219,7 +660,7 @@ public class Main {
         System.out.println("2. Tabelas específicas (números separados por vírgula)");
         System.out.print("Escolha (1 ou 2): ");
 
-        String optionChoice = scanner.nextLine().trim();
+        String optionChoice = scanner().nextLine().trim();
         List<String> selectedTables;
 
         if (optionChoice.equals("1")) {
@@ -228,11 +669,11 @@ public class Main {
         } else if (optionChoice.equals("2")) {
             selectedTables = new ArrayList<>();
             System.out.print("Digite os números das tabelas separados por vírgula (ex: 1,3,5): ");
-            String tableIndices = scanner.nextLine().trim();
+            String tableIndices = scanner().nextLine().trim();
 
             if (tableIndices.isEmpty()) {
                 System.out.println("⚠ Nenhuma tabela selecionada. Encerrando.");
-                return;
+                return null;
             }
 
             String[] indices = tableIndices.split(",");
@@ -252,21 +693,27 @@ public class Main {
 
             if (selectedTables.isEmpty()) {
                 System.out.println("⚠ Nenhuma tabela válida selecionada. Encerrando.");
-                return;
+                return null;
             }
 
             System.out.println("✓ Total de " + selectedTables.size() + " tabela(s) selecionada(s).");
         } else {
             System.out.println("⚠ Opção inválida. Encerrando.");
-            return;
+            return null;
         }
 
         // Process selected tables
-        processSelectedTables(selectedSchema, selectedTables, config);
+        return processSelectedTables(engine, metrics, sink, config, selectedSchema, selectedTables, new ConsoleDecisions(config, scanner()));
     }
 
-    private static void runBatchMode(CommandLineArgs args, DatabaseConfig config) throws Exception {
+    private static GenerationResult runBatchMode(CommandLineArgs args, DatabaseConfig config, GenerationPlan plan,
+                                                 DatabaseInspector inspector, GenerationEngine engine, FileSink sink,
+                                                 RunMetrics metrics) throws Exception {
         inspector.connect();
+        if (!args.quiet) {
+            reportStartupTime("a conexão com o banco");
+        }
+        GenerationDecisions decisions = plan != null ? new PlanDecisions(plan, config) : new ConsoleDecisions(config, scanner());
 
         if (args.table != null) {
             // Process single table
@@ -276,159 +723,81 @@ public class Main {
             }
 
             List<String> tables = Collections.singletonList(parts[1]);
-            processSelectedTables(parts[0], tables, config);
-
-        } else if (args.schema != null) {
-            // Process all tables in schema
-            List<String> tables = inspector.getTables(args.schema);
-            processSelectedTables(args.schema, tables, config);
-        }
-    }
-
-    private static void processSelectedTables(String schema, List<String> initialTableNames, DatabaseConfig config) throws Exception {
-        System.out.println("\n=== Processando Tabelas ===");
-
-        Map<String, String> classNames = new HashMap<>();
-        Map<String, Map<String, String>> foreignKeyHandling = new HashMap<>();
-        List<String> allTableNames = new ArrayList<>(initialTableNames);
-        List<String> configuredTables = new ArrayList<>();
-
-        boolean autoNameClasses = config.isUseAutomaticSingularization();
-        // Apenas pergunta se estiver em modo interativo de verdade
-        if (System.console() != null && config.isUseAutomaticSingularization()) {
-            System.out.print("\nNomear classes automaticamente (singularizando o nome das tabelas)? (s/n) [s]: ");
-            String choice = scanner.nextLine().trim().toLowerCase();
-            if (!choice.isEmpty()) {
-                autoNameClasses = !choice.equals("n") && !choice.equals("nao");
-            }
+            return processSelectedTables(engine, metrics, sink, config, parts[0], tables, decisions);
         }
 
-        for (int i = 0; i < allTableNames.size(); i++) {
-            String tableName = allTableNames.get(i);
-            if (configuredTables.contains(tableName)) {
-                continue;
-            }
-
-            TableInfo tableInfo = inspector.getTableInfo(schema, tableName);
+        // Process the tables listed in the plan, or all tables in schema
+        List<String> tables = engine.resolveTables(args.schema, plan);
+        return processSelectedTables(engine, metrics, sink, config, args.schema, tables, decisions);
+    }
 
-            String pascalCaseName = Inflector.toPascalCase(tableName);
-            String singularName = Inflector.singularize(pascalCaseName);
+    private static GenerationResult processSelectedTables(GenerationEngine engine, RunMetrics metrics, FileSink sink, DatabaseConfig config, String schema,
+                                                          List<String> initialTableNames, GenerationDecisions decisions) throws Exception {
+        GenerationRequest request = GenerationRequest.builder()
+                .config(config)
+                .schema(schema)
+                .tables(initialTableNames)
+                .decisions(decisions)
+                .build();
+        return engine.generate(request, sink, metrics);
+    }
 
-            if (autoNameClasses) {
-                classNames.put(tableName, singularName);
-                System.out.println("\nTabela: " + tableName + " -> Classe gerada: " + singularName);
-            } else {
-                System.out.print("\nTabela: " + tableName + " -> Nome da Classe [" + singularName + "]: ");
-                String className = scanner.nextLine().trim();
-                classNames.put(tableName, className.isEmpty() ? singularName : className);
-            }
-
-            if (tableInfo.getForeignKeys() != null && !tableInfo.getForeignKeys().isEmpty()) {
-                System.out.println("Foreign Keys encontradas para a tabela: " + tableName);
-                Map<String, String> fkHandling = foreignKeyHandling.getOrDefault(tableName, new HashMap<>());
-
-                for (var fk : tableInfo.getForeignKeys()) {
-                    String handling;
-                    switch (config.getForeignKeyStrategy()) {
-                        case "relationship":
-                            System.out.println("  " + fk.getColumnName() + " -> " + fk.getReferencedTable() + " (Tratando como Relacionamento JPA por configuração)");
-                            handling = "relationship";
-                            break;
-                        case "column":
-                            System.out.println("  " + fk.getColumnName() + " -> " + fk.getReferencedTable() + " (Tratando como Coluna Simples por configuração)");
-                            handling = "column";
-                            break;
-                        default: // "interactive"
-                            System.out.println("  " + fk.getColumnName() + " -> " + fk.getReferencedSchema() + "." + fk.getReferencedTable());
-                            System.out.print("  Tratamento (1=coluna simples, 2=relacionamento JPA) [2]: ");
-                            String choice = scanner.nextLine().trim();
-                            handling = choice.equals("1") ? "column" : "relationship";
-                            break;
-                    }
+    /**
+     * Tempo desde o início do processo (antes mesmo da JVM carregar a classe Main) até o marco informado.
+     */
+    private static void reportStartupTime(String milestone) {
+        ProcessHandle.current().info().startInstant().ifPresent(start ->
+                System.out.println("Tempo de inicialização até " + milestone + ": "
+                        + Duration.between(start, Instant.now()).toMillis() + " ms"));
+    }
 
-                    fkHandling.put(fk.getColumnName(), handling);
+    /**
+     * Lista os arquivos desatualizados, ausentes e órfãos de uma verificação e diz se está tudo em dia.
+     */
+    private static boolean reportCheck(CheckSink check, boolean includeOrphans) throws IOException {
+        List<String> orphans = includeOrphans ? check.findOrphans() : List.of();
+        System.out.println("\n=== Verificação ===");
+        printCheckGroup("Desatualizados", check.getStale());
+        printCheckGroup("Ausentes", check.getMissing());
+        printCheckGroup("Órfãos", orphans);
+
+        boolean upToDate = check.getStale().isEmpty() && check.getMissing().isEmpty() && orphans.isEmpty();
+        System.out.println(upToDate ? "✓ Código gerado em dia." : "✗ Código gerado desatualizado. Rode a geração novamente.");
+        return upToDate;
+    }
 
-                    if (handling.equals("relationship")) {
-                        String referencedTable = fk.getReferencedTable();
-                        if (!allTableNames.contains(referencedTable)) {
-                            allTableNames.add(referencedTable);
-                            System.out.println("-> Tabela relacionada '" + referencedTable + "' adicionada para geração.");
-                        }
-                    }
-                }
-                foreignKeyHandling.put(tableName, fkHandling);
-            }
-            configuredTables.add(tableName);
+    private static boolean reportCompilation(CompileResult compileResult) {
+        System.out.println("\n=== Verificação da Compilação ===");
+        if (compileResult.success()) {
+            System.out.println("✓ " + compileResult.fileCount() + " arquivo(s) compilado(s) sem erros.");
+            return true;
         }
-
-        System.out.println("\n=== Gerando Classes Entidade ===");
-        List<String> generatedFiles = new ArrayList<>();
-        Map<String, TableInfo> tableInfoMap = new HashMap<>();
-
-        for (String tableName : allTableNames) {
-            TableInfo tableInfo = inspector.getTableInfo(schema, tableName);
-            tableInfoMap.put(tableName, tableInfo);
-
-            String className = classNames.get(tableName);
-            if (className == null) {
-                String pascalCaseName = Inflector.toPascalCase(tableName);
-                className = Inflector.singularize(pascalCaseName);
-                classNames.put(tableName, className);
+        compileResult.problemsByFile().forEach((file, problems) -> {
+            System.out.println("✗ " + file);
+            for (CompileResult.Problem problem : problems) {
+                System.out.println("    linha " + problem.line() + ": " + problem.message().replace("\n", "\n      "));
             }
-            Map<String, String> fkHandling = foreignKeyHandling.getOrDefault(tableName, new HashMap<>());
+        });
+        System.out.println(compileResult.problems().size() + " erro(s) de compilação no código gerado.");
+        return false;
+    }
 
-            String filePath = generator.generateEntity(tableInfo, className, fkHandling, classNames);
-            generatedFiles.add(filePath);
-            System.out.println("✓ " + className + ".java gerado em: " + filePath);
+    private static void printCheckGroup(String title, List<String> files) {
+        if (!files.isEmpty()) {
+            System.out.println(title + " (" + files.size() + "):");
+            files.forEach(file -> System.out.println("  " + file));
         }
+    }
 
-        Set<String> crudGenerationQueue = new LinkedHashSet<>();
-        for (String tableName : initialTableNames) {
-            String className = classNames.get(tableName);
-            System.out.print("\nDeseja gerar um CRUD Spring Boot para a entidade '" + className + "'? (s/n) [n]: ");
-            String choice = scanner.nextLine().trim().toLowerCase();
-            if (choice.equals("s") || choice.equals("sim")) {
-                crudGenerationQueue.add(tableName);
-                TableInfo tableInfo = tableInfoMap.get(tableName);
-                Map<String, String> fkHandling = foreignKeyHandling.getOrDefault(tableName, new HashMap<>());
-                if (tableInfo.getForeignKeys() != null) {
-                    for (ForeignKeyInfo fk : tableInfo.getForeignKeys()) {
-                        if ("relationship".equals(fkHandling.get(fk.getColumnName()))) {
-                            String relatedTable = fk.getReferencedTable();
-                            if (crudGenerationQueue.add(relatedTable)) {
-                                System.out.println("-> CRUD para a entidade relacionada '" + classNames.get(relatedTable) + "' será gerado também.");
-                            }
-                        }
-                    }
-                }
-            }
-        }
-
-        if (!crudGenerationQueue.isEmpty()) {
-            System.out.println("\n=== Gerando Camadas do CRUD ===");
-            for (String tableName : crudGenerationQueue) {
-                String className = classNames.get(tableName);
-                TableInfo tableInfo = tableInfoMap.get(tableName);
-                Map<String, String> fkHandling = foreignKeyHandling.getOrDefault(tableName, new HashMap<>());
-
-                try {
-                    List<String> crudFiles = crudGenerator.generateCrud(tableInfo, className, classNames, fkHandling);
-                    generatedFiles.addAll(crudFiles);
-                    System.out.println("✓ CRUD gerado com sucesso para " + className);
-                } catch (Exception e) {
-                    logger.error("Falha ao gerar o CRUD para {}", className, e);
-                    System.err.println("✗ Erro ao gerar o CRUD para " + className + ": " + e.getMessage());
-                }
-            }
+    private static void printSummary(List<String> generatedFiles, boolean quiet) {
+        if (quiet) {
+            System.out.println("Total de arquivos gerados: " + generatedFiles.size());
+            return;
         }
-
-
         System.out.println("\n=== Resumo ===");
         System.out.println("Total de arquivos gerados: " + generatedFiles.size());
         System.out.println("Arquivos:");
         generatedFiles.forEach(file -> System.out.println("  " + file));
-
-        inspector.disconnect();
     }
 
     private static class CommandLineArgs {
@@ -436,6 +805,32 @@ public class Main {
         String table;
         String configFile;
         String outputDir;
+        String planFile;
+        String savePlanFile;
+        String reportFile;
+        String jfrFile;
+        String saveSnapshotFile;
+        String snapshotFile;
+        List<String> watchPaths = new ArrayList<>();
         boolean interactive = false;
+        boolean nonInteractive = false;
+        boolean daemon = false;
+        boolean remote = false;
+        boolean refresh = false;
+        boolean quiet = false;
+        boolean trainingRun = false;
+        boolean profileQueries = false;
+        boolean check = false;
+        boolean failFast = false;
+        boolean verify = false;
+        boolean watch = false;
+        boolean ddlLog = false;
+        boolean installDdlLog = false;
+        boolean uninstallDdlLog = false;
+        long debounceMillis = 300;
+        long pollMillis = 1000;
+        int explainSlowest = 0;
+        int port = GenerationDaemon.DEFAULT_PORT;
+        long cacheTtlSeconds = 0;
     }
 }
\ No newline at end of file
@@ -0,0 +1,106 @@
+package com.jpagenerator;
+
+import com.jpagenerator.config.ConfigManager;
+import com.jpagenerator.config.DatabaseConfig;
+import com.jpagenerator.config.GenerationPlan;
+import com.jpagenerator.engine.GenerationEngine;
+import com.jpagenerator.engine.GenerationRequest;
+import com.jpagenerator.engine.PlanDecisions;
+import com.jpagenerator.inspector.InMemorySchemaSource;
+import com.jpagenerator.model.ColumnInfo;
+import com.jpagenerator.model.ForeignKeyInfo;
+import com.jpagenerator.model.PrimaryKeyInfo;
+import com.jpagenerator.model.SequenceInfo;
+import com.jpagenerator.model.TableInfo;
+import com.jpagenerator.output.DirectorySink;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Execução de treino usada pelo build para gravar o arquivo AppCDS ({@code --training-run}).
+ * Percorre o mesmo caminho de uma geração real (configuração, plano, entidades e CRUD) sobre tabelas
+ * sintéticas, sem banco de dados, para que as classes carregadas entrem no arquivo compartilhado.
+ */
+final class TrainingRun {
+
+    private TrainingRun() {
+    }
+
+    static int run() throws Exception {
+        Path workDir = Files.createTempDirectory("jpa-generator-training");
+        try {
+            // Carrega o driver JDBC sem conectar: a primeira consulta real já o encontra no arquivo
+            Class.forName("org.postgresql.Driver");
+
+            ConfigManager configManager = new ConfigManager();
+            DatabaseConfig config = new DatabaseConfig();
+            config.setOutputDirectory(workDir.resolve("src").toString());
+            config.setBasePackage("com.example.entity");
+            configManager.saveConfig(config, workDir.resolve("database.json").toString());
+            config = configManager.loadConfig(workDir.resolve("database.json").toString());
+
+            GenerationPlan plan = new GenerationPlan();
+            plan.setSchema("treino");
+            plan.setForeignKeyStrategy("relationship");
+            plan.setGenerateCrud(true);
+            String planPath = workDir.resolve("plan.json").toString();
+            configManager.savePlan(plan, planPath);
+            plan = configManager.loadPlan(planPath);
+
+            GenerationEngine engine = new GenerationEngine(new InMemorySchemaSource(trainingTables()));
+            GenerationRequest request = GenerationRequest.builder()
+                    .config(config)
+                    .schema("treino")
+                    .tables(List.of("pedidos"))
+                    .decisions(new PlanDecisions(plan, config))
+                    .build();
+            return engine.generate(request, new DirectorySink(config.getOutputDirectory())).generatedFiles().size();
+        } finally {
+            deleteRecursively(workDir);
+        }
+    }
+
+    private static List<TableInfo> trainingTables() {
+        TableInfo clientes = TableInfo.builder()
+                .schema("treino")
+                .name("clientes")
+                .columns(List.of(
+                        ColumnInfo.builder().name("id").dataType("integer").nullable(false).ordinalPosition(1).build(),
+                        ColumnInfo.builder().name("nome").dataType("text").nullable(false).ordinalPosition(2).build()))
+                .primaryKey(new PrimaryKeyInfo(List.of("id")))
+                .build();
+
+        TableInfo pedidos = TableInfo.builder()
+                .schema("treino")
+                .name("pedidos")
+                .columns(List.of(
+                        ColumnInfo.builder().name("id").dataType("bigint").nullable(false)
+                                .defaultValue("nextval('treino.pedidos_id_seq'::regclass)").ordinalPosition(1).build(),
+                        ColumnInfo.builder().name("cliente_id").dataType("integer").nullable(false).ordinalPosition(2).build(),
+                        ColumnInfo.builder().name("descricao").dataType("character varying").maxLength(200).ordinalPosition(3).nullable(true).build(),
+                        ColumnInfo.builder().name("valor").dataType("numeric").precision(12).scale(2).nullable(false).ordinalPosition(4).build(),
+                        ColumnInfo.builder().name("criado_em").dataType("timestamp with time zone").nullable(false)
+                                .defaultValue("now()").ordinalPosition(5).build(),
+                        ColumnInfo.builder().name("entrega").dataType("date").nullable(true).ordinalPosition(6).build(),
+                        ColumnInfo.builder().name("ativo").dataType("boolean").nullable(false).defaultValue("true").ordinalPosition(7).build()))
+                .primaryKey(new PrimaryKeyInfo(List.of("id")))
+                .foreignKeys(List.of(new ForeignKeyInfo("cliente_id", "treino", "clientes", "id", "pedidos_cliente_fk")))
+                .sequences(List.of(new SequenceInfo("id", "pedidos_id_seq", "treino")))
+                .build();
+
+        return List.of(clientes, pedidos);
+    }
+
+    private static void deleteRecursively(Path root) throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package com.jpagenerator.config;
 
+import com.fasterxml.jackson.databind.MapperFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.jpagenerator.metrics.RunReport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -13,22 +16,16 @@ public class ConfigManager {
     private static final String CONFIG_DIR = "config";
     private static final String CONFIG_FILE = "database.json";
     private static final String CONFIG_PATH = CONFIG_DIR + File.separator + CONFIG_FILE;
+    private static final String PLAN_FILE = "plan.json";
 
     private final ObjectMapper objectMapper;
 
     public ConfigManager() {
-        this.objectMapper = new ObjectMapper();
-        this.objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
-
-        File configDir = new File(CONFIG_DIR);
-        if (!configDir.exists()) {
-            if (configDir.mkdirs()) {
-                logger.info("Diretório de configuração criado com sucesso: {}", CONFIG_DIR);
-            } else {
-                logger.error("Falha ao criar o diretório de configuração: {}", CONFIG_DIR);
-                throw new RuntimeException("Não foi possível criar o diretório de configuração: " + CONFIG_DIR);
-            }
-        }
+        this.objectMapper = JsonMapper.builder()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .enable(MapperFeature.ACCEPT_CASE_INSENSITIVE_ENUMS)
+                .build();
+        // O diretório de configuração só é criado ao salvar (ver saveConfig)
     }
 
     public DatabaseConfig loadConfig() {
@@ -74,4 +71,60 @@ public class ConfigManager {
             logger.error("Erro ao salvar configuração em {}: {}", configPath, e.getMessage(), e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Caminho padrão do plano de geração: plan.json no mesmo diretório do arquivo de configuração.
+     */
+    public String defaultPlanPath(String configPath) {
+        File parent = new File(configPath != null ? configPath : CONFIG_PATH).getParentFile();
+        return parent != null ? new File(parent, PLAN_FILE).getPath() : PLAN_FILE;
+    }
+
+    public GenerationPlan loadPlan(String planPath) {
+        File planFile = new File(planPath);
+
+        if (!planFile.exists()) {
+            return null;
+        }
+
+        try {
+            return objectMapper.readValue(planFile, GenerationPlan.class);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Plano de geração inválido em " + planPath + ": " + e.getMessage(), e);
+        }
+    }
+
+    public void savePlan(GenerationPlan plan, String planPath) {
+        try {
+            File planFile = new File(planPath);
+
+            File parentDir = planFile.getParentFile();
+            if (parentDir != null && !parentDir.exists() && !parentDir.mkdirs()) {
+                throw new IOException("Não foi possível criar os diretórios pai: " + parentDir.getAbsolutePath());
+            }
+
+            objectMapper.writeValue(planFile, plan);
+            logger.info("Plano de geração salvo em: {}", planPath);
+
+        } catch (IOException e) {
+            logger.error("Erro ao salvar plano de geração em {}: {}", planPath, e.getMessage(), e);
+        }
+    }
+
+    public void saveReport(RunReport report, String reportPath) {
+        try {
+            File reportFile = new File(reportPath);
+
+            File parentDir = reportFile.getParentFile();
+            if (parentDir != null && !parentDir.exists() && !parentDir.mkdirs()) {
+                throw new IOException("Não foi possível criar os diretórios pai: " + parentDir.getAbsolutePath());
+            }
+
+            objectMapper.writeValue(reportFile, report);
+            logger.info("Relatório de desempenho salvo em: {}", reportPath);
+
+        } catch (IOException e) {
+            logger.error("Erro ao salvar relatório de desempenho em {}: {}", reportPath, e.getMessage(), e);
+        }
+    }
+}
@@ -21,6 +21,8 @@ public class DatabaseConfig {
     private boolean useLombok = true;
     private boolean useAutomaticSingularization = true;
     private String foreignKeyStrategy = "interactive"; // "interactive", "relationship", "column"
+    private int sequenceIncrementHint = 0; // > 1: sugere INCREMENT BY maior às sequences com incremento menor
+    private int batchFetchSize = 0; // > 0: @BatchSize nas entidades, para carregar relacionamentos lazy em lotes
 
     // Constructors
     public DatabaseConfig() {
@@ -34,6 +36,23 @@ public class DatabaseConfig {
         this.password = password;
     }
 
+    public DatabaseConfig(DatabaseConfig other) {
+        this.host = other.host;
+        this.port = other.port;
+        this.database = other.database;
+        this.username = other.username;
+        this.password = other.password;
+        this.javaVersion = other.javaVersion;
+        this.outputDirectory = other.outputDirectory;
+        this.basePackage = other.basePackage;
+        this.generateAuditFields = other.generateAuditFields;
+        this.useLombok = other.useLombok;
+        this.useAutomaticSingularization = other.useAutomaticSingularization;
+        this.foreignKeyStrategy = other.foreignKeyStrategy;
+        this.sequenceIncrementHint = other.sequenceIncrementHint;
+        this.batchFetchSize = other.batchFetchSize;
+    }
+
     public String getJdbcUrl() {
         return String.format("jdbc:postgresql://%s:%d/%s", host, port, database);
     }
@@ -57,6 +76,8 @@ public class DatabaseConfig {
                 ", useLombok=" + useLombok +
                 ", useAutomaticSingularization=" + useAutomaticSingularization +
                 ", foreignKeyStrategy='" + foreignKeyStrategy + '\'' +
+                ", sequenceIncrementHint=" + sequenceIncrementHint +
+                ", batchFetchSize=" + batchFetchSize +
                 '}';
     }
 }
\ No newline at end of file
@@ -0,0 +1,106 @@
+package com.jpagenerator.config;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.jpagenerator.generator.CrudLayer;
+import com.jpagenerator.generator.CrudOptions;
+import com.jpagenerator.generator.Pagination;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Plano declarativo de geração (config/plan.json). Responde, sem interação, às mesmas perguntas
+ * que o modo interativo faz: nome das classes, tratamento das FKs, geração do CRUD, camadas emitidas e paginação.
+ */
+@Setter
+@Getter
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class GenerationPlan {
+    private String schema;
+    private String foreignKeyStrategy; // "relationship" ou "column"; nulo usa a estratégia da configuração
+    private boolean generateCrud = false;
+    private Set<CrudLayer> crudLayers = EnumSet.allOf(CrudLayer.class);
+    private Pagination pagination = Pagination.OFFSET;
+    private boolean projections = false;
+    private boolean fetchRelations = false;
+    private boolean bulk = false;
+    private Map<String, TablePlan> tables = new LinkedHashMap<>();
+
+    @JsonIgnore
+    public TablePlan getTable(String tableName) {
+        return tables.get(tableName);
+    }
+
+    @JsonIgnore
+    public String getClassName(String tableName) {
+        TablePlan table = tables.get(tableName);
+        return table != null ? table.getClassName() : null;
+    }
+
+    /**
+     * Tratamento da FK: o valor explícito da tabela, senão a estratégia do plano, senão a da configuração.
+     * A estratégia "interactive" é resolvida como "relationship", a resposta padrão do prompt.
+     */
+    @JsonIgnore
+    public String getForeignKeyHandling(String tableName, String columnName, String configStrategy) {
+        TablePlan table = tables.get(tableName);
+        if (table != null && table.getForeignKeys() != null && table.getForeignKeys().containsKey(columnName)) {
+            return table.getForeignKeys().get(columnName);
+        }
+        String strategy = foreignKeyStrategy != null ? foreignKeyStrategy : configStrategy;
+        return "column".equals(strategy) ? "column" : "relationship";
+    }
+
+    @JsonIgnore
+    public boolean isCrudEnabled(String tableName) {
+        TablePlan table = tables.get(tableName);
+        return table != null && table.getCrud() != null ? table.getCrud() : generateCrud;
+    }
+
+    @JsonIgnore
+    public Set<CrudLayer> getCrudLayers(String tableName) {
+        TablePlan table = tables.get(tableName);
+        return table != null && table.getLayers() != null ? table.getLayers() : crudLayers;
+    }
+
+    /**
+     * Opções do CRUD: os valores da tabela, senão os do plano.
+     */
+    @JsonIgnore
+    public CrudOptions getCrudOptions(String tableName) {
+        TablePlan table = tables.get(tableName);
+        if (table == null) {
+            return CrudOptions.builder().pagination(pagination).projections(projections).fetchRelations(fetchRelations).bulk(bulk).build();
+        }
+        return CrudOptions.builder()
+                .pagination(table.getPagination() != null ? table.getPagination() : pagination)
+                .keysetColumn(table.getKeysetColumn())
+                .projections(table.getProjections() != null ? table.getProjections() : projections)
+                .fetchRelations(table.getFetchRelations() != null ? table.getFetchRelations() : fetchRelations)
+                .bulk(table.getBulk() != null ? table.getBulk() : bulk)
+                .build();
+    }
+
+    @Setter
+    @Getter
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class TablePlan {
+        private String className;
+        private Map<String, String> foreignKeys;
+        private Boolean crud;
+        private Set<CrudLayer> layers;
+        private Pagination pagination;
+        private String keysetColumn;
+        private Boolean projections;
+        private Boolean fetchRelations;
+        private Boolean bulk;
+    }
+}
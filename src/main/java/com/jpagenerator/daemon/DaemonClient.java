@@ -0,0 +1,53 @@
+package com.jpagenerator.daemon;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Cliente do {@link GenerationDaemon}: envia o pedido e devolve a resposta, sem abrir conexão com o banco.
+ */
+public class DaemonClient {
+    private final int port;
+    private final Path tokenDirectory;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(2))
+            .build();
+
+    public DaemonClient(int port) {
+        this(port, DaemonToken.defaultDirectory());
+    }
+
+    public DaemonClient(int port, Path tokenDirectory) {
+        this.port = port;
+        this.tokenDirectory = tokenDirectory;
+    }
+
+    public DaemonResponse submit(DaemonRequest request) throws IOException, InterruptedException {
+        String token = DaemonToken.read(tokenDirectory, port);
+        if (token == null) {
+            throw new IOException("Token do daemon não encontrado em " + DaemonToken.file(tokenDirectory, port)
+                    + ". Inicie-o com --daemon.");
+        }
+        HttpRequest httpRequest = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/generate"))
+                .header("Content-Type", "application/json")
+                .header(DaemonToken.HEADER, token)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(request)))
+                .build();
+
+        try {
+            HttpResponse<byte[]> response = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofByteArray());
+            return objectMapper.readValue(response.body(), DaemonResponse.class);
+        } catch (ConnectException e) {
+            throw new IOException("Daemon não encontrado na porta " + port + ". Inicie-o com --daemon.", e);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.jpagenerator.daemon;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.jpagenerator.config.GenerationPlan;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Pedido de geração enviado ao daemon. Caminhos relativos são resolvidos a partir de {@code workingDirectory},
+ * o diretório em que o cliente foi executado.
+ */
+@Setter
+@Getter
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DaemonRequest {
+    private String workingDirectory;
+    private String schema;
+    private String table; // schema.tabela
+    private String planFile;
+    private GenerationPlan plan;
+    private String outputDirectory;
+    private boolean refresh = false; // descarta os metadados em cache antes de gerar
+}
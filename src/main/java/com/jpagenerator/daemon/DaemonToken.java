@@ -0,0 +1,92 @@
+package com.jpagenerator.daemon;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Segredo de uma instância do {@link GenerationDaemon}: gerado a cada início, gravado num arquivo que só o dono
+ * pode ler e exigido no cabeçalho {@value #HEADER} de todo pedido. Outro usuário da máquina, ou uma página no
+ * navegador, alcança a porta em localhost mas não o arquivo.
+ */
+public final class DaemonToken {
+    public static final String HEADER = "X-Jpa-Generator-Token";
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private DaemonToken() {
+    }
+
+    /**
+     * Diretório padrão dos arquivos de token: {@code ~/.jpa-generator}.
+     */
+    public static Path defaultDirectory() {
+        return Paths.get(System.getProperty("user.home"), ".jpa-generator");
+    }
+
+    public static Path file(Path directory, int port) {
+        return directory.resolve("daemon-" + port + ".token");
+    }
+
+    /**
+     * Gera um token novo e o grava, substituindo o de uma execução anterior na mesma porta.
+     */
+    public static String create(Path directory, int port) throws IOException {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        Path file = file(directory, port);
+        if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+            if (!Files.isDirectory(directory)) {
+                Files.createDirectories(directory, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+            }
+            // Criado já com 600: o token nunca fica legível por outros, nem por um instante
+            Files.deleteIfExists(file);
+            Files.createFile(file, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+        } else {
+            Files.createDirectories(directory);
+            Files.deleteIfExists(file);
+            Files.createFile(file);
+            File legacy = file.toFile();
+            legacy.setReadable(false, false);
+            legacy.setReadable(true, true);
+            legacy.setWritable(false, false);
+            legacy.setWritable(true, true);
+        }
+        Files.writeString(file, token, StandardCharsets.US_ASCII);
+        return token;
+    }
+
+    /**
+     * Token do daemon na porta informada, ou nulo se não houver daemon iniciado por este usuário.
+     */
+    public static String read(Path directory, int port) throws IOException {
+        try {
+            return Files.readString(file(directory, port), StandardCharsets.US_ASCII).trim();
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    public static void delete(Path directory, int port) throws IOException {
+        Files.deleteIfExists(file(directory, port));
+    }
+
+    /**
+     * Comparação em tempo constante, para o tempo de resposta não revelar o prefixo correto.
+     */
+    static boolean matches(String expected, String presented) {
+        return presented != null && MessageDigest.isEqual(
+                expected.getBytes(StandardCharsets.US_ASCII), presented.getBytes(StandardCharsets.US_ASCII));
+    }
+}
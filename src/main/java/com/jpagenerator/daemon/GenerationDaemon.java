@@ -0,0 +1,277 @@
+package com.jpagenerator.daemon;
+
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.jpagenerator.config.ConfigManager;
+import com.jpagenerator.config.DatabaseConfig;
+import com.jpagenerator.config.GenerationPlan;
+import com.jpagenerator.engine.GenerationEngine;
+import com.jpagenerator.engine.GenerationRequest;
+import com.jpagenerator.engine.GenerationResult;
+import com.jpagenerator.engine.PlanDecisions;
+import com.jpagenerator.inspector.DatabaseInspector;
+import com.jpagenerator.output.DirectorySink;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Processo de longa duração que mantém a JVM, a conexão com o banco e o cache de metadados aquecidos.
+ * Atende pedidos de geração via HTTP em localhost; os pedidos são processados um de cada vez.
+ *
+ * <p>Todo pedido precisa do token em {@link DaemonToken#HEADER}, lido do arquivo que só o dono do daemon acessa.
+ * Pedidos com cabeçalho {@code Origin} (vindos de um navegador) são recusados, e os POSTs precisam de
+ * {@code Content-Type: application/json}, que uma página não consegue enviar a outra origem sem preflight.
+ *
+ * <pre>
+ * POST /generate    corpo: {@link DaemonRequest}, resposta: {@link DaemonResponse}
+ * POST /invalidate  descarta o cache de metadados
+ * POST /shutdown    encerra o daemon
+ * GET  /health
+ * </pre>
+ */
+public class GenerationDaemon {
+    private static final Logger logger = LoggerFactory.getLogger(GenerationDaemon.class);
+    public static final int DEFAULT_PORT = 7878;
+
+    private final DatabaseConfig config;
+    private final DatabaseInspector inspector;
+    private final GenerationEngine engine;
+    private final ConfigManager configManager;
+    private final ObjectMapper objectMapper;
+    private final CountDownLatch stopped = new CountDownLatch(1);
+    private HttpServer server;
+    private ExecutorService executor;
+    private Path tokenDirectory;
+    private String token;
+
+    public GenerationDaemon(DatabaseConfig config, ConfigManager configManager, Duration cacheTtl) {
+        this.config = config;
+        this.configManager = configManager;
+        this.inspector = new DatabaseInspector(config);
+        this.inspector.setCacheTtl(cacheTtl);
+        this.engine = new GenerationEngine(inspector);
+        this.objectMapper = JsonMapper.builder()
+                .enable(MapperFeature.ACCEPT_CASE_INSENSITIVE_ENUMS)
+                .build();
+    }
+
+    public void start(int port) throws IOException, SQLException {
+        start(port, DaemonToken.defaultDirectory());
+    }
+
+    /**
+     * Inicia o daemon gravando o token em {@code tokenDirectory}; com porta 0, o sistema escolhe uma livre.
+     */
+    public void start(int port, Path tokenDirectory) throws IOException, SQLException {
+        inspector.connect();
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.tokenDirectory = tokenDirectory;
+        this.token = DaemonToken.create(tokenDirectory, getPort());
+        server.createContext("/generate", exchange -> handle(exchange, "POST", this::generate));
+        server.createContext("/invalidate", exchange -> handle(exchange, "POST", body -> {
+            inspector.invalidateCache();
+            return new DaemonResponse();
+        }));
+        server.createContext("/health", exchange -> handle(exchange, "GET", body -> new DaemonResponse()));
+        server.createContext("/shutdown", exchange -> {
+            if (handle(exchange, "POST", body -> new DaemonResponse()) == 200) {
+                new Thread(this::stop, "jpa-generator-daemon-shutdown").start();
+            }
+        });
+
+        // Uma única thread: a conexão e os geradores são usados por um pedido de cada vez
+        executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "jpa-generator-daemon");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.start();
+
+        System.out.println("Daemon ouvindo em http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort());
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public void awaitShutdown() throws InterruptedException {
+        stopped.await();
+    }
+
+    public void stop() {
+        if (server != null) {
+            try {
+                DaemonToken.delete(tokenDirectory, getPort());
+            } catch (IOException e) {
+                logger.warn("Falha ao remover o token do daemon: {}", e.getMessage());
+            }
+            server.stop(0);
+            executor.shutdown();
+        }
+        try {
+            inspector.disconnect();
+        } catch (SQLException e) {
+            logger.warn("Falha ao fechar a conexão do daemon: {}", e.getMessage());
+        }
+        stopped.countDown();
+    }
+
+    private DaemonResponse generate(byte[] body) throws Exception {
+        DaemonRequest request = objectMapper.readValue(body, DaemonRequest.class);
+        long start = System.nanoTime();
+
+        inspector.ensureConnected();
+        if (request.isRefresh()) {
+            inspector.invalidateCache();
+        }
+
+        File workingDir = new File(request.getWorkingDirectory() != null ? request.getWorkingDirectory() : ".");
+        DatabaseConfig requestConfig = new DatabaseConfig(config);
+        String outputDirectory = request.getOutputDirectory() != null ? request.getOutputDirectory() : config.getOutputDirectory();
+        requestConfig.setOutputDirectory(resolve(workingDir, outputDirectory).getPath());
+
+        GenerationPlan plan = resolvePlan(request, workingDir);
+
+        String schema;
+        List<String> tables;
+        if (request.getTable() != null) {
+            String[] parts = request.getTable().split("\\.");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Formato de tabela deve ser: schema.tabela");
+            }
+            schema = parts[0];
+            tables = Collections.singletonList(parts[1]);
+        } else {
+            schema = request.getSchema() != null ? request.getSchema() : plan.getSchema();
+            if (schema == null) {
+                throw new IllegalArgumentException("Informe schema, table ou um plano com \"schema\"");
+            }
+            tables = engine.resolveTables(schema, plan);
+        }
+        // Uma migration aplicada desde o último pedido não pode gerar a partir do cache antigo
+        List<String> changed = inspector.invalidateChangedTables(schema);
+        if (!changed.isEmpty()) {
+            logger.info("Tabelas alteradas desde o último pedido, lidas de novo: {}", changed);
+        }
+
+        GenerationRequest generationRequest = GenerationRequest.builder()
+                .config(requestConfig)
+                .schema(schema)
+                .tables(tables)
+                .decisions(new PlanDecisions(plan, requestConfig))
+                .build();
+        GenerationResult result = engine.generate(generationRequest, new DirectorySink(requestConfig.getOutputDirectory()));
+
+        DaemonResponse response = new DaemonResponse();
+        response.setFiles(result.generatedFiles());
+        response.setElapsedMillis((System.nanoTime() - start) / 1_000_000);
+        return response;
+    }
+
+    private GenerationPlan resolvePlan(DaemonRequest request, File workingDir) {
+        if (request.getPlan() != null) {
+            return request.getPlan();
+        }
+        if (request.getPlanFile() != null) {
+            String planPath = resolve(workingDir, request.getPlanFile()).getPath();
+            GenerationPlan plan = configManager.loadPlan(planPath);
+            if (plan == null) {
+                throw new IllegalArgumentException("Plano de geração não encontrado: " + planPath);
+            }
+            return plan;
+        }
+        GenerationPlan plan = configManager.loadPlan(resolve(workingDir, configManager.defaultPlanPath(null)).getPath());
+        return plan != null ? plan : new GenerationPlan();
+    }
+
+    private static File resolve(File workingDir, String path) {
+        File file = new File(path);
+        return file.isAbsolute() ? file : new File(workingDir, path);
+    }
+
+    private int handle(HttpExchange exchange, String method, Handler handler) throws IOException {
+        DaemonResponse response;
+        int status;
+        Rejection rejection = reject(exchange, method);
+        if (rejection != null) {
+            response = new DaemonResponse();
+            response.setError(rejection.message());
+            return send(exchange, rejection.status(), response);
+        }
+        try {
+            response = handler.handle(exchange.getRequestBody().readAllBytes());
+            status = 200;
+        } catch (IllegalArgumentException e) {
+            response = new DaemonResponse();
+            response.setError(e.getMessage());
+            status = 400;
+        } catch (Exception e) {
+            logger.error("Falha ao processar pedido no daemon", e);
+            response = new DaemonResponse();
+            response.setError(e.getMessage());
+            status = 500;
+        }
+        return send(exchange, status, response);
+    }
+
+    /**
+     * Motivo para recusar o pedido antes de ler o corpo, ou nulo se ele pode ser atendido.
+     */
+    private Rejection reject(HttpExchange exchange, String method) {
+        if (exchange.getRequestHeaders().containsKey("Origin")) {
+            return new Rejection(403, "Origem não permitida: o daemon não atende pedidos de navegadores");
+        }
+        if (!DaemonToken.matches(token, exchange.getRequestHeaders().getFirst(DaemonToken.HEADER))) {
+            return new Rejection(401, "Token ausente ou inválido no cabeçalho " + DaemonToken.HEADER);
+        }
+        if (!method.equals(exchange.getRequestMethod())) {
+            return new Rejection(405, "Método não permitido: use " + method);
+        }
+        if ("POST".equals(method)) {
+            String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+            String mediaType = contentType == null ? "" : contentType.split(";", 2)[0].trim().toLowerCase(Locale.ROOT);
+            if (!"application/json".equals(mediaType)) {
+                return new Rejection(415, "Content-Type deve ser application/json");
+            }
+        }
+        return null;
+    }
+
+    private int send(HttpExchange exchange, int status, DaemonResponse response) throws IOException {
+        byte[] json = objectMapper.writeValueAsBytes(response);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, json.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(json);
+        }
+        return status;
+    }
+
+    private record Rejection(int status, String message) {
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        DaemonResponse handle(byte[] body) throws Exception;
+    }
+}
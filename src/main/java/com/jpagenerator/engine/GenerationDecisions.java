@@ -0,0 +1,30 @@
+package com.jpagenerator.engine;
+
+import com.jpagenerator.generator.CrudLayer;
+import com.jpagenerator.generator.CrudOptions;
+import com.jpagenerator.model.ForeignKeyInfo;
+
+import java.util.Set;
+
+/**
+ * Escolhas feitas durante a geração. O modo interativo responde perguntando ao usuário;
+ * o modo não interativo responde a partir do plano de geração.
+ */
+public interface GenerationDecisions {
+
+    /**
+     * Nome da classe para a tabela; {@code suggestedClassName} é o nome singularizado.
+     */
+    String className(String tableName, String suggestedClassName);
+
+    /**
+     * "relationship" ou "column".
+     */
+    String foreignKeyHandling(String tableName, ForeignKeyInfo fk);
+
+    boolean generateCrud(String tableName, String className);
+
+    Set<CrudLayer> crudLayers(String tableName);
+
+    CrudOptions crudOptions(String tableName);
+}
@@ -0,0 +1,280 @@
+package com.jpagenerator.engine;
+
+import com.jpagenerator.config.DatabaseConfig;
+import com.jpagenerator.config.GenerationPlan;
+import com.jpagenerator.generator.CodeGenerator;
+import com.jpagenerator.generator.CrudGenerator;
+import com.jpagenerator.generator.CrudLayer;
+import com.jpagenerator.generator.CrudOptions;
+import com.jpagenerator.inspector.SchemaSource;
+import com.jpagenerator.metrics.FileWriteEvent;
+import com.jpagenerator.metrics.Phase;
+import com.jpagenerator.metrics.RunMetrics;
+import com.jpagenerator.metrics.TableRenderEvent;
+import com.jpagenerator.model.ForeignKeyInfo;
+import com.jpagenerator.model.TableInfo;
+import com.jpagenerator.output.FileSink;
+import com.jpagenerator.output.GeneratedFile;
+import com.jpagenerator.output.InMemorySink;
+import com.jpagenerator.util.CodeGeneratorHelper;
+import com.jpagenerator.util.Inflector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Orquestra a geração de um conjunto de tabelas: resolve nomes de classes e o tratamento das FKs
+ * (incluindo as tabelas relacionadas), gera as entidades e, quando solicitado, as camadas do CRUD.
+ *
+ * <p>Thread-safe: cada chamada a {@link #generate} trabalha apenas com o seu {@link GenerationRequest};
+ * o que é compartilhado entre chamadas é a {@link SchemaSource} (e o cache de metadados dela).
+ */
+public class GenerationEngine {
+    private static final Logger logger = LoggerFactory.getLogger(GenerationEngine.class);
+
+    private final SchemaSource source;
+    private final CodeGeneratorHelper helper = new CodeGeneratorHelper();
+    private final PrintStream out;
+
+    public GenerationEngine(SchemaSource source) {
+        this(source, new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    /**
+     * @param out progresso da geração; em uso concorrente, as linhas de pedidos diferentes se intercalam
+     */
+    public GenerationEngine(SchemaSource source, PrintStream out) {
+        this.source = source;
+        this.out = out;
+    }
+
+    /**
+     * Tabelas iniciais de uma execução por schema: as listadas no plano, quando ele se refere a esse schema,
+     * ou todas as tabelas do schema.
+     */
+    public List<String> resolveTables(String schema, GenerationPlan plan) throws SQLException {
+        boolean planListsTables = plan != null && !plan.getTables().isEmpty()
+                && (plan.getSchema() == null || plan.getSchema().equals(schema));
+        return planListsTables ? new ArrayList<>(plan.getTables().keySet()) : source.getTables(schema);
+    }
+
+    /**
+     * Gera tudo em memória.
+     */
+    public List<GeneratedFile> render(GenerationRequest request) throws SQLException, IOException {
+        InMemorySink sink = new InMemorySink();
+        generate(request, sink);
+        return sink.getFiles();
+    }
+
+    public GenerationResult generate(GenerationRequest request, FileSink sink) throws SQLException, IOException {
+        return generate(request, sink, new RunMetrics());
+    }
+
+    /**
+     * Gera registrando o tempo de cada fase em {@code metrics}, que pode ser compartilhado com a
+     * {@link SchemaSource} para incluir as consultas ao catálogo.
+     */
+    public GenerationResult generate(GenerationRequest request, FileSink sink, RunMetrics metrics) throws SQLException, IOException {
+        DatabaseConfig config = request.config();
+        String schema = request.schema();
+        GenerationDecisions decisions = request.decisions();
+        List<String> initialTableNames = request.tables().isEmpty() ? source.getTables(schema) : request.tables();
+        CodeGenerator generator = new CodeGenerator(config, helper);
+        CrudGenerator crudGenerator = null; // criado só quando alguma tabela pede CRUD
+
+        out.println("\n=== Processando Tabelas ===");
+
+        Map<String, String> classNames = new HashMap<>();
+        Map<String, Map<String, String>> foreignKeyHandling = new HashMap<>();
+        List<String> allTableNames = new ArrayList<>(initialTableNames);
+        Set<String> queuedTables = new HashSet<>(allTableNames); // evita varrer a lista a cada FK em schemas grandes
+        Set<String> configuredTables = new LinkedHashSet<>();
+        Map<String, TableInfo> tableInfoMap = new HashMap<>();
+
+        GenerationPlan resolvedPlan = new GenerationPlan();
+        resolvedPlan.setSchema(schema);
+
+        for (int i = 0; i < allTableNames.size(); i++) {
+            String tableName = allTableNames.get(i);
+            if (configuredTables.contains(tableName)) {
+                continue;
+            }
+
+            long introspectionStart = System.nanoTime();
+            TableInfo tableInfo = source.getTableInfo(schema, tableName);
+            tableInfoMap.put(tableName, tableInfo);
+            metrics.record(Phase.INTROSPECTION, introspectionStart);
+
+            long configurationStart = System.nanoTime();
+            String pascalCaseName = Inflector.toPascalCase(tableName);
+            String singularName = Inflector.singularize(pascalCaseName);
+            String className = decisions.className(tableName, singularName);
+            classNames.put(tableName, className);
+            out.println("\nTabela: " + tableName + " -> Classe gerada: " + className);
+
+            if (!tableInfo.foreignKeys().isEmpty()) {
+                out.println("Foreign Keys encontradas para a tabela: " + tableName);
+                Map<String, String> fkHandling = foreignKeyHandling.computeIfAbsent(tableName, k -> new LinkedHashMap<>());
+
+                for (ForeignKeyInfo fk : tableInfo.foreignKeys()) {
+                    String handling = decisions.foreignKeyHandling(tableName, fk);
+                    fkHandling.put(fk.columnName(), handling);
+                    out.println("  " + fk.columnName() + " -> " + fk.referencedSchema() + "." + fk.referencedTable()
+                            + ("relationship".equals(handling) ? " (Relacionamento JPA)" : " (Coluna Simples)"));
+
+                    if (handling.equals("relationship")) {
+                        String referencedTable = fk.referencedTable();
+                        if (queuedTables.add(referencedTable)) {
+                            allTableNames.add(referencedTable);
+                            out.println("-> Tabela relacionada '" + referencedTable + "' adicionada para geração.");
+                        }
+                    }
+                }
+            }
+            configuredTables.add(tableName);
+            resolvedPlan.getTables().put(tableName, tablePlan(className, foreignKeyHandling.get(tableName)));
+            metrics.record(Phase.FK_CONFIGURATION, configurationStart);
+        }
+        metrics.addTables(configuredTables.size());
+
+        out.println("\n=== Gerando Classes Entidade ===");
+        List<String> generatedFiles = new ArrayList<>();
+
+        for (String tableName : allTableNames) {
+            TableInfo tableInfo = tableInfoMap.get(tableName);
+            String className = classNames.get(tableName);
+            Map<String, String> fkHandling = foreignKeyHandling.getOrDefault(tableName, Map.of());
+
+            TableRenderEvent renderEvent = new TableRenderEvent();
+            renderEvent.begin();
+            long renderStart = System.nanoTime();
+            GeneratedFile entity = generator.renderEntity(tableInfo, className, fkHandling, classNames);
+            metrics.record(Phase.ENTITY_RENDERING, renderStart);
+            commitRender(renderEvent, tableInfo, className, "entity", List.of(entity));
+
+            String filePath = write(sink, entity, tableInfo, metrics);
+            generatedFiles.add(filePath);
+            out.println("✓ " + className + ".java gerado em: " + filePath);
+        }
+
+        Set<String> crudGenerationQueue = new LinkedHashSet<>();
+        for (String tableName : initialTableNames) {
+            String className = classNames.get(tableName);
+            boolean generateCrud = decisions.generateCrud(tableName, className);
+            resolvedPlan.getTables().get(tableName).setCrud(generateCrud);
+            if (generateCrud) {
+                crudGenerationQueue.add(tableName);
+                TableInfo tableInfo = tableInfoMap.get(tableName);
+                Map<String, String> fkHandling = foreignKeyHandling.getOrDefault(tableName, Map.of());
+                for (ForeignKeyInfo fk : tableInfo.foreignKeys()) {
+                    if ("relationship".equals(fkHandling.get(fk.columnName()))) {
+                        String relatedTable = fk.referencedTable();
+                        if (crudGenerationQueue.add(relatedTable)) {
+                            out.println("-> CRUD para a entidade relacionada '" + classNames.get(relatedTable) + "' será gerado também.");
+                        }
+                    }
+                }
+            }
+        }
+
+        if (!crudGenerationQueue.isEmpty()) {
+            out.println("\n=== Gerando Camadas do CRUD ===");
+            for (String tableName : crudGenerationQueue) {
+                String className = classNames.get(tableName);
+                TableInfo tableInfo = tableInfoMap.get(tableName);
+                Map<String, String> fkHandling = foreignKeyHandling.getOrDefault(tableName, Map.of());
+                Set<CrudLayer> layers = decisions.crudLayers(tableName);
+                CrudOptions crudOptions = decisions.crudOptions(tableName);
+
+                if (crudGenerator == null) {
+                    crudGenerator = new CrudGenerator(config, helper);
+                }
+                List<GeneratedFile> crudFiles = new ArrayList<>();
+                try {
+                    // Uma camada por vez, para medir cada uma
+                    for (CrudLayer layer : CrudLayer.values()) {
+                        if (!layers.contains(layer)) {
+                            continue;
+                        }
+                        TableRenderEvent renderEvent = new TableRenderEvent();
+                        renderEvent.begin();
+                        long renderStart = System.nanoTime();
+                        List<GeneratedFile> files = crudGenerator.renderCrud(tableInfo, className, classNames, fkHandling, EnumSet.of(layer), crudOptions);
+                        metrics.recordCrudLayer(layer, renderStart);
+                        commitRender(renderEvent, tableInfo, className, layer.name().toLowerCase(), files);
+                        crudFiles.addAll(files);
+                    }
+                } catch (Exception e) {
+                    logger.error("Falha ao gerar o CRUD para {}", className, e);
+                    out.println("✗ Erro ao gerar o CRUD para " + className + ": " + e.getMessage());
+                    continue;
+                }
+
+                // Falhas de gravação não são falhas de geração: interrompem a execução, como nas entidades
+                for (GeneratedFile file : crudFiles) {
+                    generatedFiles.add(write(sink, file, tableInfo, metrics));
+                }
+                out.println("✓ CRUD gerado com sucesso para " + className);
+            }
+        }
+
+        return new GenerationResult(generatedFiles, resolvedPlan);
+    }
+
+    private static String write(FileSink sink, GeneratedFile file, TableInfo tableInfo, RunMetrics metrics) throws IOException {
+        FileWriteEvent event = new FileWriteEvent();
+        event.begin();
+        long start = System.nanoTime();
+        String location = sink.write(file);
+        metrics.recordFileWritten(file, start);
+        // Os campos só são preenchidos quando o evento está habilitado numa gravação JFR
+        if (event.shouldCommit()) {
+            event.path = location;
+            event.schema = tableInfo.schema();
+            event.table = tableInfo.name();
+            event.bytes = RunMetrics.utf8Length(file.content());
+            event.commit();
+        }
+        return location;
+    }
+
+    private static void commitRender(TableRenderEvent event, TableInfo tableInfo, String className, String artifact,
+                                     List<GeneratedFile> files) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.schema = tableInfo.schema();
+            event.table = tableInfo.name();
+            event.className = className;
+            event.artifact = artifact;
+            event.columnCount = tableInfo.columns().size();
+            event.fileCount = files.size();
+            for (GeneratedFile file : files) {
+                event.bytes += RunMetrics.utf8Length(file.content());
+            }
+            event.commit();
+        }
+    }
+
+    private static GenerationPlan.TablePlan tablePlan(String className, Map<String, String> fkHandling) {
+        GenerationPlan.TablePlan tablePlan = new GenerationPlan.TablePlan();
+        tablePlan.setClassName(className);
+        if (fkHandling != null && !fkHandling.isEmpty()) {
+            tablePlan.setForeignKeys(new LinkedHashMap<>(fkHandling));
+        }
+        return tablePlan;
+    }
+}
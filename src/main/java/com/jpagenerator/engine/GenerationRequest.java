@@ -0,0 +1,36 @@
+package com.jpagenerator.engine;
+
+import com.jpagenerator.config.DatabaseConfig;
+import com.jpagenerator.config.GenerationPlan;
+import lombok.Builder;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Pedido de geração. Imutável: a configuração é copiada na construção e a cada leitura, de modo que o mesmo
+ * pedido pode ser reaproveitado e alterações posteriores no {@link DatabaseConfig} original não o afetam.
+ *
+ * @param schema    schema das tabelas
+ * @param tables    tabelas iniciais; vazio para todas as tabelas do schema
+ * @param decisions escolhas da geração; por padrão, as de um plano vazio
+ */
+@Builder
+public record GenerationRequest(DatabaseConfig config,
+                                String schema,
+                                List<String> tables,
+                                GenerationDecisions decisions) {
+
+    public GenerationRequest {
+        Objects.requireNonNull(config, "config");
+        Objects.requireNonNull(schema, "schema");
+        config = new DatabaseConfig(config);
+        tables = tables == null ? List.of() : List.copyOf(tables);
+        decisions = decisions != null ? decisions : new PlanDecisions(new GenerationPlan(), config);
+    }
+
+    @Override
+    public DatabaseConfig config() {
+        return new DatabaseConfig(config);
+    }
+}
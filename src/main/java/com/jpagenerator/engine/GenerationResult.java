@@ -0,0 +1,16 @@
+package com.jpagenerator.engine;
+
+import com.jpagenerator.config.GenerationPlan;
+
+import java.util.List;
+
+/**
+ * Resultado de uma execução: os arquivos gerados e o plano equivalente às decisões tomadas,
+ * que pode ser salvo para repetir a execução sem prompts.
+ */
+public record GenerationResult(List<String> generatedFiles, GenerationPlan resolvedPlan) {
+
+    public GenerationResult {
+        generatedFiles = List.copyOf(generatedFiles);
+    }
+}
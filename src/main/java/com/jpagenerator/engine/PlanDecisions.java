@@ -0,0 +1,48 @@
+package com.jpagenerator.engine;
+
+import com.jpagenerator.config.DatabaseConfig;
+import com.jpagenerator.config.GenerationPlan;
+import com.jpagenerator.generator.CrudLayer;
+import com.jpagenerator.generator.CrudOptions;
+import com.jpagenerator.model.ForeignKeyInfo;
+
+import java.util.Set;
+
+/**
+ * Decisões tomadas exclusivamente a partir do plano de geração, sem nenhuma leitura do terminal.
+ */
+public class PlanDecisions implements GenerationDecisions {
+    private final GenerationPlan plan;
+    private final DatabaseConfig config;
+
+    public PlanDecisions(GenerationPlan plan, DatabaseConfig config) {
+        this.plan = plan != null ? plan : new GenerationPlan();
+        this.config = config;
+    }
+
+    @Override
+    public String className(String tableName, String suggestedClassName) {
+        String planned = plan.getClassName(tableName);
+        return planned != null ? planned : suggestedClassName;
+    }
+
+    @Override
+    public String foreignKeyHandling(String tableName, ForeignKeyInfo fk) {
+        return plan.getForeignKeyHandling(tableName, fk.columnName(), config.getForeignKeyStrategy());
+    }
+
+    @Override
+    public boolean generateCrud(String tableName, String className) {
+        return plan.isCrudEnabled(tableName);
+    }
+
+    @Override
+    public Set<CrudLayer> crudLayers(String tableName) {
+        return plan.getCrudLayers(tableName);
+    }
+
+    @Override
+    public CrudOptions crudOptions(String tableName) {
+        return plan.getCrudOptions(tableName);
+    }
+}
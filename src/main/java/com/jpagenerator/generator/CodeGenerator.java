@@ -6,14 +6,12 @@ import com.jpagenerator.model.ForeignKeyInfo;
 import com.jpagenerator.model.SequenceInfo;
 import com.jpagenerator.model.TableInfo;
 import com.jpagenerator.model.UniqueConstraintInfo;
+import com.jpagenerator.output.DirectorySink;
+import com.jpagenerator.output.GeneratedFile;
 import com.jpagenerator.util.CodeGeneratorHelper;
 import com.jpagenerator.util.Inflector;
 import lombok.AllArgsConstructor;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
-import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
@@ -24,14 +22,21 @@ import java.util.stream.Collectors;
 
 @AllArgsConstructor
 public class CodeGenerator {
-    private static final Logger logger = LoggerFactory.getLogger(CodeGenerator.class);
     private final DatabaseConfig config;
     private final CodeGeneratorHelper helper;
 
     public String generateEntity(TableInfo tableInfo, String className, Map<String, String> foreignKeyHandling, Map<String, String> allClassNames) throws IOException {
+        return new DirectorySink(config.getOutputDirectory()).write(renderEntity(tableInfo, className, foreignKeyHandling, allClassNames));
+    }
+
+    /**
+     * Gera a entidade em memória, sem tocar no disco.
+     */
+    public GeneratedFile renderEntity(TableInfo tableInfo, String className, Map<String, String> foreignKeyHandling, Map<String, String> allClassNames) {
         StringBuilder code = new StringBuilder();
 
-        // Package declaration
+        // Header and package declaration
+        code.append(GeneratedFile.HEADER);
         code.append("package ").append(config.getBasePackage()).append(";\n\n");
 
         // Imports
@@ -46,8 +51,7 @@ public class CodeGenerator {
         // Close class
         code.append("}\n");
 
-        // Save to file
-        return saveToFile(className, code.toString());
+        return new GeneratedFile(GeneratedFile.pathFor(config.getBasePackage(), className), code.toString());
     }
 
     private void generateImports(StringBuilder code, TableInfo tableInfo, Map<String, String> foreignKeyHandling) {
@@ -63,13 +67,13 @@ public class CodeGenerator {
         imports.add(persistencePackage + ".Table");
 
         // Check for unique constraints
-        if (tableInfo.getUniqueConstraints() != null && !tableInfo.getUniqueConstraints().isEmpty()) {
+        if (!tableInfo.uniqueConstraints().isEmpty()) {
             imports.add(persistencePackage + ".UniqueConstraint");
         }
 
         // Check if we need sequence generator
-        boolean hasSequence = tableInfo.getColumns().stream()
-                .anyMatch(col -> col.isSerial() && col.isPrimaryKey(tableInfo.getPrimaryKey()));
+        boolean hasSequence = tableInfo.columns().stream()
+                .anyMatch(col -> col.isGenerated() && !col.isAlwaysIdentity() && col.primaryKey());
 
         if (hasSequence) {
             imports.add(persistencePackage + ".SequenceGenerator");
@@ -86,8 +90,8 @@ public class CodeGenerator {
         }
 
         // Validation imports
-        boolean hasValidation = tableInfo.getColumns().stream()
-                .anyMatch(col -> !col.isNullable() || col.getMaxLength() != null);
+        boolean hasValidation = tableInfo.columns().stream()
+                .anyMatch(col -> !col.nullable() || col.hasMaxLength());
 
         if (hasValidation) {
             String validationPackage = config.isJakartaMode() ? "jakarta.validation.constraints" : "javax.validation.constraints";
@@ -102,25 +106,23 @@ public class CodeGenerator {
         }
 
         // Default value imports
-        boolean hasDefaultValues = tableInfo.getColumns().stream()
-                .anyMatch(col -> col.getDefaultValue() != null && !col.isSerial());
+        boolean hasDefaultValues = tableInfo.columns().stream()
+                .anyMatch(col -> col.defaultValue() != null && !col.isSerial());
 
         if (hasDefaultValues) {
             imports.add("org.hibernate.annotations.ColumnDefault");
         }
 
-        // Java type imports
-        boolean hasInstant = tableInfo.getColumns().stream()
-                .anyMatch(col -> "timestamp".equals(col.getDataType()) || "timestamptz".equals(col.getDataType()));
+        if (config.getBatchFetchSize() > 0) {
+            imports.add("org.hibernate.annotations.BatchSize");
+        }
 
-        if (hasInstant) {
+        // Java type imports
+        if (helper.needsInstant(tableInfo)) {
             imports.add("java.time.Instant");
         }
 
-        boolean hasBigDecimal = tableInfo.getColumns().stream()
-                .anyMatch(col -> "numeric".equals(col.getDataType()) || "decimal".equals(col.getDataType()));
-
-        if (hasBigDecimal) {
+        if (helper.needsBigDecimal(tableInfo)) {
             imports.add("java.math.BigDecimal");
         }
 
@@ -140,21 +142,21 @@ public class CodeGenerator {
 
         // JPA annotations
         code.append("@Entity\n");
-        code.append("@Table(name = \"").append(tableInfo.getName()).append("\"");
-        if (tableInfo.getSchema() != null) {
-            code.append(", schema = \"").append(tableInfo.getSchema()).append("\"");
+        code.append("@Table(name = \"").append(tableInfo.name()).append("\"");
+        if (tableInfo.schema() != null) {
+            code.append(", schema = \"").append(tableInfo.schema()).append("\"");
         }
 
         // Add unique constraints if they exist
-        if (tableInfo.getUniqueConstraints() != null && !tableInfo.getUniqueConstraints().isEmpty()) {
+        if (!tableInfo.uniqueConstraints().isEmpty()) {
             code.append(",\n        uniqueConstraints = {\n");
             List<String> constraintStrings = new ArrayList<>();
-            for (UniqueConstraintInfo uci : tableInfo.getUniqueConstraints()) {
-                String columns = uci.getColumnNames().stream()
+            for (UniqueConstraintInfo uci : tableInfo.uniqueConstraints()) {
+                String columns = uci.columnNames().stream()
                         .map(c -> "\"" + c + "\"")
                         .collect(Collectors.joining(", "));
                 constraintStrings.add(String.format("                @UniqueConstraint(name = \"%s\", columnNames = {%s})",
-                        uci.getConstraintName(), columns));
+                        uci.constraintName(), columns));
             }
             code.append(String.join(",\n", constraintStrings));
             code.append("\n        }");
@@ -162,29 +164,31 @@ public class CodeGenerator {
 
         code.append(")\n");
 
+        // Proxies desta entidade, quando alvo de um @ManyToOne, são inicializados em lotes: uma consulta com
+        // "id in (...)" por lote, em vez de uma por linha
+        if (config.getBatchFetchSize() > 0) {
+            code.append("@BatchSize(size = ").append(config.getBatchFetchSize()).append(")\n");
+        }
 
         // Class declaration
         code.append("public class ").append(className).append(" {\n");
     }
 
     private void generateFields(StringBuilder code, TableInfo tableInfo, Map<String, String> foreignKeyHandling, Map<String, String> allClassNames) {
-        for (ColumnInfo column : tableInfo.getColumns()) {
+        for (ColumnInfo column : tableInfo.columns()) {
             generateField(code, column, tableInfo, foreignKeyHandling, allClassNames);
         }
     }
 
     private void generateField(StringBuilder code, ColumnInfo column, TableInfo tableInfo, Map<String, String> foreignKeyHandling, Map<String, String> allClassNames) {
         // Check if this column is a foreign key
-        ForeignKeyInfo fk = null;
-        if (tableInfo.getForeignKeys() != null) {
-            fk = tableInfo.getForeignKeys().stream()
-                    .filter(f -> f.getColumnName().equals(column.getName()))
-                    .findFirst()
-                    .orElse(null);
-        }
+        ForeignKeyInfo fk = tableInfo.foreignKeys().stream()
+                .filter(f -> f.columnName().equals(column.name()))
+                .findFirst()
+                .orElse(null);
 
         boolean isForeignKey = fk != null;
-        boolean createRelationship = isForeignKey && "relationship".equals(foreignKeyHandling.get(column.getName()));
+        boolean createRelationship = isForeignKey && "relationship".equals(foreignKeyHandling.get(column.name()));
 
         // Generate field annotations and declaration
         if (createRelationship) {
@@ -198,66 +202,84 @@ public class CodeGenerator {
 
     private void generateRegularField(StringBuilder code, ColumnInfo column, TableInfo tableInfo) {
         // Primary key annotations
-        if (column.isPrimaryKey(tableInfo.getPrimaryKey())) {
+        if (column.primaryKey()) {
             code.append("    @Id\n");
 
-            if (column.isSerial()) {
+            if (column.isAlwaysIdentity()) {
+                // GENERATED ALWAYS rejeita o id informado pelo Hibernate; IDENTITY obriga um insert por vez, sem batch
+                code.append("    // GENERATED ALWAYS AS IDENTITY: inserts sem batch. Para usar a sequence da identity, aplique\n");
+                code.append("    // ALTER TABLE ").append(tableInfo.schema()).append(".").append(tableInfo.name())
+                        .append(" ALTER COLUMN ").append(column.name()).append(" SET GENERATED BY DEFAULT; e gere novamente\n");
+                code.append("    @GeneratedValue(strategy = GenerationType.IDENTITY)\n");
+            } else if (column.isGenerated()) {
+                // Serial ou identity BY DEFAULT: a sequence por trás da coluna alimenta o gerador, e o Hibernate
+                // continua agrupando os inserts em batch
                 // Find sequence info
-                SequenceInfo sequence = tableInfo.getSequences().stream()
-                        .filter(seq -> seq.getColumnName().equals(column.getName()))
+                SequenceInfo sequence = tableInfo.sequences().stream()
+                        .filter(seq -> seq.columnName().equals(column.name()))
                         .findFirst()
                         .orElse(null);
 
-                String sequenceName = sequence != null ? sequence.getSequenceSchema() + "." + sequence.getSequenceName() :
-                        tableInfo.getSchema() + "." + tableInfo.getName() + "_" + column.getName() + "_seq";
-
-                String generatorName = tableInfo.getName() + "_" + column.getName() + "_gen";
+                String sequenceName = sequence != null ? sequence.sequenceSchema() + "." + sequence.sequenceName() :
+                        tableInfo.schema() + "." + tableInfo.name() + "_" + column.name() + "_seq";
+
+                String generatorName = tableInfo.name() + "_" + column.name() + "_gen";
+                // allocationSize igual ao INCREMENT BY: acima de 1, o Hibernate usa o otimizador pooled e reserva
+                // esse número de ids por nextval
+                long incrementBy = sequence != null ? sequence.incrementBy() : 1;
+                int hint = config.getSequenceIncrementHint();
+                if (hint > 1 && incrementBy < hint) {
+                    code.append("    // INCREMENT BY ").append(incrementBy).append(": um nextval por insert. Para reservar ")
+                            .append(hint).append(" ids por nextval, aplique numa migration\n");
+                    code.append("    // ALTER SEQUENCE ").append(sequenceName).append(" INCREMENT BY ").append(hint)
+                            .append("; e gere novamente (allocationSize = ").append(hint).append(")\n");
+                }
 
                 code.append("    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = \"")
                         .append(generatorName).append("\")\n");
                 code.append("    @SequenceGenerator(name = \"").append(generatorName)
                         .append("\", sequenceName = \"").append(sequenceName)
-                        .append("\", allocationSize = 1)\n");
+                        .append("\", allocationSize = ").append(incrementBy).append(")\n");
             }
         }
 
         // Validation annotations
-        if (column.getMaxLength() != null && "character varying".equals(column.getDataType())) {
-            code.append("    @Size(max = ").append(column.getMaxLength()).append(")\n");
+        if (column.hasMaxLength() && column.dataType().is("character varying")) {
+            code.append("    @Size(max = ").append(column.maxLength()).append(")\n");
         }
 
-        if (!column.isNullable()) {
+        if (!column.nullable()) {
             code.append("    @NotNull\n");
         }
 
         // Default value annotation
-        if (column.getDefaultValue() != null && !column.isSerial()) {
-            String defaultValue = formatDefaultValue(column.getDefaultValue());
+        if (column.defaultValue() != null && !column.isSerial()) {
+            String defaultValue = formatDefaultValue(column.defaultValue());
             code.append("    @ColumnDefault(\"").append(defaultValue).append("\")\n");
         }
 
         // Column annotation
-        code.append("    @Column(name = \"").append(column.getName()).append("\"");
+        code.append("    @Column(name = \"").append(column.name()).append("\"");
 
-        if (!column.isNullable()) {
+        if (!column.nullable()) {
             code.append(", nullable = false");
         }
 
-        if (column.getMaxLength() != null && "character varying".equals(column.getDataType())) {
-            code.append(", length = ").append(column.getMaxLength());
+        if (column.hasMaxLength() && column.dataType().is("character varying")) {
+            code.append(", length = ").append(column.maxLength());
         }
 
         code.append(")\n");
 
         // Field declaration
         String javaType = helper.mapSqlTypeToJava(column);
-        String fieldName = helper.toCamelCase(column.getName());
+        String fieldName = helper.toCamelCase(column.name());
 
         code.append("    private ").append(javaType).append(" ").append(fieldName).append(";");
     }
 
     private void generateRelationshipField(StringBuilder code, ColumnInfo column, ForeignKeyInfo fk, Map<String, String> allClassNames) {
-        boolean isNotNull = !column.isNullable();
+        boolean isNotNull = !column.nullable();
 
         // ManyToOne annotation
         code.append("    @ManyToOne(fetch = FetchType.LAZY");
@@ -267,16 +289,16 @@ public class CodeGenerator {
         code.append(")\n");
 
         // JoinColumn annotation
-        code.append("    @JoinColumn(name = \"").append(column.getName()).append("\"");
+        code.append("    @JoinColumn(name = \"").append(column.name()).append("\"");
         if (isNotNull) {
             code.append(", nullable = false");
         }
         code.append(")\n");
 
         // Field declaration
-        String referencedTableName = fk.getReferencedTable();
+        String referencedTableName = fk.referencedTable();
         String referencedClassName = allClassNames.getOrDefault(referencedTableName, Inflector.toPascalCase(referencedTableName));
-        String fieldName = helper.toCamelCase(fk.getColumnName().replaceAll("_id$", "")); // Remove _id suffix for a cleaner name
+        String fieldName = helper.toCamelCase(fk.columnName().replaceAll("_id$", "")); // Remove _id suffix for a cleaner name
 
         code.append("    private ").append(referencedClassName).append(" ").append(fieldName).append(";");
     }
@@ -295,28 +317,4 @@ public class CodeGenerator {
         // Handle other literals
         return "'" + defaultValue + "'";
     }
-
-    private String saveToFile(String className, String code) throws IOException {
-        // Create package directory structure
-        String packagePath = config.getBasePackage().replace(".", File.separator);
-        File packageDir = new File(config.getOutputDirectory(), packagePath);
-
-        if (!packageDir.exists()) {
-            if (!packageDir.mkdirs()) {
-                logger.error("Não foi possível criar o diretório: {}", packageDir.getAbsolutePath());
-                throw new IOException("Erro ao criar diretório: " + packageDir.getAbsolutePath());
-            } else {
-                logger.info("Diretório criado: {}", packageDir.getAbsolutePath());
-            }
-        }
-
-        // Create file
-        File javaFile = new File(packageDir, className + ".java");
-
-        try (FileWriter writer = new FileWriter(javaFile)) {
-            writer.write(code);
-        }
-
-        return javaFile.getAbsolutePath();
-    }
-}
\ No newline at end of file
+}
@@ -5,17 +5,22 @@ import com.jpagenerator.model.ColumnInfo;
 import com.jpagenerator.model.ForeignKeyInfo;
 import com.jpagenerator.model.TableInfo;
 import com.jpagenerator.model.UniqueConstraintInfo;
+import com.jpagenerator.output.DirectorySink;
+import com.jpagenerator.output.GeneratedFile;
 import com.jpagenerator.util.CodeGeneratorHelper;
 import com.jpagenerator.util.Inflector;
 import lombok.AllArgsConstructor;
 
-import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 
@@ -26,27 +31,81 @@ import java.util.stream.Collectors;
 @AllArgsConstructor
 public class CrudGenerator {
 
+    // Conversão do cursor decodificado para o tipo da chave, por tipo Java
+    private static final Map<String, String> CURSOR_PARSERS = Map.of(
+            "Integer", "Integer.valueOf(%s)",
+            "Long", "Long.valueOf(%s)",
+            "String", "%s",
+            "java.util.UUID", "java.util.UUID.fromString(%s)",
+            "java.time.Instant", "java.time.Instant.parse(%s)",
+            "java.time.LocalDate", "java.time.LocalDate.parse(%s)");
+
     private final DatabaseConfig config;
     private final CodeGeneratorHelper helper;
-    private final Random random = new Random();
 
     /**
      * Metodo principal para gerar todos os arquivos de CRUD para uma dada entidade.
      */
     public List<String> generateCrud(TableInfo tableInfo, String className, Map<String, String> allClassNames, Map<String, String> foreignKeyHandling) throws IOException {
+        return generateCrud(tableInfo, className, allClassNames, foreignKeyHandling, EnumSet.allOf(CrudLayer.class));
+    }
+
+    /**
+     * Gera apenas as camadas informadas, na ordem de {@link CrudLayer}.
+     */
+    public List<String> generateCrud(TableInfo tableInfo, String className, Map<String, String> allClassNames, Map<String, String> foreignKeyHandling, Set<CrudLayer> layers) throws IOException {
+        DirectorySink sink = new DirectorySink(config.getOutputDirectory());
         List<String> generatedFiles = new ArrayList<>();
+        for (GeneratedFile file : renderCrud(tableInfo, className, allClassNames, foreignKeyHandling, layers)) {
+            generatedFiles.add(sink.write(file));
+        }
+        return generatedFiles;
+    }
+
+    /**
+     * Gera as camadas informadas em memória, sem tocar no disco.
+     */
+    public List<GeneratedFile> renderCrud(TableInfo tableInfo, String className, Map<String, String> allClassNames, Map<String, String> foreignKeyHandling, Set<CrudLayer> layers) {
+        return renderCrud(tableInfo, className, allClassNames, foreignKeyHandling, layers, CrudOptions.defaults());
+    }
+
+    /**
+     * Gera as camadas informadas em memória, com as opções do plano para a tabela.
+     */
+    public List<GeneratedFile> renderCrud(TableInfo tableInfo, String className, Map<String, String> allClassNames, Map<String, String> foreignKeyHandling, Set<CrudLayer> layers, CrudOptions options) {
+        List<GeneratedFile> generatedFiles = new ArrayList<>();
+        ColumnInfo keyset = options.pagination() == Pagination.KEYSET ? keysetColumn(tableInfo, options) : null;
+        if (options.pagination() == Pagination.KEYSET && keyset == null) {
+            // Sem coluna que sirva de cursor, a listagem volta a ser por offset
+            options = options.withPagination(Pagination.OFFSET);
+        }
 
-        generatedFiles.add(generateRequestDto(tableInfo, className, allClassNames, foreignKeyHandling));
-        generatedFiles.add(generateResponseDto(tableInfo, className));
-        generatedFiles.add(generateRepository(tableInfo, className));
-        generatedFiles.add(generateService(tableInfo, className, allClassNames, foreignKeyHandling));
-        generatedFiles.add(generateController(className));
+        if (layers.contains(CrudLayer.REQUEST)) {
+            generatedFiles.add(generateRequestDto(tableInfo, className, allClassNames, foreignKeyHandling));
+        }
+        if (layers.contains(CrudLayer.RESPONSE)) {
+            generatedFiles.add(generateResponseDto(tableInfo, className, options));
+            if (options.bulk()) {
+                generatedFiles.add(generateBulkResultDto(className));
+            }
+        }
+        if (layers.contains(CrudLayer.REPOSITORY)) {
+            generatedFiles.add(generateRepository(tableInfo, className, foreignKeyHandling, options, keyset));
+        }
+        if (layers.contains(CrudLayer.SERVICE)) {
+            generatedFiles.add(generateService(tableInfo, className, allClassNames, foreignKeyHandling, options, keyset));
+        }
+        if (layers.contains(CrudLayer.CONTROLLER)) {
+            generatedFiles.add(generateController(tableInfo, className, options, keyset));
+        }
 
         return generatedFiles;
     }
 
-    private String generateController(String className) throws IOException {
+    private GeneratedFile generateController(TableInfo tableInfo, String className, CrudOptions options, ColumnInfo keyset) {
+        Pagination pagination = options.pagination();
         String controllerName = className + "Controller";
+        String idType = helper.getPrimaryKeyType(tableInfo);
         String serviceName = className + "Service";
         String responseDtoName = className + "Response";
         String requestDtoName = className + "Request";
@@ -61,19 +120,47 @@ public class CrudGenerator {
         // Imports
         code.append("import ").append(basePackage).append(".dto.request.").append(requestDtoName).append(";\n");
         code.append("import ").append(basePackage).append(".dto.response.").append(responseDtoName).append(";\n");
+        if (options.bulk()) {
+            code.append("import ").append(basePackage).append(".dto.response.").append(className).append("BulkResult;\n");
+        }
         code.append("import ").append(basePackage).append(".service.").append(serviceName).append(";\n");
         code.append("import io.swagger.v3.oas.annotations.security.SecurityRequirement;\n");
         code.append("import io.swagger.v3.oas.annotations.tags.Tag;\n");
         code.append("import jakarta.validation.Valid;\n");
+        if (pagination == Pagination.KEYSET) {
+            code.append("import jakarta.validation.constraints.Max;\n");
+            code.append("import jakarta.validation.constraints.Min;\n");
+        }
         code.append("import lombok.RequiredArgsConstructor;\n");
-        code.append("import org.springframework.data.domain.Page;\n");
-        code.append("import org.springframework.data.domain.Pageable;\n");
-        code.append("import org.springframework.data.web.PageableDefault;\n");
+        if (pagination == Pagination.OFFSET) {
+            code.append("import org.springframework.data.domain.Page;\n");
+        }
+        if (pagination != Pagination.KEYSET) {
+            code.append("import org.springframework.data.domain.Pageable;\n");
+        }
+        if (pagination != Pagination.OFFSET) {
+            code.append("import org.springframework.data.domain.Slice;\n");
+        }
+        if (pagination != Pagination.KEYSET) {
+            code.append("import org.springframework.data.web.PageableDefault;\n");
+        }
         code.append("import org.springframework.http.HttpStatus;\n");
         code.append("import org.springframework.http.MediaType;\n");
         code.append("import org.springframework.http.ResponseEntity;\n");
         code.append("import org.springframework.validation.annotation.Validated;\n");
-        code.append("import org.springframework.web.bind.annotation.*;\n\n");
+        code.append("import org.springframework.web.bind.annotation.*;\n");
+        if (pagination == Pagination.KEYSET) {
+            code.append("import org.springframework.web.server.ResponseStatusException;\n");
+            code.append("import java.nio.charset.StandardCharsets;\n");
+            code.append("import java.util.Base64;\n");
+        }
+        if (pagination == Pagination.KEYSET || options.bulk()) {
+            code.append("import java.util.List;\n");
+        }
+        if (options.bulk()) {
+            code.append("import java.util.Map;\n");
+        }
+        code.append("\n");
 
         // Definição da classe
         code.append("@RestController\n");
@@ -84,19 +171,30 @@ public class CrudGenerator {
         code.append("@SecurityRequirement(name = \"chaveAcesso\")\n");
         code.append("public class ").append(controllerName).append(" {\n\n");
 
+        if (pagination == Pagination.KEYSET) {
+            code.append("    private static final String NEXT_CURSOR_HEADER = \"X-Next-Cursor\";\n\n");
+        }
         code.append("    private final ").append(serviceName).append(" ").append(variableName).append("Service;\n\n");
 
         // FindAll
-        code.append("    @GetMapping\n");
-        code.append("    public ResponseEntity<Page<").append(responseDtoName).append(">> findAll(\n");
-        code.append("            @PageableDefault(size = 20, sort = \"id\") Pageable pageable) {\n");
-        code.append("        Page<").append(responseDtoName).append("> items = ").append(variableName).append("Service.findAll(pageable);\n");
-        code.append("        return ResponseEntity.ok(items);\n");
-        code.append("    }\n\n");
+        if (pagination == Pagination.KEYSET) {
+            generateKeysetFindAll(code, keyset, responseDtoName, variableName);
+        } else {
+            String pageType = pagination == Pagination.SLICE ? "Slice" : "Page";
+            if (pagination == Pagination.SLICE) {
+                code.append("    // Slice: indica se há próxima página, sem o COUNT(*) do total\n");
+            }
+            code.append("    @GetMapping\n");
+            code.append("    public ResponseEntity<").append(pageType).append("<").append(responseDtoName).append(">> findAll(\n");
+            code.append("            @PageableDefault(size = 20, sort = \"id\") Pageable pageable) {\n");
+            code.append("        ").append(pageType).append("<").append(responseDtoName).append("> items = ").append(variableName).append("Service.findAll(pageable);\n");
+            code.append("        return ResponseEntity.ok(items);\n");
+            code.append("    }\n\n");
+        }
 
         // FindById
         code.append("    @GetMapping(\"/{id}\")\n");
-        code.append("    public ResponseEntity<").append(responseDtoName).append("> findById(@PathVariable Long id) {\n");
+        code.append("    public ResponseEntity<").append(responseDtoName).append("> findById(@PathVariable ").append(idType).append(" id) {\n");
         code.append("        ").append(responseDtoName).append(" item = ").append(variableName).append("Service.findById(id);\n");
         code.append("        return ResponseEntity.ok(item);\n");
         code.append("    }\n\n");
@@ -111,7 +209,7 @@ public class CrudGenerator {
         // Update
         code.append("    @PutMapping(value = \"/{id}\", consumes = MediaType.APPLICATION_JSON_VALUE)\n");
         code.append("    public ResponseEntity<").append(responseDtoName).append("> update(\n");
-        code.append("            @PathVariable Long id,\n");
+        code.append("            @PathVariable ").append(idType).append(" id,\n");
         code.append("            @Valid @RequestBody ").append(requestDtoName).append(" request) {\n");
         code.append("        ").append(responseDtoName).append(" updatedItem = ").append(variableName).append("Service.update(id, request);\n");
         code.append("        return ResponseEntity.ok(updatedItem);\n");
@@ -119,28 +217,87 @@ public class CrudGenerator {
 
         // Delete
         code.append("    @DeleteMapping(\"/{id}\")\n");
-        code.append("    public ResponseEntity<Void> delete(@PathVariable Long id) {\n");
+        code.append("    public ResponseEntity<Void> delete(@PathVariable ").append(idType).append(" id) {\n");
         code.append("        ").append(variableName).append("Service.delete(id);\n");
         code.append("        return ResponseEntity.noContent().build();\n");
         code.append("    }\n");
 
+        if (options.bulk()) {
+            String bulkResult = className + "BulkResult";
+            code.append("\n");
+            code.append("    // Importação em lote: cada item volta com o registro gravado ou com o erro que o impediu\n");
+            code.append("    @PostMapping(value = \"/bulk\", consumes = MediaType.APPLICATION_JSON_VALUE)\n");
+            code.append("    public ResponseEntity<List<").append(bulkResult).append(">> createAll(@RequestBody List<@Valid ").append(requestDtoName).append("> requests) {\n");
+            code.append("        return ResponseEntity.ok(").append(variableName).append("Service.createAll(requests));\n");
+            code.append("    }\n\n");
+            code.append("    @PutMapping(value = \"/bulk\", consumes = MediaType.APPLICATION_JSON_VALUE)\n");
+            code.append("    public ResponseEntity<List<").append(bulkResult).append(">> updateAll(@RequestBody Map<").append(idType)
+                    .append(", @Valid ").append(requestDtoName).append("> requests) {\n");
+            code.append("        return ResponseEntity.ok(").append(variableName).append("Service.updateAll(requests));\n");
+            code.append("    }\n");
+        }
+
+        if (pagination == Pagination.KEYSET) {
+            generateCursorCodec(code, keyset);
+        }
+
         code.append("}\n");
 
-        return saveToFile(controllerName, code.toString(), "controller/v1");
+        return toFile(controllerName, code.toString(), "controller/v1");
+    }
+
+    private void generateKeysetFindAll(StringBuilder code, ColumnInfo keyset, String responseDtoName, String variableName) {
+        String keyGetter = "get" + Inflector.toPascalCase(keyset.name());
+
+        code.append("    // Paginação por cursor: o cabeçalho X-Next-Cursor traz o cursor da próxima página\n");
+        code.append("    @GetMapping\n");
+        code.append("    public ResponseEntity<List<").append(responseDtoName).append(">> findAll(\n");
+        code.append("            @RequestParam(required = false) String cursor,\n");
+        code.append("            @RequestParam(defaultValue = \"20\") @Min(1) @Max(100) int size) {\n");
+        code.append("        Slice<").append(responseDtoName).append("> items = ").append(variableName).append("Service.findAll(decodeCursor(cursor), size);\n");
+        code.append("        List<").append(responseDtoName).append("> content = items.getContent();\n");
+        code.append("        if (items.hasNext()) {\n");
+        code.append("            String next = encodeCursor(content.get(content.size() - 1).").append(keyGetter).append("());\n");
+        code.append("            return ResponseEntity.ok().header(NEXT_CURSOR_HEADER, next).body(content);\n");
+        code.append("        }\n");
+        code.append("        return ResponseEntity.ok(content);\n");
+        code.append("    }\n\n");
+    }
+
+    private void generateCursorCodec(StringBuilder code, ColumnInfo keyset) {
+        String keyType = qualifiedJavaType(keyset);
+        String decoded = "new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)";
+
+        code.append("\n");
+        code.append("    // Cursor opaco: o valor da última chave em Base64 URL-safe\n");
+        code.append("    private static String encodeCursor(").append(keyType).append(" key) {\n");
+        code.append("        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.toString().getBytes(StandardCharsets.UTF_8));\n");
+        code.append("    }\n\n");
+        code.append("    private static ").append(keyType).append(" decodeCursor(String cursor) {\n");
+        code.append("        if (cursor == null || cursor.isEmpty()) {\n");
+        code.append("            return null;\n");
+        code.append("        }\n");
+        code.append("        try {\n");
+        code.append("            return ").append(CURSOR_PARSERS.get(keyType).formatted(decoded)).append(";\n");
+        code.append("        } catch (RuntimeException e) {\n");
+        code.append("            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, \"Cursor inválido: \" + cursor);\n");
+        code.append("        }\n");
+        code.append("    }\n");
     }
 
-    private String generateService(TableInfo tableInfo, String className, Map<String, String> allClassNames, Map<String, String> foreignKeyHandling) throws IOException {
+    private GeneratedFile generateService(TableInfo tableInfo, String className, Map<String, String> allClassNames, Map<String, String> foreignKeyHandling, CrudOptions options, ColumnInfo keyset) {
+        Pagination pagination = options.pagination();
         String serviceName = className + "Service";
         String repositoryName = className + "Repository";
         String requestDtoName = className + "Request";
         String responseDtoName = className + "Response";
         String variableName = helper.toCamelCase(className);
+        String idType = helper.getPrimaryKeyType(tableInfo);
         String basePackage = config.getBasePackage();
 
-        List<ForeignKeyInfo> relationshipFks = tableInfo.getForeignKeys() != null ?
-                tableInfo.getForeignKeys().stream()
-                        .filter(fk -> "relationship".equals(foreignKeyHandling.get(fk.getColumnName())))
-                        .collect(Collectors.toList()) : new ArrayList<>();
+        List<ForeignKeyInfo> relationshipFks = tableInfo.foreignKeys().stream()
+                .filter(fk -> "relationship".equals(foreignKeyHandling.get(fk.columnName())))
+                .collect(Collectors.toList());
 
         StringBuilder code = new StringBuilder();
 
@@ -149,78 +306,158 @@ public class CrudGenerator {
         // Imports
         code.append("import ").append(basePackage).append(".dto.request.").append(requestDtoName).append(";\n");
         code.append("import ").append(basePackage).append(".dto.response.").append(responseDtoName).append(";\n");
-        code.append("import ").append(basePackage).append(".model.").append(className).append(";\n");
+        code.append("import ").append(basePackage).append(".").append(className).append(";\n");
+        if (options.bulk()) {
+            code.append("import ").append(basePackage).append(".dto.response.").append(className).append("BulkResult;\n");
+        }
         code.append("import ").append(basePackage).append(".repository.").append(repositoryName).append(";\n");
 
+        // Repositórios das entidades relacionadas: validam as FKs com existsById e ligam referências sem SELECT
+        Set<String> relatedClassNames = new LinkedHashSet<>();
         for (ForeignKeyInfo fk : relationshipFks) {
-            String relatedClassName = allClassNames.get(fk.getReferencedTable());
-            code.append("import ").append(basePackage).append(".model.").append(relatedClassName).append(";\n");
+            relatedClassNames.add(allClassNames.get(fk.referencedTable()));
+        }
+        relatedClassNames.remove(className);
+        for (String relatedClassName : relatedClassNames) {
+            code.append("import ").append(basePackage).append(".repository.").append(relatedClassName).append("Repository;\n");
         }
 
+        List<UniqueConstraintInfo> constraints = requestConstraints(tableInfo);
+        boolean bulk = options.bulk();
+        if (bulk) {
+            code.append("import jakarta.persistence.EntityManager;\n");
+        }
         code.append("import lombok.RequiredArgsConstructor;\n");
-        code.append("import org.springframework.data.domain.Page;\n");
+        if (!constraints.isEmpty()) {
+            code.append("import org.hibernate.exception.ConstraintViolationException;\n");
+        }
+        if (!constraints.isEmpty() || bulk) {
+            code.append("import org.springframework.dao.DataIntegrityViolationException;\n");
+        }
+        if (pagination == Pagination.OFFSET) {
+            code.append("import org.springframework.data.domain.Page;\n");
+        }
+        if (pagination == Pagination.KEYSET) {
+            code.append("import org.springframework.data.domain.PageRequest;\n");
+        }
         code.append("import org.springframework.data.domain.Pageable;\n");
+        if (pagination != Pagination.OFFSET) {
+            code.append("import org.springframework.data.domain.Slice;\n");
+        }
         code.append("import org.springframework.stereotype.Service;\n");
         code.append("import org.springframework.transaction.annotation.Transactional;\n");
-        code.append("import java.time.Instant;\n\n");
+        if (bulk) {
+            code.append("import org.springframework.transaction.support.TransactionTemplate;\n");
+        }
+        code.append("import java.time.Instant;\n");
+        if (bulk) {
+            code.append("import java.util.ArrayList;\n");
+            code.append("import java.util.HashMap;\n");
+            code.append("import java.util.List;\n");
+            code.append("import java.util.Map;\n");
+            code.append("import java.util.function.Supplier;\n");
+        }
+        code.append("\n");
 
         // Class Definition
         code.append("@Service\n");
         code.append("@RequiredArgsConstructor\n");
         code.append("public class ").append(serviceName).append(" {\n\n");
 
+        if (bulk) {
+            code.append("    // Um flush, um clear e um commit por lote; use o mesmo valor em hibernate.jdbc.batch_size\n");
+            code.append("    private static final int BULK_CHUNK_SIZE = 500;\n\n");
+        }
+
         code.append("    private final ").append(repositoryName).append(" ").append(variableName).append("Repository;\n");
 
-        for (ForeignKeyInfo fk : relationshipFks) {
-            String relatedClassName = allClassNames.get(fk.getReferencedTable());
-            String relatedService = relatedClassName + "Service";
-            String relatedServiceVar = helper.toCamelCase(relatedClassName) + "Service";
-            code.append("    private final ").append(relatedService).append(" ").append(relatedServiceVar).append(";\n");
+        for (String relatedClassName : relatedClassNames) {
+            code.append("    private final ").append(relatedClassName).append("Repository ")
+                    .append(helper.toCamelCase(relatedClassName)).append("Repository;\n");
+        }
+        if (bulk) {
+            code.append("    private final EntityManager entityManager;\n");
+            code.append("    private final TransactionTemplate transactionTemplate;\n");
         }
         code.append("\n");
 
         // findAll
-        code.append("    @Transactional(readOnly = true)\n");
-        code.append("    public Page<").append(responseDtoName).append("> findAll(Pageable pageable) {\n");
-        code.append("        return ").append(variableName).append("Repository.findAll(pageable)\n");
-        code.append("                .map(this::mapToResponse);\n");
-        code.append("    }\n\n");
+        String repository = variableName + "Repository";
+        boolean projections = options.projections();
+        if (projections) {
+            code.append("    // Leituras projetadas direto no DTO: sem entidades gerenciadas, lazy loading nem dirty checking\n");
+        }
+        if (pagination == Pagination.KEYSET) {
+            String keyType = qualifiedJavaType(keyset);
+            String keyProperty = Inflector.toPascalCase(keyset.name());
+            String itemType = projections ? responseDtoName : className;
+            code.append("    // Primeira página sem cursor; as seguintes filtram pela última chave lida, sem OFFSET nem COUNT\n");
+            code.append("    @Transactional(readOnly = true)\n");
+            code.append("    public Slice<").append(responseDtoName).append("> findAll(").append(keyType).append(" after, int size) {\n");
+            code.append("        Pageable pageable = PageRequest.of(0, size);\n");
+            code.append(projections ? "        return" : "        Slice<" + itemType + "> items =").append(" after == null\n");
+            if (projections) {
+                code.append("                ? ").append(repository).append(".findFirstResponses(pageable)\n");
+                code.append("                : ").append(repository).append(".findResponsesAfter(after, pageable);\n");
+            } else {
+                code.append("                ? ").append(repository).append(".findAllByOrderBy").append(keyProperty).append("Asc(pageable)\n");
+                code.append("                : ").append(repository).append(".findBy").append(keyProperty).append("GreaterThanOrderBy")
+                        .append(keyProperty).append("Asc(after, pageable);\n");
+                code.append("        return items.map(this::mapToResponse);\n");
+            }
+            code.append("    }\n\n");
+        } else {
+            boolean slice = pagination == Pagination.SLICE;
+            code.append("    @Transactional(readOnly = true)\n");
+            code.append("    public ").append(slice ? "Slice" : "Page").append("<").append(responseDtoName).append("> findAll(Pageable pageable) {\n");
+            if (projections) {
+                code.append("        return ").append(repository).append(".").append(slice ? "findResponseSlice" : "findAllResponses").append("(pageable);\n");
+            } else {
+                code.append("        return ").append(repository).append(".").append(slice ? "findAllBy" : "findAll").append("(pageable)\n");
+                code.append("                .map(this::mapToResponse);\n");
+            }
+            code.append("    }\n\n");
+        }
 
         // findById
         code.append("    @Transactional(readOnly = true)\n");
-        code.append("    public ").append(responseDtoName).append(" findById(Long id) {\n");
-        code.append("        return ").append(variableName).append("Repository.findById(id)\n");
-        code.append("                .map(this::mapToResponse)\n");
+        code.append("    public ").append(responseDtoName).append(" findById(").append(idType).append(" id) {\n");
+        if (projections) {
+            code.append("        return ").append(repository).append(".findResponseById(id)\n");
+        } else {
+            String finder = fetchedRelations(tableInfo, foreignKeyHandling, options).isEmpty() ? "findById" : "findWithRelationsById";
+            code.append("        return ").append(repository).append(".").append(finder).append("(id)\n");
+            code.append("                .map(this::mapToResponse)\n");
+        }
         code.append("                .orElseThrow(() -> new RuntimeException(\"").append(className).append(" não encontrado(a) com ID: \" + id));\n");
         code.append("    }\n\n");
 
         // create
         code.append("    @Transactional\n");
         code.append("    public ").append(responseDtoName).append(" create(").append(requestDtoName).append(" request) {\n");
-        code.append(generateUniqueChecks(tableInfo, variableName, "request", false));
         code.append(generateFkExistenceChecks(relationshipFks, allClassNames));
 
-        code.append("        ").append(className).append(" ").append(variableName).append(" = new ").append(className).append("();\n");
-        code.append("        mapToEntity(").append(variableName).append(", request);\n");
-
-        if (helper.hasField(tableInfo, "createdAt")) {
-            code.append("        Instant now = Instant.now();\n");
-            code.append("        ").append(variableName).append(".setCreatedAt(now);\n");
-        }
-        if (helper.hasField(tableInfo, "updatedAt")) {
-            code.append("        ").append(variableName).append(".setUpdatedAt(Instant.now());\n");
+        appendNewEntity(code, "        ", tableInfo, className, variableName);
+
+        if (constraints.isEmpty()) {
+            code.append("        ").append(className).append(" savedEntity = ").append(variableName).append("Repository.save(").append(variableName).append(");\n");
+            code.append("        return mapToResponse(savedEntity);\n");
+        } else {
+            // O INSERT sai no flush, dentro do try: a constraint única decide, sem consulta prévia
+            code.append("        try {\n");
+            code.append("            ").append(className).append(" savedEntity = ").append(variableName).append("Repository.saveAndFlush(").append(variableName).append(");\n");
+            code.append("            return mapToResponse(savedEntity);\n");
+            code.append("        } catch (DataIntegrityViolationException e) {\n");
+            code.append("            throw translateUniqueViolation(e, request);\n");
+            code.append("        }\n");
         }
-
-        code.append("        ").append(className).append(" savedEntity = ").append(variableName).append("Repository.save(").append(variableName).append(");\n");
-        code.append("        return mapToResponse(savedEntity);\n");
         code.append("    }\n\n");
 
         // update
         code.append("    @Transactional\n");
-        code.append("    public ").append(responseDtoName).append(" update(Long id, ").append(requestDtoName).append(" request) {\n");
+        code.append("    public ").append(responseDtoName).append(" update(").append(idType).append(" id, ").append(requestDtoName).append(" request) {\n");
         code.append("        ").append(className).append(" ").append(variableName).append(" = ").append(variableName).append("Repository.findById(id)\n");
         code.append("                .orElseThrow(() -> new RuntimeException(\"").append(className).append(" não encontrado(a) com ID: \" + id));\n\n");
-        code.append(generateUniqueChecks(tableInfo, variableName, "request", true));
         code.append(generateFkExistenceChecks(relationshipFks, allClassNames));
 
         code.append("        mapToEntity(").append(variableName).append(", request);\n");
@@ -228,34 +465,66 @@ public class CrudGenerator {
         if (helper.hasField(tableInfo, "updatedAt")) {
             code.append("        ").append(variableName).append(".setUpdatedAt(Instant.now());\n\n");
         }
-        code.append("        ").append(className).append(" updatedEntity = ").append(variableName).append("Repository.save(").append(variableName).append(");\n");
-        code.append("        return mapToResponse(updatedEntity);\n");
+        // Entidade gerenciada: o dirty checking grava o UPDATE no commit, sem o merge de um save
+        if (!constraints.isEmpty()) {
+            // ... ou no flush, quando há constraint única a traduzir
+            code.append("        try {\n");
+            code.append("            ").append(variableName).append("Repository.flush();\n");
+            code.append("        } catch (DataIntegrityViolationException e) {\n");
+            code.append("            throw translateUniqueViolation(e, request);\n");
+            code.append("        }\n");
+        }
+        code.append("        return mapToResponse(").append(variableName).append(");\n");
         code.append("    }\n\n");
 
+        if (upsertSupported(tableInfo)) {
+            for (UniqueConstraintInfo constraint : constraints) {
+                String methodName = upsertMethodName(constraint);
+                code.append("    @Transactional\n");
+                code.append("    public void ").append(methodName).append("(").append(requestDtoName).append(" request) {\n");
+                code.append("        try {\n");
+                code.append("            ").append(variableName).append("Repository.").append(methodName).append("(");
+                code.append(upsertColumns(tableInfo).stream()
+                        .map(col -> "request.get" + Inflector.toPascalCase(col.name()) + "()")
+                        .collect(Collectors.joining(", ")));
+                code.append(");\n");
+                code.append("        } catch (DataIntegrityViolationException e) {\n");
+                code.append("            throw translateUniqueViolation(e, request);\n");
+                code.append("        }\n");
+                code.append("    }\n\n");
+            }
+        }
+
+        if (bulk) {
+            generateBulkMethods(code, tableInfo, className, variableName, idType);
+        }
+
         // delete
         code.append("    @Transactional\n");
-        code.append("    public void delete(Long id) {\n");
-        code.append("        if (!").append(variableName).append("Repository.existsById(id)) {\n");
+        code.append("    public void delete(").append(idType).append(" id) {\n");
+        code.append("        if (").append(variableName).append("Repository.deleteDirectlyById(id) == 0) {\n");
         code.append("            throw new RuntimeException(\"").append(className).append(" não encontrado(a) com ID: \" + id);\n");
         code.append("        }\n");
-        code.append("        ").append(variableName).append("Repository.deleteById(id);\n");
         code.append("    }\n\n");
 
+        if (!constraints.isEmpty()) {
+            code.append(generateUniqueViolationTranslation(constraints, requestDtoName));
+        }
+
         // mapToEntity
         code.append("    private void mapToEntity(").append(className).append(" entity, ").append(requestDtoName).append(" request) {\n");
         for (ColumnInfo col : helper.getUpdatableColumns(tableInfo)) {
-            ForeignKeyInfo fk = relationshipFks.stream().filter(f -> f.getColumnName().equals(col.getName())).findFirst().orElse(null);
+            ForeignKeyInfo fk = relationshipFks.stream().filter(f -> f.columnName().equals(col.name())).findFirst().orElse(null);
             if (fk != null) {
-                String relatedClassName = allClassNames.get(fk.getReferencedTable());
-                String fieldName = helper.toCamelCase(fk.getColumnName().replaceAll("_id$", ""));
-                String setter = "set" + Inflector.toPascalCase(fieldName);
-                String idGetter = "get" + Inflector.toPascalCase(helper.toCamelCase(fk.getColumnName()));
-                code.append("        ").append(relatedClassName).append(" ").append(fieldName).append(" = new ").append(relatedClassName).append("();\n");
-                code.append("        ").append(fieldName).append(".setId(request.").append(idGetter).append("());\n");
-                code.append("        entity.").append(setter).append("(").append(fieldName).append(");\n");
+                String relatedRepositoryVar = helper.toCamelCase(allClassNames.get(fk.referencedTable())) + "Repository";
+                String setter = "set" + Inflector.toPascalCase(fk.columnName().replaceAll("_id$", ""));
+                String idGetter = "get" + Inflector.toPascalCase(fk.columnName());
+                // getReferenceById devolve um proxy sem ir ao banco; a existência já foi validada antes
+                code.append("        entity.").append(setter).append("(request.").append(idGetter).append("() != null ? ")
+                        .append(relatedRepositoryVar).append(".getReferenceById(request.").append(idGetter).append("()) : null);\n");
             } else {
-                String setter = "set" + Inflector.toPascalCase(col.getName());
-                String getter = "get" + Inflector.toPascalCase(col.getName());
+                String setter = "set" + Inflector.toPascalCase(col.name());
+                String getter = "get" + Inflector.toPascalCase(col.name());
                 code.append("        entity.").append(setter).append("(request.").append(getter).append("());\n");
             }
         }
@@ -265,20 +534,20 @@ public class CrudGenerator {
         code.append("    private ").append(responseDtoName).append(" mapToResponse(").append(className).append(" entity) {\n");
         code.append("        if (entity == null) return null;\n");
         code.append("        ").append(responseDtoName).append(" response = new ").append(responseDtoName).append("();\n");
-        for (ColumnInfo col : tableInfo.getColumns()) {
-            String fieldName = helper.toCamelCase(col.getName());
-            String setter = "set" + Inflector.toPascalCase(col.getName());
-            String getter = "get" + Inflector.toPascalCase(col.getName());
+        for (ColumnInfo col : tableInfo.columns()) {
+            String setter = "set" + Inflector.toPascalCase(col.name());
+            String getter = "get" + Inflector.toPascalCase(col.name());
 
-            ForeignKeyInfo fk = relationshipFks.stream().filter(f -> f.getColumnName().equals(col.getName())).findFirst().orElse(null);
+            ForeignKeyInfo fk = relationshipFks.stream().filter(f -> f.columnName().equals(col.name())).findFirst().orElse(null);
             if (fk != null) {
-                String relatedObjectGetter = "get" + Inflector.toPascalCase(fieldName.replaceAll("Id$", ""));
+                String relatedObjectGetter = "get" + Inflector.toPascalCase(col.name().replaceAll("_id$", ""));
                 code.append("        if (entity.").append(relatedObjectGetter).append("() != null) {\n");
-                code.append("            response.").append(setter).append("(entity.").append(relatedObjectGetter).append("().getId());\n");
+                String referencedGetter = "get" + Inflector.toPascalCase(fk.referencedColumn());
+                code.append("            response.").append(setter).append("(entity.").append(relatedObjectGetter).append("().").append(referencedGetter).append("());\n");
                 // TODO: Add description fields if needed in the future
                 code.append("        }\n");
             } else {
-                if (helper.isResponseField(col.getName())) {
+                if (helper.isResponseField(col.name())) {
                     code.append("        response.").append(setter).append("(entity.").append(getter).append("());\n");
                 }
             }
@@ -287,7 +556,7 @@ public class CrudGenerator {
         code.append("    }\n");
         code.append("}\n");
 
-        return saveToFile(serviceName, code.toString(), "service");
+        return toFile(serviceName, code.toString(), "service");
     }
 
     private String generateFkExistenceChecks(List<ForeignKeyInfo> fks, Map<String, String> allClassNames) {
@@ -297,47 +566,163 @@ public class CrudGenerator {
         }
         checks.append("        // Valida a existência de entidades relacionadas\n");
         for (ForeignKeyInfo fk : fks) {
-            String relatedClassName = allClassNames.get(fk.getReferencedTable());
-            String relatedServiceVar = helper.toCamelCase(relatedClassName) + "Service";
-            String fkIdField = helper.toCamelCase(fk.getColumnName());
-            String fkIdGetter = "get" + Inflector.toPascalCase(fkIdField);
-            checks.append("        ").append(relatedServiceVar).append(".findById(request.").append(fkIdGetter).append("());\n");
+            String relatedClassName = allClassNames.get(fk.referencedTable());
+            String relatedRepositoryVar = helper.toCamelCase(relatedClassName) + "Repository";
+            String fkIdGetter = "get" + Inflector.toPascalCase(fk.columnName());
+            checks.append("        if (request.").append(fkIdGetter).append("() != null && !").append(relatedRepositoryVar)
+                    .append(".existsById(request.").append(fkIdGetter).append("())) {\n");
+            checks.append("            throw new RuntimeException(\"").append(relatedClassName)
+                    .append(" não encontrado(a) com ID: \" + request.").append(fkIdGetter).append("());\n");
+            checks.append("        }\n");
         }
         checks.append("\n");
         return checks.toString();
     }
 
 
-    private String generateRepository(TableInfo tableInfo, String className) throws IOException {
+    private GeneratedFile generateRepository(TableInfo tableInfo, String className, Map<String, String> foreignKeyHandling, CrudOptions options, ColumnInfo keyset) {
         String repositoryName = className + "Repository";
         String idType = helper.getPrimaryKeyType(tableInfo);
         StringBuilder code = new StringBuilder();
         String basePackage = config.getBasePackage();
+        Pagination pagination = options.pagination();
+        boolean projections = options.projections();
+        List<String> relations = fetchedRelations(tableInfo, foreignKeyHandling, options);
+        String entityGraph = relations.isEmpty() ? "" : "    @EntityGraph(attributePaths = {"
+                + relations.stream().map(name -> "\"" + name + "\"").collect(Collectors.joining(", ")) + "})\n";
 
         code.append("package ").append(basePackage).append(".repository;\n\n");
-        code.append("import ").append(basePackage).append(".model.").append(className).append(";\n");
-        code.append("import org.springframework.data.jpa.repository.JpaRepository;\n\n");
+        code.append("import ").append(basePackage).append(".").append(className).append(";\n");
+        if (projections) {
+            code.append("import ").append(basePackage).append(".dto.response.").append(className).append("Response;\n");
+        }
+        if ((projections || !relations.isEmpty()) && pagination == Pagination.OFFSET) {
+            code.append("import org.springframework.data.domain.Page;\n");
+        }
+        if (projections || !relations.isEmpty() || pagination != Pagination.OFFSET) {
+            code.append("import org.springframework.data.domain.Pageable;\n");
+        }
+        if (pagination != Pagination.OFFSET) {
+            code.append("import org.springframework.data.domain.Slice;\n");
+        }
+        if (!relations.isEmpty()) {
+            code.append("import org.springframework.data.jpa.repository.EntityGraph;\n");
+        }
+        code.append("import org.springframework.data.jpa.repository.JpaRepository;\n");
+        code.append("import org.springframework.data.jpa.repository.Modifying;\n");
+        code.append("import org.springframework.data.jpa.repository.Query;\n");
+        code.append("import org.springframework.data.repository.query.Param;\n");
+        if (projections || !relations.isEmpty()) {
+            code.append("import java.util.Optional;\n");
+        }
+        code.append("\n");
         code.append("public interface ").append(repositoryName).append(" extends JpaRepository<").append(className).append(", ").append(idType).append("> {\n\n");
 
-        if (tableInfo.getUniqueConstraints() != null) {
-            for (UniqueConstraintInfo constraint : tableInfo.getUniqueConstraints()) {
-                if (constraint.getColumnNames().size() == 1) {
-                    String columnName = constraint.getColumnNames().getFirst();
-                    ColumnInfo columnInfo = tableInfo.getColumns().stream().filter(c -> c.getName().equals(columnName)).findFirst().orElse(null);
-                    if (columnInfo != null) {
-                        String methodName = "existsBy" + Inflector.toPascalCase(helper.toCamelCase(columnName));
-                        String paramType = helper.mapSqlTypeToJava(columnInfo);
-                        String paramName = helper.toCamelCase(columnName);
-                        code.append("    boolean ").append(methodName).append("(").append(paramType).append(" ").append(paramName).append(");\n\n");
-                    }
-                }
+        if (projections) {
+            generateProjectionQueries(code, tableInfo, className, foreignKeyHandling, pagination, keyset);
+        } else {
+            if (!relations.isEmpty()) {
+                code.append("    // Relacionamentos @ManyToOne no mesmo select (join), em vez de uma consulta por linha e relação\n");
+            }
+            if (pagination == Pagination.SLICE) {
+                // Retorno Slice: o Spring Data busca uma linha a mais para saber se há próxima página, sem COUNT(*)
+                code.append(entityGraph);
+                code.append("    Slice<").append(className).append("> findAllBy(Pageable pageable);\n\n");
+            } else if (pagination == Pagination.KEYSET) {
+                String keyProperty = Inflector.toPascalCase(keyset.name());
+                code.append(entityGraph);
+                code.append("    Slice<").append(className).append("> findAllByOrderBy").append(keyProperty).append("Asc(Pageable pageable);\n\n");
+                code.append(entityGraph);
+                code.append("    Slice<").append(className).append("> findBy").append(keyProperty).append("GreaterThanOrderBy").append(keyProperty)
+                        .append("Asc(").append(qualifiedJavaType(keyset)).append(" ").append(helper.toCamelCase(keyset.name()))
+                        .append(", Pageable pageable);\n\n");
+            } else if (!relations.isEmpty()) {
+                code.append("    @Override\n");
+                code.append(entityGraph);
+                code.append("    Page<").append(className).append("> findAll(Pageable pageable);\n\n");
+            }
+            if (!relations.isEmpty()) {
+                code.append(entityGraph);
+                code.append("    Optional<").append(className).append("> findWithRelationsById(").append(idType).append(" id);\n\n");
+            }
+        }
+
+        // DELETE direto: o deleteById do JpaRepository carrega a entidade antes de removê-la
+        code.append("    @Modifying\n");
+        code.append("    @Query(\"delete from ").append(className).append(" e where e.").append(idProperty(tableInfo)).append(" = :id\")\n");
+        code.append("    int deleteDirectlyById(@Param(\"id\") ").append(idType).append(" id);\n\n");
+
+        if (upsertSupported(tableInfo)) {
+            for (UniqueConstraintInfo constraint : requestConstraints(tableInfo)) {
+                generateUpsert(code, tableInfo, constraint);
             }
         }
         code.append("}\n");
-        return saveToFile(repositoryName, code.toString(), "repository");
+        return toFile(repositoryName, code.toString(), "repository");
+    }
+
+    /**
+     * Consultas que montam o DTO de resposta com uma expressão de construtor: só as colunas da resposta. A coluna
+     * referenciada por cada FK vem de um {@code left join}: o caminho {@code e.cliente.codigo} vira um inner join
+     * quando a FK aponta para uma coluna única que não é o {@code @Id}, e as linhas com FK nula sumiriam da listagem.
+     */
+    private void generateProjectionQueries(StringBuilder code, TableInfo tableInfo, String className, Map<String, String> foreignKeyHandling, Pagination pagination, ColumnInfo keyset) {
+        String responseDtoName = className + "Response";
+        String idType = helper.getPrimaryKeyType(tableInfo);
+        String idProperty = idProperty(tableInfo);
+
+        StringBuilder arguments = new StringBuilder();
+        StringBuilder joins = new StringBuilder();
+        int joinCount = 0;
+        for (ColumnInfo col : tableInfo.columns()) {
+            if (!helper.isResponseField(col.name())) {
+                continue;
+            }
+            ForeignKeyInfo fk = tableInfo.foreignKeys().stream()
+                    .filter(f -> f.columnName().equals(col.name()) && "relationship".equals(foreignKeyHandling.get(f.columnName())))
+                    .findFirst()
+                    .orElse(null);
+            arguments.append(arguments.isEmpty() ? "" : ", ");
+            if (fk != null) {
+                String alias = "r" + (++joinCount);
+                joins.append(" left join e.").append(helper.toCamelCase(fk.columnName().replaceAll("_id$", ""))).append(" ").append(alias);
+                arguments.append(alias).append(".").append(helper.toCamelCase(fk.referencedColumn()));
+            } else {
+                arguments.append("e.").append(helper.toCamelCase(col.name()));
+            }
+        }
+        String select = "select new " + config.getBasePackage() + ".dto.response." + responseDtoName + "(" + arguments + ") from " + className + " e" + joins;
+
+        if (pagination == Pagination.KEYSET) {
+            String keyProperty = "e." + helper.toCamelCase(keyset.name());
+            code.append("    @Query(\"").append(select).append(" order by ").append(keyProperty).append("\")\n");
+            code.append("    Slice<").append(responseDtoName).append("> findFirstResponses(Pageable pageable);\n\n");
+            code.append("    @Query(\"").append(select).append(" where ").append(keyProperty).append(" > :after order by ").append(keyProperty).append("\")\n");
+            code.append("    Slice<").append(responseDtoName).append("> findResponsesAfter(@Param(\"after\") ").append(qualifiedJavaType(keyset))
+                    .append(" after, Pageable pageable);\n\n");
+        } else if (pagination == Pagination.SLICE) {
+            code.append("    @Query(\"").append(select).append("\")\n");
+            code.append("    Slice<").append(responseDtoName).append("> findResponseSlice(Pageable pageable);\n\n");
+        } else {
+            code.append("    @Query(value = \"").append(select).append("\",\n");
+            code.append("            countQuery = \"select count(e) from ").append(className).append(" e\")\n");
+            code.append("    Page<").append(responseDtoName).append("> findAllResponses(Pageable pageable);\n\n");
+        }
+
+        code.append("    @Query(\"").append(select).append(" where e.").append(idProperty).append(" = :id\")\n");
+        code.append("    Optional<").append(responseDtoName).append("> findResponseById(@Param(\"id\") ").append(idType).append(" id);\n\n");
     }
 
-    private String generateRequestDto(TableInfo tableInfo, String className, Map<String, String> allClassNames, Map<String, String> foreignKeyHandling) throws IOException {
+    private String idColumn(TableInfo tableInfo) {
+        return tableInfo.primaryKey() != null && !tableInfo.primaryKey().columnNames().isEmpty()
+                ? tableInfo.primaryKey().columnNames().getFirst() : "id";
+    }
+
+    private String idProperty(TableInfo tableInfo) {
+        return helper.toCamelCase(idColumn(tableInfo));
+    }
+
+    private GeneratedFile generateRequestDto(TableInfo tableInfo, String className, Map<String, String> allClassNames, Map<String, String> foreignKeyHandling) {
         String dtoName = className + "Request";
         StringBuilder code = new StringBuilder();
 
@@ -348,41 +733,83 @@ public class CrudGenerator {
         code.append("import jakarta.validation.constraints.Size;\n");
         code.append("import lombok.Data;\n");
         code.append("import java.io.Serial;\n");
-        code.append("import java.io.Serializable;\n\n");
+        code.append("import java.io.Serializable;\n");
+        if (helper.getUpdatableColumns(tableInfo).stream().anyMatch(col -> "Instant".equals(helper.mapSqlTypeToJava(col)))) {
+            code.append("import java.time.Instant;\n");
+        }
+        code.append("\n");
 
         code.append("@Data\n");
         code.append("@JsonIgnoreProperties(ignoreUnknown = true)\n");
         code.append("public class ").append(dtoName).append(" implements Serializable {\n\n");
-        code.append("    @Serial\n");
-        code.append("    private static final long serialVersionUID = ").append(random.nextLong()).append("L;\n\n");
 
+        StringBuilder fields = new StringBuilder();
         for (ColumnInfo col : helper.getUpdatableColumns(tableInfo)) {
-            String fieldName = helper.toCamelCase(col.getName());
-            String pascalName = Inflector.toPascalCase(fieldName);
+            String fieldName = helper.toCamelCase(col.name());
+            String pascalName = Inflector.toPascalCase(col.name());
             String javaType = helper.mapSqlTypeToJava(col);
 
-            if (col.getMaxLength() != null && "String".equals(javaType)) {
-                code.append("    @Size(message = \"").append(pascalName).append(" deve ter no máximo ").append(col.getMaxLength()).append(" caracteres\", max = ").append(col.getMaxLength()).append(")\n");
+            if (col.hasMaxLength() && "String".equals(javaType)) {
+                fields.append("    @Size(message = \"").append(pascalName).append(" deve ter no máximo ").append(col.maxLength()).append(" caracteres\", max = ").append(col.maxLength()).append(")\n");
             }
-            if (!col.isNullable()) {
+            if (!col.nullable()) {
                 if ("String".equals(javaType)) {
-                    code.append("    @NotBlank(message = \"").append(pascalName).append(" é obrigatório(a)\")\n");
+                    fields.append("    @NotBlank(message = \"").append(pascalName).append(" é obrigatório(a)\")\n");
                 } else {
-                    code.append("    @NotNull(message = \"").append(pascalName).append(" é obrigatório(a)\")\n");
+                    fields.append("    @NotNull(message = \"").append(pascalName).append(" é obrigatório(a)\")\n");
                 }
             }
-            code.append("    private ").append(javaType).append(" ").append(fieldName).append(";\n\n");
+            fields.append("    private ").append(javaType).append(" ").append(fieldName).append(";\n\n");
         }
+        code.append("    @Serial\n");
+        code.append("    private static final long serialVersionUID = ")
+                .append(serialVersionUid(config.getBasePackage() + ".dto.request." + dtoName, fields)).append("L;\n\n");
+        code.append(fields);
         code.append("}\n");
-        return saveToFile(dtoName, code.toString(), "dto/request");
+        return toFile(dtoName, code.toString(), "dto/request");
     }
 
-    private String generateResponseDto(TableInfo tableInfo, String className) throws IOException {
+    private GeneratedFile generateBulkResultDto(String className) {
+        String dtoName = className + "BulkResult";
+        StringBuilder code = new StringBuilder();
+
+        code.append("package ").append(config.getBasePackage()).append(".dto.response;\n\n");
+        code.append("import lombok.AllArgsConstructor;\n");
+        code.append("import lombok.Data;\n");
+        code.append("import lombok.NoArgsConstructor;\n");
+        code.append("import java.io.Serial;\n");
+        code.append("import java.io.Serializable;\n\n");
+
+        // Resultado de um item de createAll/updateAll: a posição na requisição e o registro gravado ou o erro
+        code.append("@Data\n");
+        code.append("@NoArgsConstructor\n");
+        code.append("@AllArgsConstructor\n");
+        code.append("public class ").append(dtoName).append(" implements Serializable {\n\n");
+
+        StringBuilder fields = new StringBuilder();
+        fields.append("    private int index;\n");
+        fields.append("    private ").append(className).append("Response item;\n");
+        fields.append("    private String error;\n");
+        code.append("    @Serial\n");
+        code.append("    private static final long serialVersionUID = ")
+                .append(serialVersionUid(config.getBasePackage() + ".dto.response." + dtoName, fields)).append("L;\n\n");
+        code.append(fields);
+        code.append("}\n");
+        return toFile(dtoName, code.toString(), "dto/response");
+    }
+
+    private GeneratedFile generateResponseDto(TableInfo tableInfo, String className, CrudOptions options) {
         String dtoName = className + "Response";
         StringBuilder code = new StringBuilder();
 
         code.append("package ").append(config.getBasePackage()).append(".dto.response;\n\n");
+        if (options.projections()) {
+            code.append("import lombok.AllArgsConstructor;\n");
+        }
         code.append("import lombok.Data;\n");
+        if (options.projections()) {
+            code.append("import lombok.NoArgsConstructor;\n");
+        }
         code.append("import java.io.Serial;\n");
         code.append("import java.io.Serializable;\n");
         if (helper.needsInstant(tableInfo)) {
@@ -394,61 +821,302 @@ public class CrudGenerator {
         code.append("\n");
 
         code.append("@Data\n");
+        if (options.projections()) {
+            // Construtor com os campos na ordem das colunas, usado pelas consultas do repositório
+            code.append("@NoArgsConstructor\n");
+            code.append("@AllArgsConstructor\n");
+        }
         code.append("public class ").append(dtoName).append(" implements Serializable {\n\n");
-        code.append("    @Serial\n");
-        code.append("    private static final long serialVersionUID = ").append(random.nextLong()).append("L;\n\n");
 
-        for (ColumnInfo col : tableInfo.getColumns()) {
-            if (helper.isResponseField(col.getName())) {
-                String fieldName = helper.toCamelCase(col.getName());
+        StringBuilder fields = new StringBuilder();
+        for (ColumnInfo col : tableInfo.columns()) {
+            if (helper.isResponseField(col.name())) {
+                String fieldName = helper.toCamelCase(col.name());
                 String javaType = helper.mapSqlTypeToJava(col);
-                code.append("    private ").append(javaType).append(" ").append(fieldName).append(";\n");
+                fields.append("    private ").append(javaType).append(" ").append(fieldName).append(";\n");
             }
         }
+        code.append("    @Serial\n");
+        code.append("    private static final long serialVersionUID = ")
+                .append(serialVersionUid(config.getBasePackage() + ".dto.response." + dtoName, fields)).append("L;\n\n");
+        code.append(fields);
         code.append("}\n");
-        return saveToFile(dtoName, code.toString(), "dto/response");
+        return toFile(dtoName, code.toString(), "dto/response");
     }
 
-    private String saveToFile(String className, String code, String subPackage) throws IOException {
-        String packagePath = config.getBasePackage().replace(".", File.separator);
-        File packageDir = new File(config.getOutputDirectory(), packagePath + File.separator + subPackage.replace("/", File.separator));
+    /**
+     * serialVersionUID derivado do nome da classe e dos campos: a mesma tabela gera sempre o mesmo valor, e ele
+     * só muda quando os campos mudam (o que também quebra a compatibilidade da serialização).
+     */
+    private static long serialVersionUid(String qualifiedName, CharSequence fields) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest((qualifiedName + "\n" + fields).getBytes(StandardCharsets.UTF_8));
+            long uid = 0;
+            for (int i = 0; i < Long.BYTES; i++) {
+                uid = (uid << 8) | (hash[i] & 0xFF);
+            }
+            return uid;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
 
-        if (!packageDir.exists() && !packageDir.mkdirs()) {
-            throw new IOException("Erro ao criar o diretório: " + packageDir.getAbsolutePath());
+    /**
+     * Coluna do cursor em {@link Pagination#KEYSET}: a coluna do plano, se for a chave primária simples ou tiver uma
+     * constraint única só sua, senão a chave primária simples. Precisa ser não nula, estar na resposta e ter um tipo
+     * com forma textual estável. Nula quando nenhuma coluna serve; a listagem volta a ser por offset.
+     */
+    private ColumnInfo keysetColumn(TableInfo tableInfo, CrudOptions options) {
+        String primaryKey = tableInfo.primaryKey() != null && tableInfo.primaryKey().columnNames().size() == 1
+                ? tableInfo.primaryKey().columnNames().getFirst() : null;
+        String requested = options.keysetColumn() != null ? options.keysetColumn() : primaryKey;
+
+        return tableInfo.columns().stream()
+                .filter(col -> col.name().equals(requested))
+                .filter(col -> col.name().equals(primaryKey) || tableInfo.uniqueConstraints().stream()
+                        .anyMatch(uc -> uc.columnNames().equals(List.of(col.name()))))
+                .filter(col -> !col.nullable() || col.primaryKey())
+                .filter(col -> tableInfo.foreignKeys().stream().noneMatch(fk -> fk.columnName().equals(col.name())))
+                .filter(col -> helper.isResponseField(col.name()))
+                .filter(col -> CURSOR_PARSERS.containsKey(qualifiedJavaType(col)))
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * Campos {@code @ManyToOne} carregados junto na listagem e na busca por id, com {@code fetchRelations}. Vazio
+     * com projeções, que já leem só o id das FKs.
+     */
+    private List<String> fetchedRelations(TableInfo tableInfo, Map<String, String> foreignKeyHandling, CrudOptions options) {
+        if (!options.fetchRelations() || options.projections()) {
+            return List.of();
         }
+        return tableInfo.foreignKeys().stream()
+                .filter(fk -> "relationship".equals(foreignKeyHandling.get(fk.columnName())))
+                .map(fk -> helper.toCamelCase(fk.columnName().replaceAll("_id$", "")))
+                .collect(Collectors.toList());
+    }
+
+    private String qualifiedJavaType(ColumnInfo column) {
+        String javaType = helper.mapSqlTypeToJava(column);
+        return "Instant".equals(javaType) ? "java.time.Instant" : javaType;
+    }
 
-        File javaFile = new File(packageDir, className + ".java");
-        try (FileWriter writer = new FileWriter(javaFile)) {
-            writer.write(code);
+    private GeneratedFile toFile(String className, String code, String subPackage) {
+        String packageName = config.getBasePackage() + "." + subPackage.replace("/", ".");
+        return new GeneratedFile(GeneratedFile.pathFor(packageName, className), GeneratedFile.HEADER + code);
+    }
+
+    private void appendNewEntity(StringBuilder code, String indent, TableInfo tableInfo, String className, String variableName) {
+        code.append(indent).append(className).append(" ").append(variableName).append(" = new ").append(className).append("();\n");
+        code.append(indent).append("mapToEntity(").append(variableName).append(", request);\n");
+
+        if (helper.hasField(tableInfo, "createdAt")) {
+            code.append(indent).append("Instant now = Instant.now();\n");
+            code.append(indent).append(variableName).append(".setCreatedAt(now);\n");
+        }
+        if (helper.hasField(tableInfo, "updatedAt")) {
+            code.append(indent).append(variableName).append(".setUpdatedAt(Instant.now());\n");
         }
-        return javaFile.getAbsolutePath();
     }
 
-    private String generateUniqueChecks(TableInfo tableInfo, String entityVar, String dtoVar, boolean isUpdate) {
-        StringBuilder checks = new StringBuilder();
-        if (tableInfo.getUniqueConstraints() == null) {
-            return "";
+    /**
+     * {@code createAll} e {@code updateAll}: cada lote de {@code BULK_CHUNK_SIZE} itens roda numa transação própria,
+     * com um flush (os INSERTs/UPDATEs vão em batch JDBC) e um clear no fim. Se o banco rejeitar o lote, ele é
+     * refeito item a item com {@code create}/{@code update}, e só os itens com problema voltam com erro.
+     */
+    private void generateBulkMethods(StringBuilder code, TableInfo tableInfo, String className, String variableName, String idType) {
+        String requestDtoName = className + "Request";
+        String responseDtoName = className + "Response";
+        String bulkResult = className + "BulkResult";
+        String repository = variableName + "Repository";
+        String idGetter = "get" + Inflector.toPascalCase(idColumn(tableInfo));
+        String entry = "Map.Entry<" + idType + ", " + requestDtoName + ">";
+
+        // createAll
+        code.append("    public List<").append(bulkResult).append("> createAll(List<").append(requestDtoName).append("> requests) {\n");
+        code.append("        List<").append(bulkResult).append("> results = new ArrayList<>(requests.size());\n");
+        code.append("        for (int start = 0; start < requests.size(); start += BULK_CHUNK_SIZE) {\n");
+        code.append("            results.addAll(createChunk(start, requests.subList(start, Math.min(start + BULK_CHUNK_SIZE, requests.size()))));\n");
+        code.append("        }\n");
+        code.append("        return results;\n");
+        code.append("    }\n\n");
+
+        code.append("    private List<").append(bulkResult).append("> createChunk(int offset, List<").append(requestDtoName).append("> chunk) {\n");
+        code.append("        try {\n");
+        code.append("            return transactionTemplate.execute(status -> {\n");
+        code.append("                List<").append(className).append("> entities = new ArrayList<>(chunk.size());\n");
+        code.append("                for (").append(requestDtoName).append(" request : chunk) {\n");
+        appendNewEntity(code, "                    ", tableInfo, className, variableName);
+        code.append("                    entities.add(").append(variableName).append(");\n");
+        code.append("                }\n");
+        code.append("                ").append(repository).append(".saveAll(entities);\n");
+        code.append("                ").append(repository).append(".flush();\n");
+        code.append("                List<").append(bulkResult).append("> results = new ArrayList<>(chunk.size());\n");
+        code.append("                for (int i = 0; i < entities.size(); i++) {\n");
+        code.append("                    results.add(new ").append(bulkResult).append("(offset + i, mapToResponse(entities.get(i)), null));\n");
+        code.append("                }\n");
+        code.append("                entityManager.clear();\n");
+        code.append("                return results;\n");
+        code.append("            });\n");
+        code.append("        } catch (DataIntegrityViolationException e) {\n");
+        code.append("            // O banco rejeitou algum item e o lote foi desfeito: refaz item a item para apontar qual falhou\n");
+        code.append("            List<").append(bulkResult).append("> results = new ArrayList<>(chunk.size());\n");
+        code.append("            for (int i = 0; i < chunk.size(); i++) {\n");
+        code.append("                ").append(requestDtoName).append(" request = chunk.get(i);\n");
+        code.append("                results.add(bulkItem(offset + i, () -> create(request)));\n");
+        code.append("            }\n");
+        code.append("            return results;\n");
+        code.append("        }\n");
+        code.append("    }\n\n");
+
+        // updateAll
+        code.append("    public List<").append(bulkResult).append("> updateAll(Map<").append(idType).append(", ").append(requestDtoName).append("> requests) {\n");
+        code.append("        List<").append(entry).append("> entries = new ArrayList<>(requests.entrySet());\n");
+        code.append("        List<").append(bulkResult).append("> results = new ArrayList<>(entries.size());\n");
+        code.append("        for (int start = 0; start < entries.size(); start += BULK_CHUNK_SIZE) {\n");
+        code.append("            results.addAll(updateChunk(start, entries.subList(start, Math.min(start + BULK_CHUNK_SIZE, entries.size()))));\n");
+        code.append("        }\n");
+        code.append("        return results;\n");
+        code.append("    }\n\n");
+
+        code.append("    private List<").append(bulkResult).append("> updateChunk(int offset, List<").append(entry).append("> chunk) {\n");
+        code.append("        try {\n");
+        code.append("            return transactionTemplate.execute(status -> {\n");
+        code.append("                // Um único SELECT ... WHERE id IN (...) carrega o lote inteiro\n");
+        code.append("                Map<").append(idType).append(", ").append(className).append("> found = new HashMap<>();\n");
+        code.append("                for (").append(className).append(" ").append(variableName).append(" : ").append(repository)
+                .append(".findAllById(chunk.stream().map(Map.Entry::getKey).toList())) {\n");
+        code.append("                    found.put(").append(variableName).append(".").append(idGetter).append("(), ").append(variableName).append(");\n");
+        code.append("                }\n");
+        code.append("                List<").append(bulkResult).append("> results = new ArrayList<>(chunk.size());\n");
+        code.append("                for (int i = 0; i < chunk.size(); i++) {\n");
+        code.append("                    ").append(idType).append(" id = chunk.get(i).getKey();\n");
+        code.append("                    ").append(className).append(" ").append(variableName).append(" = found.get(id);\n");
+        code.append("                    if (").append(variableName).append(" == null) {\n");
+        code.append("                        results.add(new ").append(bulkResult).append("(offset + i, null, \"").append(className).append(" não encontrado(a) com ID: \" + id));\n");
+        code.append("                        continue;\n");
+        code.append("                    }\n");
+        code.append("                    mapToEntity(").append(variableName).append(", chunk.get(i).getValue());\n");
+        if (helper.hasField(tableInfo, "updatedAt")) {
+            code.append("                    ").append(variableName).append(".setUpdatedAt(Instant.now());\n");
         }
+        code.append("                    results.add(new ").append(bulkResult).append("(offset + i, mapToResponse(").append(variableName).append("), null));\n");
+        code.append("                }\n");
+        code.append("                ").append(repository).append(".flush();\n");
+        code.append("                entityManager.clear();\n");
+        code.append("                return results;\n");
+        code.append("            });\n");
+        code.append("        } catch (DataIntegrityViolationException e) {\n");
+        code.append("            List<").append(bulkResult).append("> results = new ArrayList<>(chunk.size());\n");
+        code.append("            for (int i = 0; i < chunk.size(); i++) {\n");
+        code.append("                ").append(entry).append(" item = chunk.get(i);\n");
+        code.append("                results.add(bulkItem(offset + i, () -> update(item.getKey(), item.getValue())));\n");
+        code.append("            }\n");
+        code.append("            return results;\n");
+        code.append("        }\n");
+        code.append("    }\n\n");
 
-        String repoVar = entityVar + "Repository";
+        // Cada item da nova tentativa em transação própria: chamadas internas não passam pelo @Transactional
+        code.append("    private ").append(bulkResult).append(" bulkItem(int index, Supplier<").append(responseDtoName).append("> write) {\n");
+        code.append("        try {\n");
+        code.append("            return new ").append(bulkResult).append("(index, transactionTemplate.execute(status -> write.get()), null);\n");
+        code.append("        } catch (RuntimeException e) {\n");
+        code.append("            return new ").append(bulkResult).append("(index, null, e.getMessage());\n");
+        code.append("        }\n");
+        code.append("    }\n\n");
+    }
+
+    /**
+     * Constraints únicas cujas colunas vêm todas do DTO de requisição: só elas têm mensagem e upsert gerados.
+     */
+    private List<UniqueConstraintInfo> requestConstraints(TableInfo tableInfo) {
+        Set<String> requestColumns = helper.getUpdatableColumns(tableInfo).stream()
+                .map(ColumnInfo::name)
+                .collect(Collectors.toSet());
+        return tableInfo.uniqueConstraints().stream()
+                .filter(constraint -> requestColumns.containsAll(constraint.columnNames()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * O upsert insere só as colunas da requisição: a chave primária, se houver, precisa ser gerada pelo banco.
+     */
+    private boolean upsertSupported(TableInfo tableInfo) {
+        return tableInfo.columns().stream().noneMatch(col -> col.primaryKey() && !col.isGenerated());
+    }
 
-        for (UniqueConstraintInfo constraint : tableInfo.getUniqueConstraints()) {
-            if (constraint.getColumnNames().size() == 1) { // Lida apenas com constraints de coluna única por agora
-                String columnName = constraint.getColumnNames().getFirst();
-                String camelCaseName = helper.toCamelCase(columnName);
-                String pascalCaseName = Inflector.toPascalCase(camelCaseName);
-                String getter = "get" + pascalCaseName;
-                String repoMethod = "existsBy" + pascalCaseName;
+    private List<ColumnInfo> upsertColumns(TableInfo tableInfo) {
+        return helper.getUpdatableColumns(tableInfo);
+    }
 
-                checks.append("        if (");
-                if (isUpdate) {
-                    checks.append("!entity.").append(getter).append("().equals(request.").append(getter).append("()) && ");
+    private String upsertMethodName(UniqueConstraintInfo constraint) {
+        return "upsertBy" + constraint.columnNames().stream().map(Inflector::toPascalCase).collect(Collectors.joining("And"));
+    }
+
+    /**
+     * {@code INSERT ... ON CONFLICT ON CONSTRAINT}: um único comando insere ou atualiza a linha que já tem os mesmos
+     * valores na constraint, sem janela entre consulta e escrita. As colunas de auditoria recebem {@code now()}.
+     */
+    private void generateUpsert(StringBuilder code, TableInfo tableInfo, UniqueConstraintInfo constraint) {
+        List<ColumnInfo> columns = upsertColumns(tableInfo);
+        List<String> insertColumns = new ArrayList<>();
+        List<String> values = new ArrayList<>();
+        List<String> assignments = new ArrayList<>();
+        for (ColumnInfo col : columns) {
+            insertColumns.add(col.name());
+            values.add(":" + helper.toCamelCase(col.name()));
+            if (!constraint.columnNames().contains(col.name())) {
+                assignments.add(col.name() + " = excluded." + col.name());
+            }
+        }
+        for (ColumnInfo col : tableInfo.columns()) {
+            if (!col.primaryKey() && helper.isAuditField(col.name())) {
+                insertColumns.add(col.name());
+                values.add("now()");
+                if ("updated_at".equalsIgnoreCase(col.name())) {
+                    assignments.add(col.name() + " = now()");
                 }
-                checks.append(repoVar).append(".").append(repoMethod).append("(request.").append(getter).append("())) {\n");
-                checks.append("            throw new RuntimeException(\"").append(pascalCaseName).append(" já cadastrado(a): \" + request.").append(getter).append("());\n");
-                checks.append("        }\n\n");
             }
         }
-        return checks.toString();
+
+        code.append("    @Modifying\n");
+        code.append("    @Query(value = \"insert into ").append(tableInfo.schema()).append(".").append(tableInfo.name())
+                .append(" (").append(String.join(", ", insertColumns)).append(") values (").append(String.join(", ", values)).append(")\"\n");
+        code.append("            + \" on conflict on constraint ").append(constraint.constraintName());
+        if (assignments.isEmpty()) {
+            code.append(" do nothing\",\n");
+        } else {
+            code.append(" do update set ").append(String.join(", ", assignments)).append("\",\n");
+        }
+        code.append("            nativeQuery = true)\n");
+        code.append("    int ").append(upsertMethodName(constraint)).append("(");
+        code.append(columns.stream()
+                .map(col -> "@Param(\"" + helper.toCamelCase(col.name()) + "\") " + qualifiedJavaType(col) + " " + helper.toCamelCase(col.name()))
+                .collect(Collectors.joining(", ")));
+        code.append(");\n\n");
+    }
+
+    /**
+     * Troca a violação de uma constraint única pela mensagem de erro do CRUD, identificando-a pelo nome. Outras
+     * violações (FK, NOT NULL) seguem como estão.
+     */
+    private String generateUniqueViolationTranslation(List<UniqueConstraintInfo> constraints, String requestDtoName) {
+        StringBuilder code = new StringBuilder();
+        code.append("    private RuntimeException translateUniqueViolation(DataIntegrityViolationException e, ").append(requestDtoName).append(" request) {\n");
+        code.append("        String constraintName = e.getCause() instanceof ConstraintViolationException violation ? violation.getConstraintName() : null;\n");
+        for (UniqueConstraintInfo constraint : constraints) {
+            String label = constraint.columnNames().stream().map(Inflector::toPascalCase).collect(Collectors.joining(", "));
+            String values = constraint.columnNames().stream()
+                    .map(column -> "request.get" + Inflector.toPascalCase(column) + "()")
+                    .collect(Collectors.joining(" + \", \" + "));
+            code.append("        if (\"").append(constraint.constraintName()).append("\".equalsIgnoreCase(constraintName)) {\n");
+            code.append("            return new RuntimeException(\"").append(label).append(" já cadastrado(a): \" + ").append(values).append(");\n");
+            code.append("        }\n");
+        }
+        code.append("        return e;\n");
+        code.append("    }\n\n");
+        return code.toString();
     }
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.jpagenerator.generator;
+
+/**
+ * Camadas que o {@link CrudGenerator} pode emitir para uma entidade.
+ */
+public enum CrudLayer {
+    REQUEST,
+    RESPONSE,
+    REPOSITORY,
+    SERVICE,
+    CONTROLLER
+}
@@ -0,0 +1,26 @@
+package com.jpagenerator.generator;
+
+import lombok.Builder;
+import lombok.With;
+
+/**
+ * Opções do CRUD de uma tabela, vindas do plano de geração.
+ *
+ * @param pagination     paginação da listagem
+ * @param keysetColumn   coluna do cursor em {@link Pagination#KEYSET}; nula usa a chave primária
+ * @param projections    leituras projetadas direto no DTO de resposta, sem carregar entidades
+ * @param fetchRelations listagem e busca por id carregam os relacionamentos {@code @ManyToOne} na mesma consulta
+ * @param bulk           endpoints {@code /bulk} que criam e atualizam listas em lotes, com resultado por item
+ */
+@With
+@Builder(toBuilder = true)
+public record CrudOptions(Pagination pagination, String keysetColumn, boolean projections, boolean fetchRelations, boolean bulk) {
+
+    public CrudOptions {
+        pagination = pagination != null ? pagination : Pagination.OFFSET;
+    }
+
+    public static CrudOptions defaults() {
+        return builder().build();
+    }
+}
@@ -0,0 +1,21 @@
+package com.jpagenerator.generator;
+
+/**
+ * Paginação da listagem gerada pelo {@link CrudGenerator}.
+ */
+public enum Pagination {
+    /**
+     * {@code Page} com número de página e total ({@code OFFSET} e {@code COUNT(*)} a cada requisição).
+     */
+    OFFSET,
+    /**
+     * {@code Slice} com número de página e indicação de próxima página, sem o {@code COUNT(*)} do total: o Spring
+     * Data busca uma linha a mais que o tamanho da página.
+     */
+    SLICE,
+    /**
+     * Cursor opaco sobre uma coluna única ({@code WHERE chave > :after ORDER BY chave}): o custo de cada página
+     * não depende da profundidade.
+     */
+    KEYSET
+}
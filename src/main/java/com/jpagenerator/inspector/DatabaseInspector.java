@@ -1,6 +1,11 @@
 package com.jpagenerator.inspector;
 
 import com.jpagenerator.config.DatabaseConfig;
+import com.jpagenerator.metrics.CatalogQuery;
+import com.jpagenerator.metrics.CatalogQueryEvent;
+import com.jpagenerator.metrics.Phase;
+import com.jpagenerator.metrics.QueryProfiler;
+import com.jpagenerator.metrics.RunMetrics;
 import com.jpagenerator.model.ColumnInfo;
 import com.jpagenerator.model.ForeignKeyInfo;
 import com.jpagenerator.model.PrimaryKeyInfo;
@@ -8,49 +13,152 @@ import com.jpagenerator.model.SequenceInfo;
 import com.jpagenerator.model.TableInfo;
 import com.jpagenerator.model.UniqueConstraintInfo;
 
+import java.io.PrintStream;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Lê os metadados do catálogo do PostgreSQL. Thread-safe: as consultas compartilham uma única conexão e são
+ * serializadas, enquanto as leituras do cache de tabelas não bloqueiam.
+ */
 @SuppressWarnings("SqlNoDataSourceInspection")
-public class DatabaseInspector {
+public class DatabaseInspector implements SchemaSource {
+    /**
+     * Sequences de cada coluna: a dona da coluna (serial ou identity, prioridade 0) e as usadas no {@code nextval}
+     * do default (prioridade 1).
+     */
+    private static final String SEQUENCE_DEPENDENCIES = """
+                    SELECT d.refobjid AS table_oid, d.refobjsubid AS attnum, d.objid AS sequence_oid, 0 AS priority
+                    FROM pg_depend d
+                    WHERE d.classid = 'pg_class'::regclass AND d.refclassid = 'pg_class'::regclass
+                        AND d.deptype IN ('a', 'i') AND d.refobjsubid > 0
+                    UNION ALL
+                    SELECT ad.adrelid, ad.adnum, d.refobjid, 1
+                    FROM pg_attrdef ad
+                    JOIN pg_depend d ON d.classid = 'pg_attrdef'::regclass AND d.objid = ad.oid
+                        AND d.refclassid = 'pg_class'::regclass
+                """;
+
     private final DatabaseConfig config;
+    private final Map<String, CachedTable> tableCache = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, String>> checkedFingerprints = new ConcurrentHashMap<>();
     private Connection connection;
+    private volatile Duration cacheTtl; // nulo: entradas nunca expiram
+    private volatile RunMetrics metrics = new RunMetrics();
+    private volatile PrintStream out = System.out;
 
     public DatabaseInspector(DatabaseConfig config) {
         this.config = config;
     }
 
-    public void connect() throws SQLException {
+    /**
+     * Define por quanto tempo os metadados de uma tabela permanecem em cache.
+     * Sem TTL, o cache vale até {@link #invalidateCache()}, o que basta para uma única execução.
+     */
+    public void setCacheTtl(Duration cacheTtl) {
+        this.cacheTtl = cacheTtl;
+    }
+
+    /**
+     * Onde registrar o tempo da conexão e das consultas ao catálogo (normalmente o mesmo da execução).
+     */
+    public void setMetrics(RunMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Onde escrever as mensagens de conexão (normalmente o console; descartadas com {@code --quiet}).
+     */
+    public void setOut(PrintStream out) {
+        this.out = out;
+    }
+
+    public void invalidateCache() {
+        tableCache.clear();
+    }
+
+    /**
+     * Descarta apenas os metadados das tabelas informadas; as demais continuam em cache.
+     */
+    public void invalidateTables(String schema, Collection<String> tableNames) {
+        for (String tableName : tableNames) {
+            tableCache.remove(schema + "." + tableName);
+        }
+    }
+
+    /**
+     * Confere o cache do schema com a impressão digital de cada tabela ({@link #tableFingerprints}, uma consulta)
+     * e descarta as tabelas que mudaram desde a conferência anterior. Na primeira conferência do schema, descarta
+     * todas as que estiverem em cache.
+     *
+     * @return tabelas descartadas
+     */
+    public List<String> invalidateChangedTables(String schema) throws SQLException {
+        Map<String, String> current = tableFingerprints(schema);
+        Map<String, String> previous = checkedFingerprints.put(schema, current);
+
+        String prefix = schema + ".";
+        List<String> changed = new ArrayList<>();
+        for (String key : tableCache.keySet()) {
+            if (!key.startsWith(prefix)) {
+                continue;
+            }
+            String table = key.substring(prefix.length());
+            if (previous == null || !Objects.equals(previous.get(table), current.get(table))) {
+                changed.add(table);
+            }
+        }
+        invalidateTables(schema, changed);
+        return changed;
+    }
+
+    /**
+     * Reabre a conexão se ela nunca foi aberta ou deixou de ser válida (ex.: daemon ocioso por muito tempo).
+     */
+    public synchronized void ensureConnected() throws SQLException {
+        if (connection == null || connection.isClosed() || !connection.isValid(2)) {
+            connect();
+        }
+    }
+
+    public synchronized void connect() throws SQLException {
         try {
             Class.forName("org.postgresql.Driver");
         } catch (ClassNotFoundException e) {
             throw new SQLException("PostgreSQL JDBC driver not found", e);
         }
 
+        long start = System.nanoTime();
         connection = DriverManager.getConnection(
                 config.getJdbcUrl(),
                 config.getUsername(),
                 config.getPassword()
         );
+        metrics.record(Phase.CONNECTION, start);
 
-        System.out.println("Conectado ao banco: " + config.getJdbcUrl());
+        out.println("Conectado ao banco: " + config.getJdbcUrl());
     }
 
-    public void disconnect() throws SQLException {
+    public synchronized void disconnect() throws SQLException {
         if (connection != null && !connection.isClosed()) {
             connection.close();
-            System.out.println("Conexão fechada.");
+            out.println("Conexão fechada.");
         }
     }
 
-    public List<String> getSchemas() throws SQLException {
+    public synchronized List<String> getSchemas() throws SQLException {
         List<String> schemas = new ArrayList<>();
 
         String query = """
@@ -60,18 +168,15 @@ public class DatabaseInspector {
                 ORDER BY schema_name
                 """;
 
-        try (PreparedStatement stmt = connection.prepareStatement(query);
-             ResultSet rs = stmt.executeQuery()) {
-
-            while (rs.next()) {
-                schemas.add(rs.getString("schema_name"));
-            }
-        }
+        long start = System.nanoTime();
+        query(CatalogQuery.SCHEMAS, query, rs -> schemas.add(rs.getString("schema_name")));
+        metrics.record(Phase.SCHEMA_LISTING, start);
 
         return schemas;
     }
 
-    public List<String> getTables(String schema) throws SQLException {
+    @Override
+    public synchronized List<String> getTables(String schema) throws SQLException {
         List<String> tables = new ArrayList<>();
 
         String query = """
@@ -81,42 +186,41 @@ public class DatabaseInspector {
                 ORDER BY table_name
                 """;
 
-        try (PreparedStatement stmt = connection.prepareStatement(query)) {
-            stmt.setString(1, schema);
-
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    tables.add(rs.getString("table_name"));
-                }
-            }
-        }
+        long start = System.nanoTime();
+        query(CatalogQuery.TABLES, query, rs -> tables.add(rs.getString("table_name")), schema);
+        metrics.record(Phase.SCHEMA_LISTING, start);
 
         return tables;
     }
 
+    @Override
     public TableInfo getTableInfo(String schema, String tableName) throws SQLException {
-        TableInfo tableInfo = new TableInfo();
-        tableInfo.setSchema(schema);
-        tableInfo.setName(tableName);
-
-        // Get columns
-        tableInfo.setColumns(getColumns(schema, tableName));
-
-        // Get primary key
-        tableInfo.setPrimaryKey(getPrimaryKey(schema, tableName));
-
-        // Get foreign keys
-        tableInfo.setForeignKeys(getForeignKeys(schema, tableName));
-
-        // Get unique constraints
-        tableInfo.setUniqueConstraints(getUniqueConstraints(schema, tableName));
-
-        // Get sequences (for serial types)
-        tableInfo.setSequences(getSequences(schema, tableName));
+        String key = schema + "." + tableName;
+        CachedTable cached = tableCache.get(key);
+        if (cached != null && !cached.isExpired(cacheTtl)) {
+            return cached.tableInfo();
+        }
 
+        TableInfo tableInfo = loadTableInfo(schema, tableName);
+        tableCache.put(key, new CachedTable(tableInfo, System.nanoTime()));
         return tableInfo;
     }
 
+    private synchronized TableInfo loadTableInfo(String schema, String tableName) throws SQLException {
+        // Primary key first, so each column is built with its PK flag already set
+        PrimaryKeyInfo primaryKey = getPrimaryKey(schema, tableName);
+
+        return TableInfo.builder()
+                .schema(schema)
+                .name(tableName)
+                .columns(getColumns(schema, tableName, primaryKey))
+                .primaryKey(primaryKey)
+                .foreignKeys(getForeignKeys(schema, tableName))
+                .uniqueConstraints(getUniqueConstraints(schema, tableName))
+                .sequences(getSequences(schema, tableName))
+                .build();
+    }
+
     private List<UniqueConstraintInfo> getUniqueConstraints(String schema, String tableName) throws SQLException {
         Map<String, List<String>> constraints = new LinkedHashMap<>();
 
@@ -134,32 +238,22 @@ public class DatabaseInspector {
                 ORDER BY kcu.constraint_name, kcu.ordinal_position
                 """;
 
-        try (PreparedStatement stmt = connection.prepareStatement(query)) {
-            stmt.setString(1, schema);
-            stmt.setString(2, tableName);
-
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    String constraintName = rs.getString("constraint_name");
-                    String columnName = rs.getString("column_name");
-                    constraints.computeIfAbsent(constraintName, k -> new ArrayList<>()).add(columnName);
-                }
-            }
-        }
+        query(CatalogQuery.UNIQUE_CONSTRAINTS, query, rs -> {
+            String constraintName = rs.getString("constraint_name");
+            String columnName = rs.getString("column_name");
+            constraints.computeIfAbsent(constraintName, k -> new ArrayList<>()).add(columnName);
+        }, schema, tableName);
 
         List<UniqueConstraintInfo> uniqueConstraints = new ArrayList<>();
         for (Map.Entry<String, List<String>> entry : constraints.entrySet()) {
-            UniqueConstraintInfo uci = new UniqueConstraintInfo();
-            uci.setConstraintName(entry.getKey());
-            uci.setColumnNames(entry.getValue());
-            uniqueConstraints.add(uci);
+            uniqueConstraints.add(new UniqueConstraintInfo(entry.getKey(), entry.getValue()));
         }
 
         return uniqueConstraints;
     }
 
 
-    private List<ColumnInfo> getColumns(String schema, String tableName) throws SQLException {
+    private List<ColumnInfo> getColumns(String schema, String tableName, PrimaryKeyInfo primaryKey) throws SQLException {
         List<ColumnInfo> columns = new ArrayList<>();
 
         String query = """
@@ -171,32 +265,28 @@ public class DatabaseInspector {
                     c.numeric_scale,
                     c.is_nullable,
                     c.column_default,
+                    c.identity_generation,
                     c.ordinal_position
                 FROM information_schema.columns c
                 WHERE c.table_schema = ? AND c.table_name = ?
                 ORDER BY c.ordinal_position
                 """;
 
-        try (PreparedStatement stmt = connection.prepareStatement(query)) {
-            stmt.setString(1, schema);
-            stmt.setString(2, tableName);
-
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    ColumnInfo column = new ColumnInfo();
-                    column.setName(rs.getString("column_name"));
-                    column.setDataType(rs.getString("data_type"));
-                    column.setMaxLength(rs.getObject("character_maximum_length", Integer.class));
-                    column.setPrecision(rs.getObject("numeric_precision", Integer.class));
-                    column.setScale(rs.getObject("numeric_scale", Integer.class));
-                    column.setNullable("YES".equals(rs.getString("is_nullable")));
-                    column.setDefaultValue(rs.getString("column_default"));
-                    column.setOrdinalPosition(rs.getInt("ordinal_position"));
-
-                    columns.add(column);
-                }
-            }
-        }
+        query(CatalogQuery.COLUMNS, query, rs -> {
+            String columnName = rs.getString("column_name");
+            columns.add(ColumnInfo.builder()
+                    .name(columnName)
+                    .dataType(rs.getString("data_type"))
+                    .maxLength(rs.getInt("character_maximum_length"))
+                    .precision(rs.getInt("numeric_precision"))
+                    .scale(rs.getInt("numeric_scale"))
+                    .nullable("YES".equals(rs.getString("is_nullable")))
+                    .defaultValue(rs.getString("column_default"))
+                    .identityGeneration(rs.getString("identity_generation"))
+                    .ordinalPosition(rs.getInt("ordinal_position"))
+                    .primaryKey(primaryKey != null && primaryKey.contains(columnName))
+                    .build());
+        }, schema, tableName);
 
         return columns;
     }
@@ -216,26 +306,10 @@ public class DatabaseInspector {
                 ORDER BY kcu.ordinal_position
                 """;
 
-        try (PreparedStatement stmt = connection.prepareStatement(query)) {
-            stmt.setString(1, schema);
-            stmt.setString(2, tableName);
-
-            try (ResultSet rs = stmt.executeQuery()) {
-                List<String> columnNames = new ArrayList<>();
+        List<String> columnNames = new ArrayList<>();
+        query(CatalogQuery.PRIMARY_KEY, query, rs -> columnNames.add(rs.getString("column_name")), schema, tableName);
 
-                while (rs.next()) {
-                    columnNames.add(rs.getString("column_name"));
-                }
-
-                if (!columnNames.isEmpty()) {
-                    PrimaryKeyInfo pk = new PrimaryKeyInfo();
-                    pk.setColumnNames(columnNames);
-                    return pk;
-                }
-            }
-        }
-
-        return null;
+        return columnNames.isEmpty() ? null : new PrimaryKeyInfo(columnNames);
     }
 
     private List<ForeignKeyInfo> getForeignKeys(String schema, String tableName) throws SQLException {
@@ -260,77 +334,275 @@ public class DatabaseInspector {
                     AND tc.table_name = ?
                 """;
 
-        try (PreparedStatement stmt = connection.prepareStatement(query)) {
-            stmt.setString(1, schema);
-            stmt.setString(2, tableName);
-
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    ForeignKeyInfo fk = new ForeignKeyInfo();
-                    fk.setColumnName(rs.getString("column_name"));
-                    fk.setReferencedSchema(rs.getString("referenced_schema"));
-                    fk.setReferencedTable(rs.getString("referenced_table"));
-                    fk.setReferencedColumn(rs.getString("referenced_column"));
-                    fk.setConstraintName(rs.getString("constraint_name"));
-
-                    foreignKeys.add(fk);
-                }
-            }
-        }
+        query(CatalogQuery.FOREIGN_KEYS, query, rs -> foreignKeys.add(new ForeignKeyInfo(
+                rs.getString("column_name"),
+                rs.getString("referenced_schema"),
+                rs.getString("referenced_table"),
+                rs.getString("referenced_column"),
+                rs.getString("constraint_name"))), schema, tableName);
 
         return foreignKeys;
     }
 
+    /**
+     * Sequences das colunas da tabela, pela dependência registrada no catálogo (pg_depend), e não pelo nome:
+     * a sequence dona da coluna (serial ou identity) ou a usada no {@code nextval} do default.
+     */
     private List<SequenceInfo> getSequences(String schema, String tableName) throws SQLException {
         List<SequenceInfo> sequences = new ArrayList<>();
 
         String query = """
-                SELECT
-                    c.column_name,
-                    s.sequence_name,
-                    s.sequence_schema
-                FROM information_schema.columns c
-                LEFT JOIN information_schema.sequences s
-                    ON s.sequence_name = c.table_name || '_' || c.column_name || '_seq'
-                    AND s.sequence_schema = c.table_schema
-                WHERE c.table_schema = ?
-                    AND c.table_name = ?
-                    AND c.column_default LIKE 'nextval%'
+                SELECT DISTINCT ON (a.attnum)
+                    a.attname AS column_name,
+                    s.relname AS sequence_name,
+                    sn.nspname AS sequence_schema,
+                    seq.seqincrement AS increment_by
+                FROM pg_class t
+                JOIN pg_namespace tn ON tn.oid = t.relnamespace
+                JOIN (%s) dep ON dep.table_oid = t.oid
+                JOIN pg_class s ON s.oid = dep.sequence_oid AND s.relkind = 'S'
+                JOIN pg_namespace sn ON sn.oid = s.relnamespace
+                JOIN pg_sequence seq ON seq.seqrelid = s.oid
+                JOIN pg_attribute a ON a.attrelid = t.oid AND a.attnum = dep.attnum
+                WHERE tn.nspname = ? AND t.relname = ?
+                ORDER BY a.attnum, dep.priority
+                """.formatted(SEQUENCE_DEPENDENCIES);
+
+        query(CatalogQuery.SEQUENCES, query, rs -> sequences.add(new SequenceInfo(
+                rs.getString("column_name"),
+                rs.getString("sequence_name"),
+                rs.getString("sequence_schema"),
+                rs.getLong("increment_by"))), schema, tableName);
+
+        return sequences;
+    }
+
+    public synchronized boolean tableExists(String schema, String tableName) throws SQLException {
+        String query = """
+                SELECT 1
+                FROM information_schema.tables
+                WHERE table_schema = ? AND table_name = ? AND table_type = 'BASE TABLE'
                 """;
 
-        try (PreparedStatement stmt = connection.prepareStatement(query)) {
-            stmt.setString(1, schema);
-            stmt.setString(2, tableName);
+        boolean[] found = {false};
+        query(CatalogQuery.TABLE_EXISTS, query, rs -> found[0] = true, schema, tableName);
+        return found[0];
+    }
 
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    SequenceInfo seq = new SequenceInfo();
-                    seq.setColumnName(rs.getString("column_name"));
-                    seq.setSequenceName(rs.getString("sequence_name"));
-                    seq.setSequenceSchema(rs.getString("sequence_schema"));
+    /**
+     * Impressão digital do schema numa única consulta: MD5 das colunas (tipo, nulidade, identity, default), das constraints
+     * e do incremento das sequences (que define o {@code allocationSize}) de todas as tabelas. Muda quando qualquer coisa que afete a geração muda, sem ler os metadados completos.
+     */
+    public synchronized String schemaFingerprint(String schema) throws SQLException {
+        String query = """
+                WITH ns AS (SELECT oid FROM pg_namespace WHERE nspname = ?)
+                SELECT md5(coalesce(string_agg(item, ',' ORDER BY item), '')) AS fingerprint
+                FROM (
+                    SELECT c.relname || '.' || a.attname || ':' || format_type(a.atttypid, a.atttypmod)
+                           || ':' || a.attnotnull || ':' || a.attidentity::text || ':' || coalesce(pg_get_expr(d.adbin, d.adrelid), '') AS item
+                    FROM pg_class c
+                    JOIN ns ON ns.oid = c.relnamespace
+                    JOIN pg_attribute a ON a.attrelid = c.oid AND a.attnum > 0 AND NOT a.attisdropped
+                    LEFT JOIN pg_attrdef d ON d.adrelid = c.oid AND d.adnum = a.attnum
+                    WHERE c.relkind IN ('r', 'p')
+                    UNION ALL
+                    SELECT con.conrelid::regclass::text || ':' || con.conname || ':' || pg_get_constraintdef(con.oid)
+                    FROM pg_constraint con
+                    JOIN ns ON ns.oid = con.connamespace
+                    UNION ALL
+                    SELECT DISTINCT c.relname || '.' || a.attname || ':' || s.oid::regclass::text || ':' || seq.seqincrement
+                    FROM pg_class c
+                    JOIN ns ON ns.oid = c.relnamespace
+                    JOIN (%s) dep ON dep.table_oid = c.oid
+                    JOIN pg_class s ON s.oid = dep.sequence_oid AND s.relkind = 'S'
+                    JOIN pg_sequence seq ON seq.seqrelid = s.oid
+                    JOIN pg_attribute a ON a.attrelid = c.oid AND a.attnum = dep.attnum
+                    WHERE c.relkind IN ('r', 'p')
+                ) items
+                """.formatted(SEQUENCE_DEPENDENCIES);
+
+        String[] fingerprint = {null};
+        query(CatalogQuery.FINGERPRINT, query, rs -> fingerprint[0] = rs.getString("fingerprint"), schema);
+        return fingerprint[0];
+    }
 
-                    sequences.add(seq);
-                }
-            }
+    /**
+     * Impressão digital de cada tabela do schema numa única consulta, com os mesmos itens de
+     * {@link #schemaFingerprint(String)} agrupados por tabela: comparando dois resultados, sabe-se quais tabelas
+     * mudaram sem ler os metadados completos de nenhuma.
+     */
+    public synchronized Map<String, String> tableFingerprints(String schema) throws SQLException {
+        String query = """
+                WITH ns AS (SELECT oid FROM pg_namespace WHERE nspname = ?)
+                SELECT table_name, md5(string_agg(item, ',' ORDER BY item)) AS fingerprint
+                FROM (
+                    SELECT c.relname AS table_name, a.attnum || ':' || a.attname || ':' || format_type(a.atttypid, a.atttypmod)
+                           || ':' || a.attnotnull || ':' || a.attidentity::text || ':' || coalesce(pg_get_expr(d.adbin, d.adrelid), '') AS item
+                    FROM pg_class c
+                    JOIN ns ON ns.oid = c.relnamespace
+                    JOIN pg_attribute a ON a.attrelid = c.oid AND a.attnum > 0 AND NOT a.attisdropped
+                    LEFT JOIN pg_attrdef d ON d.adrelid = c.oid AND d.adnum = a.attnum
+                    WHERE c.relkind IN ('r', 'p')
+                    UNION ALL
+                    SELECT c.relname, con.conname || ':' || pg_get_constraintdef(con.oid)
+                    FROM pg_constraint con
+                    JOIN pg_class c ON c.oid = con.conrelid
+                    JOIN ns ON ns.oid = c.relnamespace
+                    WHERE c.relkind IN ('r', 'p')
+                    UNION ALL
+                    SELECT DISTINCT c.relname, a.attname || ':' || s.oid::regclass::text || ':' || seq.seqincrement
+                    FROM pg_class c
+                    JOIN ns ON ns.oid = c.relnamespace
+                    JOIN (%s) dep ON dep.table_oid = c.oid
+                    JOIN pg_class s ON s.oid = dep.sequence_oid AND s.relkind = 'S'
+                    JOIN pg_sequence seq ON seq.seqrelid = s.oid
+                    JOIN pg_attribute a ON a.attrelid = c.oid AND a.attnum = dep.attnum
+                    WHERE c.relkind IN ('r', 'p')
+                ) items
+                GROUP BY table_name
+                ORDER BY table_name
+                """.formatted(SEQUENCE_DEPENDENCIES);
+
+        Map<String, String> fingerprints = new LinkedHashMap<>();
+        query(CatalogQuery.TABLE_FINGERPRINTS, query,
+                rs -> fingerprints.put(rs.getString("table_name"), rs.getString("fingerprint")), schema);
+        return fingerprints;
+    }
+
+    /**
+     * Cria (ou recria) o log de DDL e os event triggers que o alimentam. Requer um superusuário.
+     */
+    public synchronized void installDdlChangeLog() throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute(DdlChangeLog.INSTALL_SQL);
         }
+    }
 
-        return sequences;
+    /**
+     * Remove os event triggers e o schema do log de DDL.
+     */
+    public synchronized void uninstallDdlChangeLog() throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute(DdlChangeLog.UNINSTALL_SQL);
+        }
+    }
+
+    /**
+     * Posição atual do log de DDL: a transação mais antiga ainda em andamento. Entradas gravadas por ela ou por
+     * transações posteriores serão lidas por {@link #ddlChangesSince}.
+     */
+    public synchronized long ddlLogPosition() throws SQLException {
+        long[] position = {0};
+        // A subconsulta só confirma que o log está instalado
+        queryDdlLog("""
+                SELECT txid_snapshot_xmin(txid_current_snapshot()) AS position,
+                       EXISTS (SELECT 1 FROM jpa_generator.ddl_log) AS installed
+                """, rs -> position[0] = rs.getLong("position"));
+        return position[0];
     }
 
-    public boolean tableExists(String schema, String tableName) throws SQLException {
+    /**
+     * Tabelas do schema alteradas a partir da posição informada. Relê as entradas de transações que ainda podiam
+     * estar em andamento na leitura anterior; a versão de cada tabela é o maior {@code id} lido para ela.
+     */
+    public synchronized DdlChangeLog.Changes ddlChangesSince(String schema, long position) throws SQLException {
+        // Posição lida antes das entradas: o que confirmar entre as duas consultas é relido na próxima leitura
+        long next = ddlLogPosition();
         String query = """
-                SELECT 1
-                FROM information_schema.tables
-                WHERE table_schema = ? AND table_name = ? AND table_type = 'BASE TABLE'
+                SELECT table_name, max(id) AS last_id
+                FROM jpa_generator.ddl_log
+                WHERE schema_name = ? AND xact_id >= ?::bigint
+                GROUP BY table_name
+                ORDER BY last_id
                 """;
 
-        try (PreparedStatement stmt = connection.prepareStatement(query)) {
-            stmt.setString(1, schema);
-            stmt.setString(2, tableName);
+        Map<String, Long> tables = new LinkedHashMap<>();
+        queryDdlLog(query, rs -> tables.put(rs.getString("table_name"), rs.getLong("last_id")),
+                schema, Long.toString(position));
+        return new DdlChangeLog.Changes(Math.max(position, next), tables);
+    }
+
+    private void queryDdlLog(String sql, RowReader rowReader, String... params) throws SQLException {
+        try {
+            query(CatalogQuery.DDL_LOG, sql, rowReader, params);
+        } catch (SQLException e) {
+            if ("42P01".equals(e.getSQLState())) { // undefined_table
+                throw new SQLException("Log de DDL não instalado neste banco. Instale-o com --install-ddl-log.", e);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Ponto único de execução das consultas ao catálogo: prepara, associa os parâmetros (todos texto), percorre
+     * as linhas e registra o tempo da consulta por tipo. Os parâmetros seguem a ordem schema, tabela.
+     */
+    private void query(CatalogQuery kind, String sql, RowReader rowReader, String... params) throws SQLException {
+        CatalogQueryEvent event = new CatalogQueryEvent();
+        event.begin();
+        long start = System.nanoTime();
+        int rowCount = 0;
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            for (int i = 0; i < params.length; i++) {
+                stmt.setString(i + 1, params[i]);
+            }
 
             try (ResultSet rs = stmt.executeQuery()) {
-                return rs.next();
+                while (rs.next()) {
+                    rowReader.read(rs);
+                    rowCount++;
+                }
+            }
+        } finally {
+            metrics.recordQuery(kind, sql, params, rowCount, start);
+            if (event.shouldCommit()) {
+                event.kind = kind.key();
+                event.schema = params.length > 0 ? params[0] : null;
+                event.table = params.length > 1 ? params[1] : null;
+                event.rowCount = rowCount;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Repete sob {@code EXPLAIN (ANALYZE, BUFFERS)} as execuções mais lentas guardadas pelo perfil de consultas
+     * e anexa o plano a cada uma. Chamar antes de {@link #disconnect()}; sem perfil ativo, não faz nada. Se o
+     * {@code EXPLAIN} de uma consulta falhar, a mensagem de erro ocupa o lugar do plano e as demais seguem.
+     */
+    public synchronized void explainSlowestQueries() throws SQLException {
+        QueryProfiler profiler = metrics.getQueryProfiler();
+        if (profiler == null || connection == null || connection.isClosed()) {
+            return;
+        }
+        for (QueryProfiler.SlowQuery slowQuery : profiler.slowest()) {
+            StringBuilder plan = new StringBuilder();
+            try (PreparedStatement stmt = connection.prepareStatement("EXPLAIN (ANALYZE, BUFFERS) " + slowQuery.sql())) {
+                for (int i = 0; i < slowQuery.params().size(); i++) {
+                    stmt.setString(i + 1, slowQuery.params().get(i));
+                }
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        plan.append(rs.getString(1)).append('\n');
+                    }
+                }
+            } catch (SQLException e) {
+                // Só diagnóstico: a falha vira o plano da consulta, e a geração já gravada não é afetada
+                plan.setLength(0);
+                plan.append("EXPLAIN falhou: ").append(e.getMessage()).append('\n');
             }
+            profiler.attachPlan(slowQuery, plan.toString());
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowReader {
+        void read(ResultSet rs) throws SQLException;
+    }
+
+    private record CachedTable(TableInfo tableInfo, long loadedAtNanos) {
+        boolean isExpired(Duration ttl) {
+            return ttl != null && System.nanoTime() - loadedAtNanos > ttl.toNanos();
         }
     }
-}
\ No newline at end of file
+}
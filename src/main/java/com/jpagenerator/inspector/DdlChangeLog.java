@@ -0,0 +1,120 @@
+package com.jpagenerator.inspector;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Log de alterações de DDL mantido pelo próprio PostgreSQL ({@code --install-ddl-log}): event triggers em
+ * {@code ddl_command_end} e {@code sql_drop} gravam, na tabela {@code jpa_generator.ddl_log}, a tabela afetada por
+ * cada comando. Índices, sequences e constraints são atribuídos à tabela a que pertencem.
+ * <p>
+ * Com o log, descobrir o que mudou custa uma consulta proporcional ao número de alterações desde a última posição
+ * lida, em vez de uma leitura do catálogo inteiro. Criar event triggers exige um superusuário.
+ * <p>
+ * A posição não é o {@code id} da entrada: ele é atribuído no insert, não no commit, e uma migration que recebeu o
+ * id N e confirma depois de lido o N+1 ficaria para trás. Cada entrada guarda a transação que a gravou, e a posição
+ * é a transação mais antiga ainda em andamento na leitura ({@code txid_snapshot_xmin}): a leitura seguinte relê
+ * tudo a partir dela, o que inclui as transações que confirmaram nesse intervalo.
+ */
+public final class DdlChangeLog {
+
+    static final String INSTALL_SQL = """
+            CREATE SCHEMA IF NOT EXISTS jpa_generator;
+
+            CREATE TABLE IF NOT EXISTS jpa_generator.ddl_log (
+                id              bigserial PRIMARY KEY,
+                logged_at       timestamptz NOT NULL DEFAULT now(),
+                command_tag     text        NOT NULL,
+                object_type     text        NOT NULL,
+                schema_name     text        NOT NULL,
+                table_name      text        NOT NULL,
+                object_identity text,
+                xact_id         bigint      NOT NULL DEFAULT txid_current()
+            );
+
+            -- Logs instalados antes da coluna xact_id
+            ALTER TABLE jpa_generator.ddl_log ADD COLUMN IF NOT EXISTS xact_id bigint NOT NULL DEFAULT txid_current();
+
+            CREATE INDEX IF NOT EXISTS ddl_log_schema_id_idx ON jpa_generator.ddl_log (schema_name, id);
+            CREATE INDEX IF NOT EXISTS ddl_log_schema_xact_idx ON jpa_generator.ddl_log (schema_name, xact_id);
+
+            CREATE OR REPLACE FUNCTION jpa_generator.log_ddl_command() RETURNS event_trigger
+            LANGUAGE plpgsql AS $$
+            DECLARE
+                cmd       record;
+                table_oid oid;
+            BEGIN
+                FOR cmd IN SELECT * FROM pg_event_trigger_ddl_commands() WHERE classid = 'pg_class'::regclass LOOP
+                    -- Índice e sequence contam como alteração da tabela dona
+                    SELECT CASE c.relkind
+                               WHEN 'i' THEN (SELECT i.indrelid FROM pg_index i WHERE i.indexrelid = c.oid)
+                               WHEN 'S' THEN (SELECT d.refobjid FROM pg_depend d
+                                              WHERE d.classid = 'pg_class'::regclass AND d.objid = c.oid
+                                                AND d.refclassid = 'pg_class'::regclass AND d.deptype IN ('a', 'i')
+                                              LIMIT 1)
+                               ELSE c.oid
+                           END
+                    INTO table_oid
+                    FROM pg_class c
+                    WHERE c.oid = cmd.objid;
+
+                    INSERT INTO jpa_generator.ddl_log (command_tag, object_type, schema_name, table_name, object_identity)
+                    SELECT cmd.command_tag, cmd.object_type, n.nspname, t.relname, cmd.object_identity
+                    FROM pg_class t
+                    JOIN pg_namespace n ON n.oid = t.relnamespace
+                    WHERE t.oid = table_oid AND t.relkind IN ('r', 'p') AND n.nspname <> 'jpa_generator';
+                END LOOP;
+            END
+            $$;
+
+            CREATE OR REPLACE FUNCTION jpa_generator.log_dropped_objects() RETURNS event_trigger
+            LANGUAGE plpgsql AS $$
+            BEGIN
+                INSERT INTO jpa_generator.ddl_log (command_tag, object_type, schema_name, table_name, object_identity)
+                SELECT tg_tag, dropped.object_type, dropped.schema_name, dropped.table_name, dropped.object_identity
+                FROM (
+                    SELECT o.object_type, o.schema_name, o.object_identity,
+                           CASE WHEN o.object_type = 'table' THEN o.object_name ELSE o.address_names[2] END AS table_name
+                    FROM pg_event_trigger_dropped_objects() o
+                    WHERE o.object_type IN ('table', 'table column', 'table constraint')
+                ) dropped
+                WHERE dropped.table_name IS NOT NULL AND dropped.schema_name <> 'jpa_generator';
+            END
+            $$;
+
+            DROP EVENT TRIGGER IF EXISTS jpa_generator_ddl_command_end;
+            CREATE EVENT TRIGGER jpa_generator_ddl_command_end ON ddl_command_end
+                EXECUTE FUNCTION jpa_generator.log_ddl_command();
+
+            DROP EVENT TRIGGER IF EXISTS jpa_generator_sql_drop;
+            CREATE EVENT TRIGGER jpa_generator_sql_drop ON sql_drop
+                EXECUTE FUNCTION jpa_generator.log_dropped_objects();
+            """;
+
+    static final String UNINSTALL_SQL = """
+            DROP EVENT TRIGGER IF EXISTS jpa_generator_ddl_command_end;
+            DROP EVENT TRIGGER IF EXISTS jpa_generator_sql_drop;
+            DROP SCHEMA IF EXISTS jpa_generator CASCADE;
+            """;
+
+    private DdlChangeLog() {
+    }
+
+    /**
+     * Alterações lidas do log.
+     *
+     * @param position transação mais antiga em andamento nesta leitura; a próxima leitura relê a partir dela
+     * @param tables   tabelas alteradas, com a posição da última alteração de cada uma
+     */
+    public record Changes(long position, Map<String, Long> tables) {
+
+        public Changes {
+            tables = Collections.unmodifiableMap(new LinkedHashMap<>(tables));
+        }
+
+        public boolean isEmpty() {
+            return tables.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.jpagenerator.inspector;
+
+import com.jpagenerator.model.TableInfo;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Metadados já conhecidos, sem banco de dados (testes, benchmarks ou tabelas vindas de outra ferramenta).
+ * Imutável após a construção.
+ */
+public class InMemorySchemaSource implements SchemaSource {
+    private final Map<String, Map<String, TableInfo>> schemas = new LinkedHashMap<>();
+
+    public InMemorySchemaSource(Collection<TableInfo> tables) {
+        for (TableInfo table : tables) {
+            schemas.computeIfAbsent(table.schema(), k -> new LinkedHashMap<>()).put(table.name(), table);
+        }
+    }
+
+    @Override
+    public List<String> getTables(String schema) {
+        return new ArrayList<>(schemas.getOrDefault(schema, Map.of()).keySet());
+    }
+
+    @Override
+    public TableInfo getTableInfo(String schema, String tableName) throws SQLException {
+        TableInfo table = schemas.getOrDefault(schema, Map.of()).get(tableName);
+        if (table == null) {
+            throw new SQLException("Tabela não encontrada: " + schema + "." + tableName);
+        }
+        return table;
+    }
+}
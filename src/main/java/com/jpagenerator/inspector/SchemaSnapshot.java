@@ -0,0 +1,79 @@
+package com.jpagenerator.inspector;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.jpagenerator.model.TableInfo;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Metadados de um schema gravados em JSON ({@code --save-snapshot}): permitem gerar sem banco de dados e
+ * servem de impressão digital do schema para decidir se a geração precisa rodar de novo.
+ *
+ * @param schema schema capturado
+ * @param tables tabelas do schema, na ordem do catálogo
+ */
+public record SchemaSnapshot(String schema, List<TableInfo> tables) {
+
+    // Métodos auxiliares dos records do modelo (isSerial, isComposite...) também viram propriedades no JSON;
+    // na leitura elas são ignoradas
+    private static final ObjectMapper MAPPER = JsonMapper.builder()
+            .enable(SerializationFeature.INDENT_OUTPUT)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    public SchemaSnapshot {
+        tables = tables == null ? List.of() : List.copyOf(tables);
+    }
+
+    /**
+     * Lê todas as tabelas do schema na origem informada.
+     */
+    public static SchemaSnapshot capture(SchemaSource source, String schema) throws SQLException {
+        List<TableInfo> tables = new ArrayList<>();
+        for (String table : source.getTables(schema)) {
+            tables.add(source.getTableInfo(schema, table));
+        }
+        return new SchemaSnapshot(schema, tables);
+    }
+
+    public static SchemaSnapshot load(Path file) throws IOException {
+        return MAPPER.readValue(file.toFile(), SchemaSnapshot.class);
+    }
+
+    public void save(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        MAPPER.writeValue(file.toFile(), this);
+    }
+
+    public SchemaSource toSource() {
+        return new InMemorySchemaSource(tables);
+    }
+
+    /**
+     * SHA-256 do conteúdo serializado: muda sempre que qualquer metadado do schema muda.
+     */
+    public String fingerprint() {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(MAPPER.writeValueAsBytes(this)));
+        } catch (IOException e) {
+            throw new IllegalStateException("Falha ao serializar o snapshot do schema " + schema, e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+}
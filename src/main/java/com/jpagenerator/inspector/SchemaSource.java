@@ -0,0 +1,17 @@
+package com.jpagenerator.inspector;
+
+import com.jpagenerator.model.TableInfo;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Origem dos metadados usados na geração. Uma mesma instância pode ser compartilhada por várias gerações
+ * simultâneas, portanto as implementações precisam ser thread-safe.
+ */
+public interface SchemaSource {
+
+    List<String> getTables(String schema) throws SQLException;
+
+    TableInfo getTableInfo(String schema, String tableName) throws SQLException;
+}
@@ -0,0 +1,44 @@
+package com.jpagenerator.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.Configurator;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.ConsoleAppender;
+import ch.qos.logback.core.spi.ContextAwareBase;
+
+/**
+ * Configuração do logback no modo silencioso ({@code -Djpagenerator.quiet=true}, definido por {@code --quiet}).
+ * Registra apenas WARN e acima no stderr e encerra a autoconfiguração do logback, evitando a busca por
+ * logback.xml no classpath e o carregamento do Joran. Fora do modo silencioso, não interfere.
+ */
+public class QuietLogConfigurator extends ContextAwareBase implements Configurator {
+    public static final String QUIET_PROPERTY = "jpagenerator.quiet";
+
+    @Override
+    public ExecutionStatus configure(LoggerContext context) {
+        if (!Boolean.getBoolean(QUIET_PROPERTY)) {
+            return ExecutionStatus.INVOKE_NEXT_IF_ANY;
+        }
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%level %logger{36} -- %msg%n");
+        encoder.start();
+
+        ConsoleAppender<ILoggingEvent> appender = new ConsoleAppender<>();
+        appender.setContext(context);
+        appender.setName("stderr");
+        appender.setTarget("System.err");
+        appender.setEncoder(encoder);
+        appender.start();
+
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.WARN);
+        root.addAppender(appender);
+
+        return ExecutionStatus.DO_NOT_INVOKE_NEXT_IF_ANY;
+    }
+}
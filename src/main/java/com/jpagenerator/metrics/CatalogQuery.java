@@ -0,0 +1,31 @@
+package com.jpagenerator.metrics;
+
+/**
+ * Tipos de consulta ao catálogo feitas pelo {@code DatabaseInspector}.
+ */
+public enum CatalogQuery {
+    SCHEMAS("schemas"),
+    TABLES("tables"),
+    COLUMNS("columns"),
+    PRIMARY_KEY("primaryKey"),
+    FOREIGN_KEYS("foreignKeys"),
+    UNIQUE_CONSTRAINTS("uniqueConstraints"),
+    SEQUENCES("sequences"),
+    TABLE_EXISTS("tableExists"),
+    FINGERPRINT("fingerprint"),
+    TABLE_FINGERPRINTS("tableFingerprints"),
+    DDL_LOG("ddlLog");
+
+    private final String key;
+
+    CatalogQuery(String key) {
+        this.key = key;
+    }
+
+    /**
+     * Nome da consulta no relatório JSON.
+     */
+    public String key() {
+        return key;
+    }
+}
@@ -0,0 +1,31 @@
+package com.jpagenerator.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR de uma consulta ao catálogo feita pelo {@code DatabaseInspector}; a duração é a da consulta,
+ * incluindo a leitura das linhas.
+ */
+@Name("com.jpagenerator.CatalogQuery")
+@Label("Catalog Query")
+@Category({"JPA Generator", "Introspection"})
+@Description("Consulta ao catálogo do PostgreSQL")
+@StackTrace(false)
+public class CatalogQueryEvent extends Event {
+    @Label("Kind")
+    public String kind;
+
+    @Label("Schema")
+    public String schema;
+
+    @Label("Table")
+    public String table;
+
+    @Label("Rows")
+    public int rowCount;
+}
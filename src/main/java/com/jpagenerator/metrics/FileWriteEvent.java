@@ -0,0 +1,32 @@
+package com.jpagenerator.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR da gravação de um arquivo gerado no destino da execução.
+ */
+@Name("com.jpagenerator.FileWrite")
+@Label("File Write")
+@Category({"JPA Generator", "Output"})
+@Description("Gravação de um arquivo gerado")
+@StackTrace(false)
+public class FileWriteEvent extends Event {
+    @Label("Path")
+    public String path;
+
+    @Label("Schema")
+    public String schema;
+
+    @Label("Table")
+    public String table;
+
+    @DataAmount
+    @Label("Bytes")
+    public long bytes;
+}
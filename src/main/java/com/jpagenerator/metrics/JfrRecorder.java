@@ -0,0 +1,59 @@
+package com.jpagenerator.metrics;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.List;
+
+/**
+ * Gravação JFR da execução ({@code --jfr}): usa a configuração {@code default} do JDK, de baixo custo, e
+ * habilita os eventos do gerador. Sem gravação ativa, os eventos ficam desabilitados e o custo é só o de
+ * criar o objeto do evento.
+ */
+public class JfrRecorder implements AutoCloseable {
+    private static final List<Class<? extends jdk.jfr.Event>> EVENTS =
+            List.of(CatalogQueryEvent.class, TableRenderEvent.class, FileWriteEvent.class);
+
+    private final Recording recording;
+    private final Path destination;
+
+    private JfrRecorder(Recording recording, Path destination) {
+        this.recording = recording;
+        this.destination = destination;
+    }
+
+    public static JfrRecorder start(String destination) throws IOException {
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration("default");
+        } catch (ParseException e) {
+            throw new IOException("Configuração JFR 'default' inválida", e);
+        }
+
+        Recording recording = new Recording(configuration);
+        recording.setName("jpa-generator");
+        for (Class<? extends jdk.jfr.Event> event : EVENTS) {
+            recording.enable(event);
+        }
+        Path path = Path.of(destination).toAbsolutePath();
+        recording.setDestination(path);
+        recording.start();
+        return new JfrRecorder(recording, path);
+    }
+
+    public Path getDestination() {
+        return destination;
+    }
+
+    /**
+     * Encerra a gravação e grava o arquivo no destino.
+     */
+    @Override
+    public void close() {
+        recording.stop();
+        recording.close();
+    }
+}
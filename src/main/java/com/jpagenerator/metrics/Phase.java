@@ -0,0 +1,38 @@
+package com.jpagenerator.metrics;
+
+/**
+ * Fases de uma execução medidas pelo {@link RunMetrics}. As consultas ao catálogo e as camadas do CRUD
+ * também são medidas individualmente ({@link CatalogQuery}, {@code CrudLayer}).
+ */
+public enum Phase {
+    CONNECTION("connection", "Conexão"),
+    SCHEMA_LISTING("schemaListing", "Listagem de schemas/tabelas"),
+    INTROSPECTION("introspection", "Leitura dos metadados"),
+    FK_CONFIGURATION("fkConfiguration", "Configuração das FKs"),
+    ENTITY_RENDERING("entityRendering", "Geração das entidades"),
+    CRUD_RENDERING("crudRendering", "Geração do CRUD"),
+    FILE_WRITING("fileWriting", "Gravação dos arquivos"),
+    COMPILE_VERIFICATION("compileVerification", "Verificação da compilação");
+
+    private final String key;
+    private final String label;
+
+    Phase(String key, String label) {
+        this.key = key;
+        this.label = label;
+    }
+
+    /**
+     * Nome da fase no relatório JSON.
+     */
+    public String key() {
+        return key;
+    }
+
+    /**
+     * Nome da fase no resumo do console.
+     */
+    public String label() {
+        return label;
+    }
+}
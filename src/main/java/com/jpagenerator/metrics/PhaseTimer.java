@@ -0,0 +1,28 @@
+package com.jpagenerator.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Quantidade de ocorrências e tempo acumulado de uma fase; thread-safe.
+ */
+final class PhaseTimer {
+    private final LongAdder count = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+
+    void record(long elapsedNanos) {
+        count.increment();
+        nanos.add(elapsedNanos);
+    }
+
+    long count() {
+        return count.sum();
+    }
+
+    long nanos() {
+        return nanos.sum();
+    }
+
+    RunReport.Timing toTiming() {
+        return new RunReport.Timing(count(), nanos() / 1_000_000.0);
+    }
+}
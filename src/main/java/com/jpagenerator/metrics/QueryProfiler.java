@@ -0,0 +1,131 @@
+package com.jpagenerator.metrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Perfil das consultas ao catálogo ({@code --profile-queries}): guarda a latência e as linhas de cada execução
+ * para calcular p50/p99 por tipo, e mantém as execuções mais lentas (SQL e parâmetros) para que o
+ * {@code DatabaseInspector} possa capturar o {@code EXPLAIN} delas. Thread-safe.
+ */
+public class QueryProfiler {
+    private final Map<CatalogQuery, Samples> samples = new EnumMap<>(CatalogQuery.class);
+    private final int slowestLimit;
+    // Heap mínima: a raiz é a mais rápida entre as mais lentas e sai quando chega uma mais lenta
+    private final PriorityQueue<SlowQuery> slowest = new PriorityQueue<>(Comparator.comparingLong(SlowQuery::nanos));
+    private final Map<SlowQuery, String> plans = new LinkedHashMap<>();
+
+    /**
+     * @param slowestLimit quantas das execuções mais lentas guardar para o {@code EXPLAIN}
+     */
+    public QueryProfiler(int slowestLimit) {
+        this.slowestLimit = slowestLimit;
+        for (CatalogQuery query : CatalogQuery.values()) {
+            samples.put(query, new Samples());
+        }
+    }
+
+    public void record(CatalogQuery kind, String sql, String[] params, long elapsedNanos, int rowCount) {
+        samples.get(kind).add(elapsedNanos, rowCount);
+        if (slowestLimit <= 0) {
+            return;
+        }
+        synchronized (slowest) {
+            if (slowest.size() < slowestLimit) {
+                slowest.add(new SlowQuery(kind, sql, List.of(params), elapsedNanos, rowCount));
+            } else if (slowest.peek().nanos() < elapsedNanos) {
+                slowest.poll();
+                slowest.add(new SlowQuery(kind, sql, List.of(params), elapsedNanos, rowCount));
+            }
+        }
+    }
+
+    /**
+     * Execuções mais lentas, da mais lenta para a mais rápida.
+     */
+    public List<SlowQuery> slowest() {
+        synchronized (slowest) {
+            List<SlowQuery> sorted = new ArrayList<>(slowest);
+            sorted.sort(Comparator.comparingLong(SlowQuery::nanos).reversed());
+            return sorted;
+        }
+    }
+
+    public void attachPlan(SlowQuery query, String plan) {
+        synchronized (plans) {
+            plans.put(query, plan);
+        }
+    }
+
+    Map<String, RunReport.QueryStats> toStats() {
+        Map<String, RunReport.QueryStats> stats = new LinkedHashMap<>();
+        samples.forEach((kind, kindSamples) -> {
+            RunReport.QueryStats kindStats = kindSamples.toStats();
+            if (kindStats.count() > 0) {
+                stats.put(kind.key(), kindStats);
+            }
+        });
+        return stats;
+    }
+
+    List<RunReport.SlowQueryReport> toSlowQueries() {
+        List<RunReport.SlowQueryReport> reports = new ArrayList<>();
+        for (SlowQuery query : slowest()) {
+            String plan;
+            synchronized (plans) {
+                plan = plans.get(query);
+            }
+            reports.add(new RunReport.SlowQueryReport(query.kind().key(), query.params(),
+                    query.nanos() / 1_000_000.0, query.rowCount(), plan));
+        }
+        return reports;
+    }
+
+    /**
+     * Uma execução lenta, com o que é preciso para repeti-la sob {@code EXPLAIN}.
+     */
+    public record SlowQuery(CatalogQuery kind, String sql, List<String> params, long nanos, int rowCount) {
+    }
+
+    private static final class Samples {
+        private long[] nanos = new long[64];
+        private int count;
+        private long rows;
+
+        synchronized void add(long elapsedNanos, int rowCount) {
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = elapsedNanos;
+            rows += rowCount;
+        }
+
+        synchronized RunReport.QueryStats toStats() {
+            if (count == 0) {
+                return new RunReport.QueryStats(0, 0, 0, 0, 0, 0);
+            }
+            long[] sorted = Arrays.copyOf(nanos, count);
+            Arrays.sort(sorted);
+            long total = 0;
+            for (long sample : sorted) {
+                total += sample;
+            }
+            return new RunReport.QueryStats(count, rows, total / 1_000_000.0,
+                    percentile(sorted, 50), percentile(sorted, 99), sorted[count - 1] / 1_000_000.0);
+        }
+
+        /**
+         * Percentil pelo método do posto mais próximo, em milissegundos.
+         */
+        private static double percentile(long[] sorted, int percentile) {
+            int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+            return sorted[Math.max(rank, 1) - 1] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.jpagenerator.metrics;
+
+import com.jpagenerator.generator.CrudLayer;
+import com.jpagenerator.output.GeneratedFile;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Instrumentação de uma execução: tempo por fase, por camada do CRUD e por tipo de consulta ao catálogo,
+ * além de tabelas, arquivos e bytes gravados. Thread-safe; os registros usam {@link LongAdder} e não bloqueiam.
+ *
+ * <p>Uso típico: {@code long start = System.nanoTime(); ...; metrics.record(Phase.X, start);}
+ */
+public class RunMetrics {
+    private final Instant startedAt = Instant.now();
+    private final long startNanos = System.nanoTime();
+    private volatile long finishNanos;
+
+    private final Map<Phase, PhaseTimer> phases = new EnumMap<>(Phase.class);
+    private final Map<CrudLayer, PhaseTimer> crudLayers = new EnumMap<>(CrudLayer.class);
+    private final Map<CatalogQuery, PhaseTimer> catalogQueries = new EnumMap<>(CatalogQuery.class);
+    private final LongAdder tables = new LongAdder();
+    private final LongAdder filesWritten = new LongAdder();
+    private final LongAdder bytesWritten = new LongAdder();
+    private volatile QueryProfiler queryProfiler; // nulo: consultas só entram no tempo por tipo
+
+    public RunMetrics() {
+        // Todos os timers são criados aqui: os mapas não mudam depois e podem ser lidos sem sincronização
+        for (Phase phase : Phase.values()) {
+            phases.put(phase, new PhaseTimer());
+        }
+        for (CrudLayer layer : CrudLayer.values()) {
+            crudLayers.put(layer, new PhaseTimer());
+        }
+        for (CatalogQuery query : CatalogQuery.values()) {
+            catalogQueries.put(query, new PhaseTimer());
+        }
+    }
+
+    public void record(Phase phase, long startNanos) {
+        phases.get(phase).record(System.nanoTime() - startNanos);
+    }
+
+    public void recordCrudLayer(CrudLayer layer, long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        crudLayers.get(layer).record(elapsed);
+        phases.get(Phase.CRUD_RENDERING).record(elapsed);
+    }
+
+    /**
+     * Registra uma consulta ao catálogo e, com o perfil de consultas ativo, também a sua latência, linhas e SQL.
+     */
+    public void recordQuery(CatalogQuery query, String sql, String[] params, int rowCount, long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        catalogQueries.get(query).record(elapsed);
+        QueryProfiler profiler = queryProfiler;
+        if (profiler != null) {
+            profiler.record(query, sql, params, elapsed, rowCount);
+        }
+    }
+
+    public void setQueryProfiler(QueryProfiler queryProfiler) {
+        this.queryProfiler = queryProfiler;
+    }
+
+    public QueryProfiler getQueryProfiler() {
+        return queryProfiler;
+    }
+
+    public void recordFileWritten(GeneratedFile file, long startNanos) {
+        phases.get(Phase.FILE_WRITING).record(System.nanoTime() - startNanos);
+        filesWritten.increment();
+        bytesWritten.add(utf8Length(file.content()));
+    }
+
+    public void addTables(int count) {
+        tables.add(count);
+    }
+
+    /**
+     * Encerra a contagem do tempo total; chamadas seguintes não alteram o fim.
+     */
+    public void finish() {
+        if (finishNanos == 0) {
+            finishNanos = System.nanoTime();
+        }
+    }
+
+    public RunReport toReport() {
+        double wallMillis = ((finishNanos != 0 ? finishNanos : System.nanoTime()) - startNanos) / 1_000_000.0;
+        double seconds = wallMillis / 1000.0;
+
+        Map<String, RunReport.Timing> phaseReport = new LinkedHashMap<>();
+        phases.forEach((phase, timer) -> phaseReport.put(phase.key(), timer.toTiming()));
+        Map<String, RunReport.Timing> layerReport = new LinkedHashMap<>();
+        crudLayers.forEach((layer, timer) -> {
+            if (timer.count() > 0) {
+                layerReport.put(layer.name().toLowerCase(Locale.ROOT), timer.toTiming());
+            }
+        });
+        Map<String, RunReport.Timing> queryReport = new LinkedHashMap<>();
+        catalogQueries.forEach((query, timer) -> {
+            if (timer.count() > 0) {
+                queryReport.put(query.key(), timer.toTiming());
+            }
+        });
+
+        return new RunReport(
+                startedAt.toString(),
+                wallMillis,
+                tables.sum(),
+                filesWritten.sum(),
+                bytesWritten.sum(),
+                seconds > 0 ? tables.sum() / seconds : 0,
+                seconds > 0 ? filesWritten.sum() / seconds : 0,
+                seconds > 0 ? bytesWritten.sum() / seconds : 0,
+                phaseReport,
+                layerReport,
+                queryReport,
+                queryProfiler != null ? queryProfiler.toStats() : null,
+                queryProfiler != null ? queryProfiler.toSlowQueries() : null);
+    }
+
+    /**
+     * Resumo curto para o console.
+     */
+    public String summary() {
+        RunReport report = toReport();
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format(Locale.ROOT, "Tempo total: %.0f ms (%d tabela(s), %d arquivo(s), %s)%n",
+                report.wallTimeMillis(), report.tables(), report.filesWritten(), formatBytes(report.bytesWritten())));
+
+        for (Phase phase : Phase.values()) {
+            PhaseTimer timer = phases.get(phase);
+            if (timer.count() > 0) {
+                summary.append(String.format(Locale.ROOT, "  %-30s %8.1f ms", phase.label(), timer.nanos() / 1_000_000.0));
+                if (phase == Phase.INTROSPECTION) {
+                    long queries = catalogQueries.values().stream().mapToLong(PhaseTimer::count).sum();
+                    summary.append(" (").append(queries).append(" consultas)");
+                }
+                summary.append(System.lineSeparator());
+            }
+        }
+
+        if (report.queryProfile() != null && !report.queryProfile().isEmpty()) {
+            summary.append(String.format(Locale.ROOT, "  %-20s %8s %8s %10s %10s %10s%n",
+                    "Consulta", "Execuções", "Linhas", "p50 (ms)", "p99 (ms)", "Total (ms)"));
+            report.queryProfile().forEach((kind, stats) -> summary.append(String.format(Locale.ROOT,
+                    "  %-20s %8d %8d %10.2f %10.2f %10.1f%n",
+                    kind, stats.count(), stats.rows(), stats.p50Millis(), stats.p99Millis(), stats.totalMillis())));
+        }
+
+        summary.append(String.format(Locale.ROOT, "Vazão: %.1f tabelas/s, %.1f arquivos/s",
+                report.tablesPerSecond(), report.filesPerSecond()));
+        return summary.toString();
+    }
+
+    private static String formatBytes(long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+        if (bytes < 1024 * 1024) {
+            return String.format(Locale.ROOT, "%.1f KB", bytes / 1024.0);
+        }
+        return String.format(Locale.ROOT, "%.1f MB", bytes / (1024.0 * 1024.0));
+    }
+
+    /**
+     * Tamanho em UTF-8 sem codificar a string (evita copiar o conteúdo de cada arquivo só para contá-lo).
+     */
+    public static long utf8Length(String text) {
+        long length = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < text.length() && Character.isLowSurrogate(text.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+}
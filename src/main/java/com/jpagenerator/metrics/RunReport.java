@@ -0,0 +1,56 @@
+package com.jpagenerator.metrics;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Relatório de uma execução, no formato gravado em JSON por {@code --report}.
+ *
+ * @param startedAt      início da execução (ISO-8601)
+ * @param phases         tempo por fase, indexado por {@link Phase#key()}
+ * @param crudLayers     tempo de geração por camada do CRUD
+ * @param catalogQueries tempo por tipo de consulta ao catálogo, indexado por {@link CatalogQuery#key()}
+ * @param queryProfile   latência e linhas por tipo de consulta; presente apenas com {@code --profile-queries}
+ * @param slowQueries    execuções mais lentas, com o plano quando capturado; presente apenas com {@code --profile-queries}
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record RunReport(String startedAt,
+                        double wallTimeMillis,
+                        long tables,
+                        long filesWritten,
+                        long bytesWritten,
+                        double tablesPerSecond,
+                        double filesPerSecond,
+                        double bytesPerSecond,
+                        Map<String, Timing> phases,
+                        Map<String, Timing> crudLayers,
+                        Map<String, Timing> catalogQueries,
+                        Map<String, QueryStats> queryProfile,
+                        List<SlowQueryReport> slowQueries) {
+
+    /**
+     * @param count       quantas vezes a fase ocorreu
+     * @param totalMillis tempo somado de todas as ocorrências
+     */
+    public record Timing(long count, double totalMillis) {
+    }
+
+    /**
+     * @param count       execuções da consulta
+     * @param rows        linhas lidas, somadas
+     * @param totalMillis tempo somado de todas as execuções
+     */
+    public record QueryStats(long count, long rows, double totalMillis, double p50Millis, double p99Millis,
+                             double maxMillis) {
+    }
+
+    /**
+     * @param params parâmetros da execução (schema e, quando houver, tabela)
+     * @param plan   saída do {@code EXPLAIN (ANALYZE, BUFFERS)}; nulo quando não capturado
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record SlowQueryReport(String kind, List<String> params, double millis, int rows, String plan) {
+    }
+}
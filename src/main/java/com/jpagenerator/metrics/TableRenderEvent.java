@@ -0,0 +1,42 @@
+package com.jpagenerator.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR da geração em memória de um artefato de uma tabela: a entidade ou uma camada do CRUD.
+ */
+@Name("com.jpagenerator.TableRender")
+@Label("Table Render")
+@Category({"JPA Generator", "Rendering"})
+@Description("Geração do código de uma tabela (entidade ou camada do CRUD)")
+@StackTrace(false)
+public class TableRenderEvent extends Event {
+    @Label("Schema")
+    public String schema;
+
+    @Label("Table")
+    public String table;
+
+    @Label("Class Name")
+    public String className;
+
+    @Label("Artifact")
+    @Description("entity ou o nome da camada do CRUD")
+    public String artifact;
+
+    @Label("Columns")
+    public int columnCount;
+
+    @Label("Files")
+    public int fileCount;
+
+    @DataAmount
+    @Label("Bytes")
+    public long bytes;
+}
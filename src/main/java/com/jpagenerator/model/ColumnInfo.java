@@ -1,30 +1,70 @@
 package com.jpagenerator.model;
 
-import lombok.Getter;
-import lombok.Setter;
-
-@Setter
-@Getter
-public class ColumnInfo {
-    // Getters and Setters
-    private String name;
-    private String dataType;
-    private Integer maxLength;
-    private Integer precision;
-    private Integer scale;
-    private boolean nullable;
-    private String defaultValue;
-    private int ordinalPosition;
-
-    // Constructors
-    public ColumnInfo() {
+import lombok.Builder;
+import lombok.With;
+
+/**
+ * Coluna de uma tabela. Imutável e segura para compartilhamento entre threads.
+ *
+ * @param maxLength          tamanho máximo declarado, ou 0 quando não declarado
+ * @param precision          precisão numérica, ou 0 quando não declarada
+ * @param scale              escala numérica, ou 0 quando não declarada
+ * @param identityGeneration {@code ALWAYS} ou {@code BY DEFAULT} numa coluna identity, senão nulo
+ * @param primaryKey         se a coluna faz parte da chave primária (calculado por {@link TableInfo})
+ */
+@With
+@Builder(toBuilder = true)
+public record ColumnInfo(String name,
+                         DataType dataType,
+                         int maxLength,
+                         int precision,
+                         int scale,
+                         boolean nullable,
+                         String defaultValue,
+                         String identityGeneration,
+                         int ordinalPosition,
+                         boolean primaryKey) {
+
+    public ColumnInfo {
+        name = Names.canonical(name);
+        defaultValue = Names.canonical(defaultValue);
+    }
+
+    public boolean hasMaxLength() {
+        return maxLength > 0;
     }
 
     public boolean isSerial() {
         return defaultValue != null && defaultValue.contains("nextval");
     }
 
-    public boolean isPrimaryKey(PrimaryKeyInfo pk) {
-        return pk != null && pk.getColumnNames().contains(name);
+    public boolean isIdentity() {
+        return identityGeneration != null;
+    }
+
+    /**
+     * Identity {@code GENERATED ALWAYS}: o banco rejeita valores informados no insert.
+     */
+    public boolean isAlwaysIdentity() {
+        return "ALWAYS".equals(identityGeneration);
+    }
+
+    /**
+     * Valor gerado por uma sequence do banco, seja por default {@code nextval} ou por identity.
+     */
+    public boolean isGenerated() {
+        return isSerial() || isIdentity();
+    }
+
+    public static class ColumnInfoBuilder {
+        public ColumnInfoBuilder dataType(DataType dataType) {
+            this.dataType = dataType;
+            return this;
+        }
+
+        public ColumnInfoBuilder dataType(String dataType) {
+            this.dataType = DataType.of(dataType);
+            return this;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,73 @@
+package com.jpagenerator.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Tipo de dado SQL internado. Todas as colunas de um mesmo tipo compartilham a mesma instância,
+ * e o tipo Java correspondente é resolvido uma única vez por tipo, não por coluna.
+ */
+public final class DataType {
+    private static final ConcurrentMap<String, DataType> CACHE = new ConcurrentHashMap<>();
+
+    private final String name;
+    private final String javaType;
+
+    private DataType(String name) {
+        this.name = name.intern();
+        this.javaType = resolveJavaType(name.toLowerCase(Locale.ROOT));
+    }
+
+    @JsonCreator
+    public static DataType of(String name) {
+        Objects.requireNonNull(name, "name");
+        DataType cached = CACHE.get(name);
+        return cached != null ? cached : CACHE.computeIfAbsent(name, DataType::new);
+    }
+
+    /**
+     * Nome do tipo como informado pelo catálogo (ex.: "character varying"); é também a forma do tipo em JSON.
+     */
+    @JsonValue
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Tipo Java usado nos campos gerados para colunas deste tipo.
+     */
+    public String javaType() {
+        return javaType;
+    }
+
+    public boolean is(String typeName) {
+        return name.equals(typeName);
+    }
+
+    private static String resolveJavaType(String dataType) {
+        return switch (dataType) {
+            case "smallint", "smallserial", "integer", "serial" -> "Integer";
+            case "bigint", "bigserial" -> "Long";
+            case "character varying", "varchar", "text", "char", "character" -> "String";
+            case "boolean" -> "Boolean";
+            case "timestamp", "timestamptz", "timestamp with time zone", "timestamp without time zone" -> "Instant";
+            case "date" -> "java.time.LocalDate";
+            case "time" -> "java.time.LocalTime";
+            case "numeric", "decimal" -> "java.math.BigDecimal";
+            case "real" -> "Float";
+            case "double precision" -> "Double";
+            case "uuid" -> "java.util.UUID";
+            default -> "String";
+        };
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
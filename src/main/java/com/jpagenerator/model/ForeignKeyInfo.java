@@ -1,18 +1,16 @@
 package com.jpagenerator.model;
 
-import lombok.Getter;
-import lombok.Setter;
+public record ForeignKeyInfo(String columnName,
+                             String referencedSchema,
+                             String referencedTable,
+                             String referencedColumn,
+                             String constraintName) {
 
-@Setter
-@Getter
-public class ForeignKeyInfo {
-    private String columnName;
-    private String referencedSchema;
-    private String referencedTable;
-    private String referencedColumn;
-    private String constraintName;
-
-    public ForeignKeyInfo() {
+    public ForeignKeyInfo {
+        columnName = Names.canonical(columnName);
+        referencedSchema = Names.canonical(referencedSchema);
+        referencedTable = Names.canonical(referencedTable);
+        referencedColumn = Names.canonical(referencedColumn);
+        constraintName = Names.canonical(constraintName);
     }
-
-}
\ No newline at end of file
+}
@@ -0,0 +1,15 @@
+package com.jpagenerator.model;
+
+/**
+ * Canonicaliza nomes vindos do catálogo (schemas, tabelas, colunas, constraints).
+ * Catálogos grandes repetem os mesmos nomes milhares de vezes; internar garante uma única instância por valor.
+ */
+final class Names {
+
+    private Names() {
+    }
+
+    static String canonical(String name) {
+        return name == null ? null : name.intern();
+    }
+}
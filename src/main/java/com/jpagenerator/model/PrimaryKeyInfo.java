@@ -1,22 +1,22 @@
 package com.jpagenerator.model;
 
-import lombok.Getter;
-import lombok.Setter;
-
-import java.util.ArrayList;
 import java.util.List;
 
-@Setter
-@Getter
-public class PrimaryKeyInfo {
-    private List<String> columnNames;
+public record PrimaryKeyInfo(List<String> columnNames) {
+
+    public PrimaryKeyInfo {
+        columnNames = columnNames == null ? List.of() : columnNames.stream().map(Names::canonical).toList();
+    }
 
     public PrimaryKeyInfo() {
-        // Inicializa a lista para evitar NullPointerException
-        this.columnNames = new ArrayList<>();
+        this(List.of());
     }
 
     public boolean isComposite() {
-        return columnNames != null && columnNames.size() > 1;
+        return columnNames.size() > 1;
+    }
+
+    public boolean contains(String columnName) {
+        return columnNames.contains(columnName);
     }
-}
\ No newline at end of file
+}
@@ -1,16 +1,22 @@
 package com.jpagenerator.model;
 
-import lombok.Getter;
-import lombok.Setter;
+/**
+ * Sequence que alimenta uma coluna.
+ *
+ * @param incrementBy {@code INCREMENT BY} da sequence: o {@code allocationSize} do gerador precisa ser igual a ele
+ */
+public record SequenceInfo(String columnName, String sequenceName, String sequenceSchema, long incrementBy) {
 
-@Setter
-@Getter
-public class SequenceInfo {
-    private String columnName;
-    private String sequenceName;
-    private String sequenceSchema;
-
-    public SequenceInfo() {
+    public SequenceInfo {
+        columnName = Names.canonical(columnName);
+        sequenceName = Names.canonical(sequenceName);
+        sequenceSchema = Names.canonical(sequenceSchema);
+        if (incrementBy == 0) {
+            incrementBy = 1;
+        }
     }
 
-}
\ No newline at end of file
+    public SequenceInfo(String columnName, String sequenceName, String sequenceSchema) {
+        this(columnName, sequenceName, sequenceSchema, 1);
+    }
+}
@@ -1,23 +1,40 @@
 package com.jpagenerator.model;
 
-import lombok.AllArgsConstructor;
-import lombok.Getter;
-import lombok.NoArgsConstructor;
-import lombok.Setter;
+import lombok.Builder;
 
+import java.util.ArrayList;
 import java.util.List;
 
-@Setter
-@Getter
-@AllArgsConstructor
-@NoArgsConstructor
-public class TableInfo {
-    // Getters and Setters
-    private String schema;
-    private String name;
-    private List<ColumnInfo> columns;
-    private PrimaryKeyInfo primaryKey;
-    private List<ForeignKeyInfo> foreignKeys;
-    private List<SequenceInfo> sequences;
-    private List<UniqueConstraintInfo> uniqueConstraints;
-}
\ No newline at end of file
+/**
+ * Metadados de uma tabela. Imutável: as listas são copiadas na construção e o indicador
+ * de chave primária de cada coluna é calculado aqui, uma única vez.
+ *
+ * @param primaryKey chave primária, ou {@code null} quando a tabela não possui
+ */
+@Builder(toBuilder = true)
+public record TableInfo(String schema,
+                        String name,
+                        List<ColumnInfo> columns,
+                        PrimaryKeyInfo primaryKey,
+                        List<ForeignKeyInfo> foreignKeys,
+                        List<SequenceInfo> sequences,
+                        List<UniqueConstraintInfo> uniqueConstraints) {
+
+    public TableInfo {
+        schema = Names.canonical(schema);
+        name = Names.canonical(name);
+        columns = markPrimaryKey(columns == null ? List.of() : columns, primaryKey);
+        foreignKeys = foreignKeys == null ? List.of() : List.copyOf(foreignKeys);
+        sequences = sequences == null ? List.of() : List.copyOf(sequences);
+        uniqueConstraints = uniqueConstraints == null ? List.of() : List.copyOf(uniqueConstraints);
+    }
+
+    private static List<ColumnInfo> markPrimaryKey(List<ColumnInfo> columns, PrimaryKeyInfo primaryKey) {
+        List<ColumnInfo> marked = new ArrayList<>(columns.size());
+        for (ColumnInfo column : columns) {
+            boolean isPk = primaryKey != null && primaryKey.contains(column.name());
+            marked.add(column.primaryKey() == isPk ? column : column.withPrimaryKey(isPk));
+        }
+        return List.copyOf(marked);
+    }
+}
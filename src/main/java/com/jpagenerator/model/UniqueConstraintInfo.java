@@ -1,13 +1,11 @@
 package com.jpagenerator.model;
 
-import lombok.Getter;
-import lombok.Setter;
-
 import java.util.List;
 
-@Setter
-@Getter
-public class UniqueConstraintInfo {
-    private String constraintName;
-    private List<String> columnNames;
-}
\ No newline at end of file
+public record UniqueConstraintInfo(String constraintName, List<String> columnNames) {
+
+    public UniqueConstraintInfo {
+        constraintName = Names.canonical(constraintName);
+        columnNames = columnNames == null ? List.of() : columnNames.stream().map(Names::canonical).toList();
+    }
+}
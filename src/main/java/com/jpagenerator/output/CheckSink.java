@@ -0,0 +1,112 @@
+package com.jpagenerator.output;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Compara os arquivos gerados com os que já estão no diretório de saída, sem gravar nada ({@code --check}).
+ * Compara primeiro o tamanho, que não exige ler o arquivo, e só então o conteúdo, byte a byte.
+ */
+public class CheckSink implements FileSink {
+    private final Path root;
+    private final boolean failFast;
+    private final Set<Path> checked = ConcurrentHashMap.newKeySet();
+    private final List<String> stale = Collections.synchronizedList(new ArrayList<>());
+    private final List<String> missing = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * @param failFast lança {@link StaleFileException} na primeira diferença em vez de seguir comparando
+     */
+    public CheckSink(String outputDirectory, boolean failFast) {
+        this.root = Paths.get(outputDirectory).toAbsolutePath().normalize();
+        this.failFast = failFast;
+    }
+
+    @Override
+    public String write(GeneratedFile file) throws IOException {
+        Path target = root.resolve(file.relativePath()).normalize();
+        checked.add(target);
+        String location = target.toString();
+
+        if (!Files.isRegularFile(target)) {
+            missing.add(location);
+            if (failFast) {
+                throw new StaleFileException(location, "Arquivo ausente");
+            }
+        } else if (!matches(target, file.content().getBytes(StandardCharsets.UTF_8))) {
+            stale.add(location);
+            if (failFast) {
+                throw new StaleFileException(location, "Arquivo desatualizado");
+            }
+        }
+        return location;
+    }
+
+    private static boolean matches(Path target, byte[] expected) throws IOException {
+        if (Files.size(target) != expected.length) {
+            return false;
+        }
+        return Arrays.equals(Files.readAllBytes(target), expected);
+    }
+
+    /**
+     * Arquivos {@code .java} nos pacotes verificados que esta geração não produziu (ex.: a tabela foi removida).
+     * Só conta os que começam com {@link GeneratedFile#MARKER}: classes escritas à mão nos mesmos pacotes ficam de
+     * fora. Só faz sentido quando a geração cobriu o schema inteiro.
+     */
+    public List<String> findOrphans() throws IOException {
+        Set<Path> packageDirs = new TreeSet<>();
+        for (Path path : checked) {
+            packageDirs.add(path.getParent());
+        }
+
+        Set<String> orphans = new TreeSet<>();
+        for (Path dir : packageDirs) {
+            if (!Files.isDirectory(dir)) {
+                continue;
+            }
+            try (Stream<Path> files = Files.list(dir)) {
+                files.filter(path -> path.toString().endsWith(".java"))
+                        .filter(Files::isRegularFile)
+                        .filter(path -> !checked.contains(path))
+                        .filter(CheckSink::isGenerated)
+                        .forEach(path -> orphans.add(path.toString()));
+            }
+        }
+        return new ArrayList<>(orphans);
+    }
+
+    private static boolean isGenerated(Path path) {
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String firstLine = reader.readLine();
+            return firstLine != null && firstLine.startsWith(GeneratedFile.MARKER);
+        } catch (IOException e) {
+            // Ilegível ou fora de UTF-8: não foi o gerador que escreveu
+            return false;
+        }
+    }
+
+    public List<String> getStale() {
+        synchronized (stale) {
+            return List.copyOf(stale);
+        }
+    }
+
+    public List<String> getMissing() {
+        synchronized (missing) {
+            return List.copyOf(missing);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.jpagenerator.output;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Grava os arquivos sob um diretório de saída (ex.: {@code src/main/java}), criando os pacotes conforme necessário.
+ */
+public class DirectorySink implements FileSink {
+    private static final Logger logger = LoggerFactory.getLogger(DirectorySink.class);
+
+    private final Path root;
+
+    public DirectorySink(String outputDirectory) {
+        this.root = Paths.get(outputDirectory);
+    }
+
+    @Override
+    public String write(GeneratedFile file) throws IOException {
+        Path target = root.resolve(file.relativePath());
+        Path packageDir = target.getParent();
+
+        if (!Files.isDirectory(packageDir)) {
+            try {
+                Files.createDirectories(packageDir);
+                logger.info("Diretório criado: {}", packageDir.toAbsolutePath());
+            } catch (IOException e) {
+                logger.error("Não foi possível criar o diretório: {}", packageDir.toAbsolutePath());
+                throw new IOException("Erro ao criar diretório: " + packageDir.toAbsolutePath(), e);
+            }
+        }
+
+        Files.writeString(target, file.content());
+        return target.toAbsolutePath().toString();
+    }
+}
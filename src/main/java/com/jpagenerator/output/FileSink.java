@@ -0,0 +1,21 @@
+package com.jpagenerator.output;
+
+import java.io.IOException;
+
+/**
+ * Destino dos arquivos gerados. Implementações usadas pelo {@code GenerationEngine} em várias threads ao mesmo
+ * tempo precisam ser thread-safe.
+ */
+@FunctionalInterface
+public interface FileSink {
+
+    /**
+     * Descarta os arquivos; útil para medir a geração sem o custo de I/O.
+     */
+    FileSink DISCARD = GeneratedFile::relativePath;
+
+    /**
+     * Grava o arquivo e devolve onde ele ficou (para o resumo da execução).
+     */
+    String write(GeneratedFile file) throws IOException;
+}
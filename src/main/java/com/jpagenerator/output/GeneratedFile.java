@@ -0,0 +1,26 @@
+package com.jpagenerator.output;
+
+/**
+ * Arquivo gerado ainda em memória.
+ *
+ * @param relativePath caminho relativo ao diretório de saída, separado por {@code /}
+ *                     (ex.: {@code com/example/entity/Empresa.java})
+ * @param content      código-fonte completo
+ */
+public record GeneratedFile(String relativePath, String content) {
+
+    /**
+     * Primeira linha de todo arquivo gerado. O {@code --check} só aponta como órfão o arquivo que a tem, para não
+     * confundir com classes escritas à mão nos mesmos pacotes.
+     */
+    public static final String MARKER = "// Gerado pelo jpa-generator";
+
+    public static final String HEADER = MARKER + ". Alterações manuais serão sobrescritas na próxima geração.\n";
+
+    /**
+     * Caminho de um arquivo {@code .java} dentro do pacote informado.
+     */
+    public static String pathFor(String packageName, String className) {
+        return packageName.replace('.', '/') + "/" + className + ".java";
+    }
+}
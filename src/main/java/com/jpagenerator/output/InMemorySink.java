@@ -0,0 +1,24 @@
+package com.jpagenerator.output;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Mantém os arquivos em memória, na ordem em que foram gerados.
+ */
+public class InMemorySink implements FileSink {
+    private final List<GeneratedFile> files = Collections.synchronizedList(new ArrayList<>());
+
+    @Override
+    public String write(GeneratedFile file) {
+        files.add(file);
+        return file.relativePath();
+    }
+
+    public List<GeneratedFile> getFiles() {
+        synchronized (files) {
+            return List.copyOf(files);
+        }
+    }
+}
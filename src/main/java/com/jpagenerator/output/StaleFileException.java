@@ -0,0 +1,19 @@
+package com.jpagenerator.output;
+
+import java.io.IOException;
+
+/**
+ * Lançada pelo {@link CheckSink} no modo {@code --fail-fast}, na primeira diferença encontrada.
+ */
+public class StaleFileException extends IOException {
+    private final String path;
+
+    public StaleFileException(String path, String reason) {
+        super(reason + ": " + path);
+        this.path = path;
+    }
+
+    public String getPath() {
+        return path;
+    }
+}
@@ -24,28 +24,14 @@ public class CodeGeneratorHelper {
     }
 
     public String mapSqlTypeToJava(ColumnInfo column) {
-        String dataType = column.getDataType().toLowerCase();
-        return switch (dataType) {
-            case "smallint", "smallserial", "integer", "serial" -> "Integer";
-            case "bigint", "bigserial" -> "Long";
-            case "character varying", "varchar", "text", "char", "character" -> "String";
-            case "boolean" -> "Boolean";
-            case "timestamp", "timestamptz", "timestamp with time zone", "timestamp without time zone" -> "Instant";
-            case "date" -> "java.time.LocalDate";
-            case "time" -> "java.time.LocalTime";
-            case "numeric", "decimal" -> "java.math.BigDecimal";
-            case "real" -> "Float";
-            case "double precision" -> "Double";
-            case "uuid" -> "java.util.UUID";
-            default -> "String";
-        };
+        return column.dataType().javaType();
     }
 
     public String getPrimaryKeyType(TableInfo tableInfo) {
-        if (tableInfo.getPrimaryKey() != null && !tableInfo.getPrimaryKey().getColumnNames().isEmpty()) {
-            String pkColumnName = tableInfo.getPrimaryKey().getColumnNames().getFirst();
-            return tableInfo.getColumns().stream()
-                    .filter(c -> c.getName().equals(pkColumnName))
+        if (tableInfo.primaryKey() != null && !tableInfo.primaryKey().columnNames().isEmpty()) {
+            String pkColumnName = tableInfo.primaryKey().columnNames().getFirst();
+            return tableInfo.columns().stream()
+                    .filter(c -> c.name().equals(pkColumnName))
                     .findFirst()
                     .map(this::mapSqlTypeToJava)
                     .orElse("Long");
@@ -54,16 +40,16 @@ public class CodeGeneratorHelper {
     }
 
     public List<ColumnInfo> getUpdatableColumns(TableInfo tableInfo) {
-        return tableInfo.getColumns().stream()
-                .filter(c -> !c.isPrimaryKey(tableInfo.getPrimaryKey()) && !isAuditField(c.getName()))
+        return tableInfo.columns().stream()
+                .filter(c -> !c.primaryKey() && !isAuditField(c.name()))
                 .collect(Collectors.toList());
     }
 
     public boolean hasField(TableInfo tableInfo, String fieldName) {
-        return tableInfo.getColumns().stream().anyMatch(c -> c.getName().equalsIgnoreCase(fieldName));
+        return tableInfo.columns().stream().anyMatch(c -> c.name().equalsIgnoreCase(fieldName));
     }
 
-    boolean isAuditField(String columnName) {
+    public boolean isAuditField(String columnName) {
         return "created_at".equalsIgnoreCase(columnName) || "updated_at".equalsIgnoreCase(columnName);
     }
 
@@ -71,13 +57,14 @@ public class CodeGeneratorHelper {
         return true; // Todos os campos são incluídos por padrão
     }
 
+    // Decididos pelo tipo Java mapeado, o mesmo usado na declaração do campo: import e uso não divergem
     public boolean needsInstant(TableInfo tableInfo) {
-        return tableInfo.getColumns().stream()
-                .anyMatch(col -> "timestamp".equals(col.getDataType()) || "timestamptz".equals(col.getDataType()));
+        return tableInfo.columns().stream()
+                .anyMatch(col -> "Instant".equals(mapSqlTypeToJava(col)));
     }
 
     public boolean needsBigDecimal(TableInfo tableInfo) {
-        return tableInfo.getColumns().stream()
-                .anyMatch(col -> "numeric".equals(col.getDataType()) || "decimal".equals(col.getDataType()));
+        return tableInfo.columns().stream()
+                .anyMatch(col -> "java.math.BigDecimal".equals(mapSqlTypeToJava(col)));
     }
 }
\ No newline at end of file
@@ -0,0 +1,215 @@
+package com.jpagenerator.verify;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Versões mínimas das APIs de JPA, Bean Validation, Hibernate, Spring e OpenAPI usadas pelo código gerado:
+ * só as assinaturas, o suficiente para o compilador verificar tipos, imports e chamadas. O Lombok não tem
+ * stub; o {@link CompileVerifier} usa o processador real, que gera os getters e setters.
+ *
+ * <p>Ao gerar código que usa uma API nova, acrescente aqui a assinatura correspondente.
+ */
+final class ApiStubs {
+
+    private ApiStubs() {
+    }
+
+    /**
+     * Fontes dos stubs, indexadas pelo nome qualificado do tipo.
+     */
+    static Map<String, String> sources() {
+        Map<String, String> stubs = new LinkedHashMap<>();
+        // O modo não Jakarta gera javax.*: os mesmos stubs valem para os dois pacotes
+        for (String root : new String[]{"jakarta", "javax"}) {
+            persistence(stubs, root + ".persistence");
+            validation(stubs, root + ".validation");
+        }
+        hibernate(stubs);
+        springData(stubs);
+        springWeb(stubs);
+        openApi(stubs);
+        return stubs;
+    }
+
+    private static void persistence(Map<String, String> stubs, String pkg) {
+        annotation(stubs, pkg + ".Entity", "String name() default \"\";");
+        annotation(stubs, pkg + ".Table", "String name() default \"\"; String schema() default \"\"; "
+                + "UniqueConstraint[] uniqueConstraints() default {};");
+        annotation(stubs, pkg + ".UniqueConstraint", "String name() default \"\"; String[] columnNames();");
+        annotation(stubs, pkg + ".Id", "");
+        annotation(stubs, pkg + ".GeneratedValue", "GenerationType strategy() default GenerationType.AUTO; "
+                + "String generator() default \"\";");
+        type(stubs, pkg + ".GenerationType", "public enum GenerationType { TABLE, SEQUENCE, IDENTITY, UUID, AUTO }");
+        annotation(stubs, pkg + ".SequenceGenerator", "String name(); String sequenceName() default \"\"; "
+                + "String schema() default \"\"; int initialValue() default 1; int allocationSize() default 50;");
+        annotation(stubs, pkg + ".Column", "String name() default \"\"; boolean unique() default false; "
+                + "boolean nullable() default true; boolean insertable() default true; boolean updatable() default true; "
+                + "String columnDefinition() default \"\"; int length() default 255; int precision() default 0; "
+                + "int scale() default 0;");
+        annotation(stubs, pkg + ".JoinColumn", "String name() default \"\"; String referencedColumnName() default \"\"; "
+                + "boolean nullable() default true; boolean insertable() default true; boolean updatable() default true;");
+        annotation(stubs, pkg + ".ManyToOne", "FetchType fetch() default FetchType.EAGER; boolean optional() default true;");
+        annotation(stubs, pkg + ".OneToOne", "FetchType fetch() default FetchType.EAGER; boolean optional() default true; "
+                + "String mappedBy() default \"\";");
+        annotation(stubs, pkg + ".OneToMany", "FetchType fetch() default FetchType.LAZY; String mappedBy() default \"\";");
+        type(stubs, pkg + ".FetchType", "public enum FetchType { LAZY, EAGER }");
+        type(stubs, pkg + ".EntityManager", "public interface EntityManager { void flush(); void clear(); }");
+    }
+
+    private static void validation(Map<String, String> stubs, String pkg) {
+        type(stubs, pkg + ".Valid", """
+                import java.lang.annotation.ElementType;
+                import java.lang.annotation.Target;
+
+                @Target({ElementType.METHOD, ElementType.FIELD, ElementType.CONSTRUCTOR, ElementType.PARAMETER, ElementType.TYPE_USE})
+                public @interface Valid { }""");
+        annotation(stubs, pkg + ".constraints.NotNull", "String message() default \"\";");
+        annotation(stubs, pkg + ".constraints.NotBlank", "String message() default \"\";");
+        annotation(stubs, pkg + ".constraints.Size", "String message() default \"\"; int min() default 0; "
+                + "int max() default Integer.MAX_VALUE;");
+        annotation(stubs, pkg + ".constraints.Min", "long value(); String message() default \"\";");
+        annotation(stubs, pkg + ".constraints.Max", "long value(); String message() default \"\";");
+    }
+
+    private static void hibernate(Map<String, String> stubs) {
+        annotation(stubs, "org.hibernate.annotations.ColumnDefault", "String value();");
+        annotation(stubs, "org.hibernate.annotations.BatchSize", "int size();");
+        type(stubs, "org.hibernate.exception.ConstraintViolationException", """
+                public class ConstraintViolationException extends RuntimeException {
+                    public String getConstraintName() { return null; }
+                }""");
+    }
+
+    private static void springData(Map<String, String> stubs) {
+        type(stubs, "org.springframework.data.domain.Pageable", "public interface Pageable {}");
+        type(stubs, "org.springframework.data.domain.PageRequest", """
+                public class PageRequest implements Pageable {
+                    public static PageRequest of(int page, int size) { return null; }
+                }""");
+        type(stubs, "org.springframework.data.domain.Slice", """
+                import java.util.List;
+                import java.util.function.Function;
+
+                public interface Slice<T> {
+                    <U> Slice<U> map(Function<? super T, ? extends U> converter);
+                    List<T> getContent();
+                    boolean hasNext();
+                }""");
+        type(stubs, "org.springframework.data.domain.Page", """
+                import java.util.List;
+                import java.util.function.Function;
+
+                public interface Page<T> extends Slice<T> {
+                    <U> Page<U> map(Function<? super T, ? extends U> converter);
+                    List<T> getContent();
+                    long getTotalElements();
+                }""");
+        type(stubs, "org.springframework.data.jpa.repository.JpaRepository", """
+                import java.util.List;
+                import java.util.Optional;
+                import org.springframework.data.domain.Page;
+                import org.springframework.data.domain.Pageable;
+
+                public interface JpaRepository<T, ID> {
+                    List<T> findAll();
+                    List<T> findAllById(Iterable<ID> ids);
+                    Page<T> findAll(Pageable pageable);
+                    Optional<T> findById(ID id);
+                    T getReferenceById(ID id);
+                    boolean existsById(ID id);
+                    long count();
+                    <S extends T> S save(S entity);
+                    <S extends T> S saveAndFlush(S entity);
+                    <S extends T> List<S> saveAll(Iterable<S> entities);
+                    void deleteById(ID id);
+                    void flush();
+                }""");
+        type(stubs, "org.springframework.dao.DataIntegrityViolationException",
+                "public class DataIntegrityViolationException extends RuntimeException { }");
+        annotation(stubs, "org.springframework.data.jpa.repository.Modifying", "boolean flushAutomatically() default false; "
+                + "boolean clearAutomatically() default false;");
+        annotation(stubs, "org.springframework.data.jpa.repository.Query", "String value() default \"\"; "
+                + "String countQuery() default \"\"; boolean nativeQuery() default false;");
+        annotation(stubs, "org.springframework.data.repository.query.Param", "String value();");
+        annotation(stubs, "org.springframework.data.jpa.repository.EntityGraph", "String value() default \"\"; "
+                + "String[] attributePaths() default {};");
+        annotation(stubs, "org.springframework.data.web.PageableDefault", "int size() default 10; "
+                + "String[] sort() default {};");
+        annotation(stubs, "org.springframework.stereotype.Service", "String value() default \"\";");
+        annotation(stubs, "org.springframework.transaction.annotation.Transactional", "boolean readOnly() default false;");
+        type(stubs, "org.springframework.transaction.TransactionStatus", "public interface TransactionStatus { void setRollbackOnly(); }");
+        type(stubs, "org.springframework.transaction.support.TransactionCallback", """
+                import org.springframework.transaction.TransactionStatus;
+
+                public interface TransactionCallback<T> {
+                    T doInTransaction(TransactionStatus status);
+                }""");
+        type(stubs, "org.springframework.transaction.support.TransactionTemplate", """
+                public class TransactionTemplate {
+                    public <T> T execute(TransactionCallback<T> action) { return null; }
+                }""");
+    }
+
+    private static void springWeb(Map<String, String> stubs) {
+        type(stubs, "org.springframework.http.HttpStatus",
+                "public enum HttpStatus { OK, CREATED, NO_CONTENT, BAD_REQUEST, NOT_FOUND, CONFLICT }");
+        type(stubs, "org.springframework.http.MediaType", """
+                public class MediaType {
+                    public static final String APPLICATION_JSON_VALUE = "application/json";
+                }""");
+        type(stubs, "org.springframework.http.ResponseEntity", """
+                public class ResponseEntity<T> {
+                    public static <T> ResponseEntity<T> ok(T body) { return null; }
+                    public static BodyBuilder ok() { return null; }
+                    public static BodyBuilder status(HttpStatus status) { return null; }
+                    public static HeadersBuilder<?> noContent() { return null; }
+
+                    public interface HeadersBuilder<B extends HeadersBuilder<B>> {
+                        B header(String headerName, String... headerValues);
+                        <T> ResponseEntity<T> build();
+                    }
+
+                    public interface BodyBuilder extends HeadersBuilder<BodyBuilder> {
+                        <T> ResponseEntity<T> body(T body);
+                    }
+                }""");
+        annotation(stubs, "org.springframework.validation.annotation.Validated", "");
+        type(stubs, "org.springframework.web.server.ResponseStatusException", """
+                import org.springframework.http.HttpStatus;
+
+                public class ResponseStatusException extends RuntimeException {
+                    public ResponseStatusException(HttpStatus status, String reason) { }
+                }""");
+
+        String web = "org.springframework.web.bind.annotation.";
+        String mapping = "String[] value() default {}; String[] path() default {}; String[] produces() default {}; "
+                + "String[] consumes() default {};";
+        annotation(stubs, web + "RestController", "String value() default \"\";");
+        annotation(stubs, web + "RequestMapping", mapping);
+        annotation(stubs, web + "GetMapping", mapping);
+        annotation(stubs, web + "PostMapping", mapping);
+        annotation(stubs, web + "PutMapping", mapping);
+        annotation(stubs, web + "PatchMapping", mapping);
+        annotation(stubs, web + "DeleteMapping", mapping);
+        annotation(stubs, web + "PathVariable", "String value() default \"\"; boolean required() default true;");
+        annotation(stubs, web + "RequestBody", "boolean required() default true;");
+        annotation(stubs, web + "RequestParam", "String value() default \"\"; boolean required() default true; "
+                + "String defaultValue() default \"\";");
+    }
+
+    private static void openApi(Map<String, String> stubs) {
+        annotation(stubs, "io.swagger.v3.oas.annotations.tags.Tag", "String name(); String description() default \"\";");
+        annotation(stubs, "io.swagger.v3.oas.annotations.security.SecurityRequirement", "String name();");
+    }
+
+    private static void annotation(Map<String, String> stubs, String qualifiedName, String members) {
+        String simpleName = qualifiedName.substring(qualifiedName.lastIndexOf('.') + 1);
+        type(stubs, qualifiedName, "public @interface " + simpleName + " { " + members + " }");
+    }
+
+    private static void type(Map<String, String> stubs, String qualifiedName, String declaration) {
+        String packageName = qualifiedName.substring(0, qualifiedName.lastIndexOf('.'));
+        stubs.put(qualifiedName, "package " + packageName + ";\n\n" + declaration + "\n");
+    }
+}
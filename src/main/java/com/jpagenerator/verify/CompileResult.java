@@ -0,0 +1,34 @@
+package com.jpagenerator.verify;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resultado da compilação dos arquivos gerados.
+ *
+ * @param fileCount quantos arquivos gerados foram compilados
+ * @param success   {@code true} se todos compilaram sem erros
+ * @param problems  erros de compilação, na ordem em que o compilador os reportou
+ */
+public record CompileResult(int fileCount, boolean success, List<Problem> problems) {
+
+    /**
+     * Erros agrupados por arquivo, na ordem do primeiro erro de cada um.
+     */
+    public Map<String, List<Problem>> problemsByFile() {
+        Map<String, List<Problem>> byFile = new LinkedHashMap<>();
+        for (Problem problem : problems) {
+            byFile.computeIfAbsent(problem.file() != null ? problem.file() : "(sem arquivo)", k -> new ArrayList<>())
+                    .add(problem);
+        }
+        return byFile;
+    }
+
+    /**
+     * @param file caminho relativo do arquivo gerado (ou do stub); nulo para erros sem arquivo associado
+     */
+    public record Problem(String file, long line, long column, String message) {
+    }
+}
@@ -0,0 +1,157 @@
+package com.jpagenerator.verify;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.jpagenerator.output.GeneratedFile;
+
+import javax.annotation.processing.Processor;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.Set;
+
+/**
+ * Compila os arquivos gerados em memória, numa única tarefa do {@link JavaCompiler}, para descobrir em segundos
+ * o que só apareceria no build do projeto de destino: imports faltando, nomes de classe em conflito, chamadas a
+ * getters que não existem. Nada é gravado em disco; as classes compiladas são descartadas.
+ *
+ * <p>As APIs externas vêm de {@link ApiStubs}; o Lombok roda de verdade, com o processador de anotações
+ * presente no classpath do gerador. Requer um JDK (o {@code javac} não existe num JRE).
+ */
+public class CompileVerifier {
+
+    /**
+     * Compila todos os arquivos juntos (eles se referenciam) e devolve os problemas encontrados nos arquivos
+     * gerados; problemas nos stubs indicariam um stub incompleto e também são reportados.
+     */
+    public CompileResult verify(List<GeneratedFile> files) {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException("Compilador Java indisponível: a verificação requer um JDK, não um JRE");
+        }
+
+        List<JavaFileObject> sources = new ArrayList<>();
+        for (GeneratedFile file : files) {
+            sources.add(new SourceFile(file.relativePath(), file.content()));
+        }
+        for (Map.Entry<String, String> stub : ApiStubs.sources().entrySet()) {
+            sources.add(new SourceFile(stub.getKey().replace('.', '/') + ".java", stub.getValue()));
+        }
+
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        StandardJavaFileManager standardManager = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8);
+        List<String> options = List.of(
+                "-classpath", classPath(),
+                "-implicit:none",
+                "-Xlint:none",
+                "-nowarn");
+
+        JavaCompiler.CompilationTask task = compiler.getTask(null, new DiscardingFileManager(standardManager),
+                diagnostics, options, null, sources);
+        task.setProcessors(annotationProcessors());
+        boolean success = task.call();
+
+        List<CompileResult.Problem> problems = new ArrayList<>();
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            if (diagnostic.getKind() != Diagnostic.Kind.ERROR) {
+                continue;
+            }
+            JavaFileObject source = diagnostic.getSource();
+            problems.add(new CompileResult.Problem(
+                    source instanceof SourceFile sourceFile ? sourceFile.relativePath : null,
+                    diagnostic.getLineNumber(),
+                    diagnostic.getColumnNumber(),
+                    diagnostic.getMessage(null)));
+        }
+        return new CompileResult(files.size(), success && problems.isEmpty(), problems);
+    }
+
+    /**
+     * Só o que o código gerado pode usar de verdade além dos stubs: Lombok e as anotações do Jackson.
+     */
+    private static String classPath() {
+        Set<String> entries = new LinkedHashSet<>();
+        entries.add(location(lombok.Getter.class));
+        entries.add(location(JsonIgnoreProperties.class));
+        return String.join(File.pathSeparator, entries);
+    }
+
+    private static String location(Class<?> type) {
+        try {
+            return Path.of(type.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException("Local inválido para " + type.getName(), e);
+        }
+    }
+
+    private static List<Processor> annotationProcessors() {
+        List<Processor> processors = new ArrayList<>();
+        ServiceLoader.load(Processor.class, lombok.Getter.class.getClassLoader()).forEach(processors::add);
+        return processors;
+    }
+
+    private static final class SourceFile extends SimpleJavaFileObject {
+        private final String relativePath;
+        private final String content;
+
+        SourceFile(String relativePath, String content) {
+            super(URI.create("mem:///" + relativePath), Kind.SOURCE);
+            this.relativePath = relativePath;
+            this.content = content;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return content;
+        }
+    }
+
+    /**
+     * Descarta as classes compiladas (e qualquer outro arquivo de saída) em vez de gravá-las.
+     */
+    private static final class DiscardingFileManager extends ForwardingJavaFileManager<JavaFileManager> {
+
+        DiscardingFileManager(JavaFileManager fileManager) {
+            super(fileManager);
+        }
+
+        @Override
+        public JavaFileObject getJavaFileForOutput(Location location, String className, JavaFileObject.Kind kind,
+                                                   FileObject sibling) {
+            return new SimpleJavaFileObject(URI.create("mem:///out/" + className.replace('.', '/') + kind.extension), kind) {
+                @Override
+                public OutputStream openOutputStream() {
+                    return OutputStream.nullOutputStream();
+                }
+            };
+        }
+
+        @Override
+        public FileObject getFileForOutput(Location location, String packageName, String relativeName, FileObject sibling) {
+            return new SimpleJavaFileObject(URI.create("mem:///out/" + packageName.replace('.', '/') + "/" + relativeName),
+                    JavaFileObject.Kind.OTHER) {
+                @Override
+                public OutputStream openOutputStream() {
+                    return OutputStream.nullOutputStream();
+                }
+            };
+        }
+    }
+}
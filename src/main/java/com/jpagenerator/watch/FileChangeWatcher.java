@@ -0,0 +1,129 @@
+package com.jpagenerator.watch;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Observa arquivos e diretórios com o {@link WatchService} e agrupa as rajadas de eventos (um editor que salva
+ * em várias etapas, um {@code git checkout} que troca várias migrations) numa única notificação.
+ * Diretórios são observados recursivamente, inclusive os criados depois; de um arquivo, observa-se o diretório
+ * pai, mas só os eventos do próprio arquivo contam.
+ */
+public class FileChangeWatcher implements AutoCloseable {
+    private final WatchService watchService;
+    private final Duration debounce;
+    private final Map<WatchKey, Path> directories = new HashMap<>();
+    private final Set<Path> recursiveRoots = new HashSet<>();
+    private final Set<Path> files = new HashSet<>();
+
+    public FileChangeWatcher(List<Path> paths, Duration debounce) throws IOException {
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.debounce = debounce;
+        for (Path path : paths) {
+            Path normalized = path.toAbsolutePath().normalize();
+            if (Files.isDirectory(normalized)) {
+                recursiveRoots.add(normalized);
+                registerRecursively(normalized);
+            } else {
+                Path parent = normalized.getParent();
+                if (parent == null || !Files.isDirectory(parent)) {
+                    throw new IOException("Diretório inexistente para observar: " + parent);
+                }
+                files.add(normalized);
+                register(parent);
+            }
+        }
+    }
+
+    /**
+     * Bloqueia até haver alterações e o intervalo de {@code debounce} passar sem nenhum evento novo.
+     *
+     * @return caminhos alterados, na ordem dos eventos
+     */
+    public Set<Path> awaitChanges() throws InterruptedException, IOException {
+        Set<Path> changed = new LinkedHashSet<>();
+        while (changed.isEmpty()) {
+            collect(watchService.take(), changed);
+            WatchKey key;
+            while ((key = watchService.poll(debounce.toMillis(), TimeUnit.MILLISECONDS)) != null) {
+                collect(key, changed);
+            }
+        }
+        return changed;
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+
+    private void collect(WatchKey key, Set<Path> changed) throws IOException {
+        Path directory = directories.get(key);
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (directory == null) {
+                continue;
+            }
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                // Eventos perdidos: o diretório inteiro conta como alterado
+                changed.add(directory);
+                continue;
+            }
+            Path path = directory.resolve((Path) event.context());
+            boolean underRoot = isUnderRecursiveRoot(path);
+            if (underRoot && event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(path)) {
+                registerRecursively(path);
+            }
+            if (underRoot || files.contains(path)) {
+                changed.add(path);
+            }
+        }
+        if (!key.reset()) {
+            directories.remove(key);
+        }
+    }
+
+    private boolean isUnderRecursiveRoot(Path path) {
+        for (Path root : recursiveRoots) {
+            if (path.startsWith(root)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void registerRecursively(Path root) throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path directory : paths.filter(Files::isDirectory).toList()) {
+                register(directory);
+            }
+        }
+    }
+
+    private void register(Path directory) throws IOException {
+        try {
+            WatchKey key = directory.register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY,
+                    StandardWatchEventKinds.ENTRY_DELETE);
+            directories.put(key, directory);
+        } catch (ClosedWatchServiceException e) {
+            throw new IOException("Observação de arquivos já encerrada", e);
+        }
+    }
+}
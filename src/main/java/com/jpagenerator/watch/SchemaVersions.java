@@ -0,0 +1,161 @@
+package com.jpagenerator.watch;
+
+import com.jpagenerator.inspector.DatabaseInspector;
+import com.jpagenerator.inspector.DdlChangeLog;
+import com.jpagenerator.inspector.SchemaSnapshot;
+import com.jpagenerator.inspector.SchemaSource;
+import com.jpagenerator.model.TableInfo;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Origem dos metadados no modo watch: informa a versão atual de cada tabela, para descobrir o que mudou desde a
+ * última geração, e a {@link SchemaSource} com os metadados novos.
+ */
+public interface SchemaVersions {
+
+    /**
+     * Versão de cada tabela do schema; duas versões iguais significam metadados iguais.
+     */
+    Map<String, ?> read(String schema) throws SQLException, IOException;
+
+    /**
+     * Confirma a última leitura, depois que a geração correspondente terminou: a próxima leitura parte dela. Sem
+     * confirmação, a próxima leitura volta a trazer as mesmas alterações.
+     */
+    default void commit() {
+    }
+
+    /**
+     * Origem com os metadados da última leitura.
+     */
+    SchemaSource source();
+
+    /**
+     * Descarta o que estiver em cache das tabelas alteradas.
+     */
+    void invalidate(String schema, Collection<String> tableNames);
+
+    /**
+     * Banco de dados: uma consulta com a impressão digital de cada tabela. Só as tabelas alteradas saem do cache
+     * do inspetor; as demais continuam sem consultas novas.
+     */
+    static SchemaVersions database(DatabaseInspector inspector) {
+        return new SchemaVersions() {
+            @Override
+            public Map<String, ?> read(String schema) throws SQLException {
+                inspector.ensureConnected();
+                return inspector.tableFingerprints(schema);
+            }
+
+            @Override
+            public SchemaSource source() {
+                return inspector;
+            }
+
+            @Override
+            public void invalidate(String schema, Collection<String> tableNames) {
+                inspector.invalidateTables(schema, tableNames);
+            }
+        };
+    }
+
+    /**
+     * Log de DDL ({@code --install-ddl-log}): a primeira leitura lista as tabelas e guarda a posição do log; as
+     * seguintes leem só as entradas novas, e cada tabela citada recebe como versão o id da última alteração. A
+     * posição e as versões só avançam em {@link #commit()}.
+     */
+    static SchemaVersions ddlLog(DatabaseInspector inspector) {
+        return new SchemaVersions() {
+            private Map<String, Long> versions = Map.of();
+            private long position = -1;
+            private Map<String, Long> pendingVersions;
+            private long pendingPosition;
+
+            @Override
+            public Map<String, ?> read(String schema) throws SQLException {
+                inspector.ensureConnected();
+                Map<String, Long> read = new LinkedHashMap<>(versions);
+                if (position < 0) {
+                    // Posição lida antes da lista: o que mudar entre as duas consultas aparece na próxima leitura
+                    long start = inspector.ddlLogPosition();
+                    for (String table : inspector.getTables(schema)) {
+                        read.put(table, 0L);
+                    }
+                    pendingPosition = start;
+                } else {
+                    DdlChangeLog.Changes changes = inspector.ddlChangesSince(schema, position);
+                    for (Map.Entry<String, Long> change : changes.tables().entrySet()) {
+                        if (inspector.tableExists(schema, change.getKey())) {
+                            read.put(change.getKey(), change.getValue());
+                        } else {
+                            read.remove(change.getKey());
+                        }
+                    }
+                    pendingPosition = changes.position();
+                }
+                pendingVersions = read;
+                return new LinkedHashMap<>(read);
+            }
+
+            @Override
+            public void commit() {
+                if (pendingVersions != null) {
+                    versions = pendingVersions;
+                    position = pendingPosition;
+                    pendingVersions = null;
+                }
+            }
+
+            @Override
+            public SchemaSource source() {
+                return inspector;
+            }
+
+            @Override
+            public void invalidate(String schema, Collection<String> tableNames) {
+                inspector.invalidateTables(schema, tableNames);
+            }
+        };
+    }
+
+    /**
+     * Snapshot gravado com {@code --save-snapshot}: relê o arquivo e compara os metadados de cada tabela.
+     */
+    static SchemaVersions snapshot(Path file) {
+        return new SchemaVersions() {
+            private volatile SchemaSource source;
+
+            @Override
+            public Map<String, ?> read(String schema) throws IOException {
+                SchemaSnapshot snapshot = SchemaSnapshot.load(file);
+                Map<String, TableInfo> tables = new LinkedHashMap<>();
+                for (TableInfo table : snapshot.tables()) {
+                    if (table.schema().equals(schema)) {
+                        tables.put(table.name(), table);
+                    }
+                }
+                source = snapshot.toSource();
+                return tables;
+            }
+
+            @Override
+            public SchemaSource source() {
+                if (source == null) {
+                    throw new IllegalStateException("Snapshot ainda não lido: " + file);
+                }
+                return source;
+            }
+
+            @Override
+            public void invalidate(String schema, Collection<String> tableNames) {
+                // A cada leitura a origem é recriada a partir do arquivo
+            }
+        };
+    }
+}
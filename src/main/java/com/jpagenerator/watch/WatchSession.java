@@ -0,0 +1,148 @@
+package com.jpagenerator.watch;
+
+import com.jpagenerator.config.DatabaseConfig;
+import com.jpagenerator.config.GenerationPlan;
+import com.jpagenerator.engine.GenerationEngine;
+import com.jpagenerator.engine.GenerationRequest;
+import com.jpagenerator.engine.GenerationResult;
+import com.jpagenerator.engine.PlanDecisions;
+import com.jpagenerator.model.ForeignKeyInfo;
+import com.jpagenerator.output.FileSink;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Gerações sucessivas de um schema no modo watch ({@code --watch}). A primeira gera tudo; as seguintes comparam a
+ * versão de cada tabela com a da geração anterior e geram de novo apenas as tabelas alteradas ou criadas, mais as
+ * que têm FK para elas (o tipo do relacionamento pode ter mudado).
+ */
+public class WatchSession {
+    private final SchemaVersions versions;
+    private final DatabaseConfig config;
+    private final GenerationPlan plan;
+    private final String schema;
+    private final FileSink sink;
+    private final PrintStream out;
+    private Map<String, ?> known = Map.of();
+
+    public WatchSession(SchemaVersions versions, DatabaseConfig config, GenerationPlan plan, String schema, FileSink sink) {
+        this(versions, config, plan, schema, sink, new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    /**
+     * @param out progresso de cada geração
+     */
+    public WatchSession(SchemaVersions versions, DatabaseConfig config, GenerationPlan plan, String schema, FileSink sink,
+                        PrintStream out) {
+        this.versions = versions;
+        this.config = config;
+        this.plan = plan != null ? plan : new GenerationPlan();
+        this.schema = schema;
+        this.sink = sink;
+        this.out = out;
+    }
+
+    /**
+     * Geração completa, que serve de base para as comparações seguintes.
+     */
+    public WatchCycle generateAll() throws SQLException, IOException {
+        long start = System.nanoTime();
+        Map<String, ?> current = versions.read(schema);
+        GenerationEngine engine = new GenerationEngine(versions.source(), out);
+        List<String> tables = engine.resolveTables(schema, plan);
+        List<String> generated = generate(engine, tables);
+        known = current;
+        versions.commit();
+        return new WatchCycle(tables, List.of(), generated, elapsedMillis(start));
+    }
+
+    /**
+     * Gera de novo apenas o que mudou desde a geração anterior. Sem mudanças, não gera nada. As versões lidas só
+     * passam a valer depois que a geração termina: se ela falhar, a próxima chamada tenta as mesmas tabelas.
+     */
+    public WatchCycle regenerateChanged() throws SQLException, IOException {
+        long start = System.nanoTime();
+        Map<String, ?> current = versions.read(schema);
+
+        Set<String> changed = new LinkedHashSet<>();
+        current.forEach((table, version) -> {
+            if (!Objects.equals(known.get(table), version)) {
+                changed.add(table);
+            }
+        });
+        List<String> removed = known.keySet().stream().filter(table -> !current.containsKey(table)).toList();
+        if (changed.isEmpty() && removed.isEmpty()) {
+            versions.commit();
+            return new WatchCycle(List.of(), List.of(), List.of(), elapsedMillis(start));
+        }
+
+        Set<String> stale = new LinkedHashSet<>(changed);
+        stale.addAll(removed);
+        versions.invalidate(schema, stale);
+
+        GenerationEngine engine = new GenerationEngine(versions.source(), out);
+        List<String> candidates = engine.resolveTables(schema, plan).stream().filter(current::containsKey).toList();
+        List<String> affected = new ArrayList<>();
+        for (String table : candidates) {
+            if (changed.contains(table) || referencesAny(table, changed)) {
+                affected.add(table);
+            }
+        }
+        List<String> generated = generate(engine, affected);
+        known = current;
+        versions.commit();
+        return new WatchCycle(List.copyOf(changed), removed, generated, elapsedMillis(start));
+    }
+
+    private boolean referencesAny(String table, Set<String> tables) throws SQLException {
+        for (ForeignKeyInfo fk : versions.source().getTableInfo(schema, table).foreignKeys()) {
+            if (schema.equals(fk.referencedSchema()) && tables.contains(fk.referencedTable())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private List<String> generate(GenerationEngine engine, List<String> tables) throws SQLException, IOException {
+        if (tables.isEmpty()) {
+            return List.of();
+        }
+        GenerationRequest request = GenerationRequest.builder()
+                .config(config)
+                .schema(schema)
+                .tables(tables)
+                .decisions(new PlanDecisions(plan, config))
+                .build();
+        GenerationResult result = engine.generate(request, sink);
+        return result.generatedFiles();
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    /**
+     * Resultado de uma geração do modo watch.
+     *
+     * @param changedTables  tabelas alteradas ou criadas (na primeira geração, todas)
+     * @param removedTables  tabelas que deixaram de existir; os arquivos delas não são apagados
+     * @param generatedFiles arquivos gravados
+     * @param elapsedMillis  tempo desde a leitura das versões até o último arquivo
+     */
+    public record WatchCycle(List<String> changedTables, List<String> removedTables, List<String> generatedFiles,
+                             long elapsedMillis) {
+
+        public boolean isEmpty() {
+            return changedTables.isEmpty() && removedTables.isEmpty();
+        }
+    }
+}
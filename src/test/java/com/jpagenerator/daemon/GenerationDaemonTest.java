@@ -0,0 +1,95 @@
+package com.jpagenerator.daemon;
+
+import com.jpagenerator.config.ConfigManager;
+import com.jpagenerator.config.DatabaseConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Roda contra um PostgreSQL local, informado em {@code JPA_GENERATOR_TEST_DB=host:porta/banco}: o daemon abre a
+ * conexão ao iniciar.
+ */
+@EnabledIfEnvironmentVariable(named = "JPA_GENERATOR_TEST_DB", matches = ".+")
+class GenerationDaemonTest {
+
+    @TempDir
+    Path tokenDirectory;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private GenerationDaemon daemon;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String[] address = System.getenv("JPA_GENERATOR_TEST_DB").split("[:/]");
+        String user = System.getenv().getOrDefault("JPA_GENERATOR_TEST_DB_USER", "postgres");
+        String password = System.getenv().getOrDefault("JPA_GENERATOR_TEST_DB_PASSWORD", "");
+        DatabaseConfig config = new DatabaseConfig(address[0], Integer.parseInt(address[1]), address[2], user, password);
+
+        daemon = new GenerationDaemon(config, new ConfigManager(), null);
+        daemon.start(0, tokenDirectory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        daemon.stop();
+    }
+
+    @Test
+    void testRejectsRequestsWithoutTokenFromBrowsersOrWithoutJson() throws Exception {
+        // Given
+        String token = DaemonToken.read(tokenDirectory, daemon.getPort());
+
+        // When / Then
+        assertEquals(401, post("/shutdown", null, "application/json", null));
+        assertEquals(401, post("/generate", "errado", "application/json", null));
+        assertEquals(415, post("/generate", token, "text/plain", null));
+        assertEquals(403, post("/generate", token, "application/json", "https://exemplo.com"));
+        assertEquals(200, httpClient.send(request("/health", token).GET().build(), HttpResponse.BodyHandlers.discarding()).statusCode());
+    }
+
+    @Test
+    void testTokenFileIsReadableOnlyByOwner() throws Exception {
+        // Given
+        assumeTrue(FileSystems.getDefault().supportedFileAttributeViews().contains("posix"));
+        Path file = DaemonToken.file(tokenDirectory, daemon.getPort());
+
+        // When
+        String permissions = PosixFilePermissions.toString(Files.getPosixFilePermissions(file));
+
+        // Then
+        assertEquals("rw-------", permissions);
+    }
+
+    private int post(String path, String token, String contentType, String origin) throws Exception {
+        HttpRequest.Builder builder = request(path, token)
+                .header("Content-Type", contentType)
+                .POST(HttpRequest.BodyPublishers.ofString("{}"));
+        if (origin != null) {
+            builder.header("Origin", origin);
+        }
+        return httpClient.send(builder.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + daemon.getPort() + path));
+        if (token != null) {
+            builder.header(DaemonToken.HEADER, token);
+        }
+        return builder;
+    }
+}
@@ -0,0 +1,225 @@
+package com.jpagenerator.engine;
+
+import com.jpagenerator.config.DatabaseConfig;
+import com.jpagenerator.config.GenerationPlan;
+import com.jpagenerator.generator.CrudLayer;
+import com.jpagenerator.inspector.InMemorySchemaSource;
+import com.jpagenerator.metrics.FileWriteEvent;
+import com.jpagenerator.metrics.RunMetrics;
+import com.jpagenerator.metrics.RunReport;
+import com.jpagenerator.metrics.TableRenderEvent;
+import com.jpagenerator.model.ColumnInfo;
+import com.jpagenerator.model.ForeignKeyInfo;
+import com.jpagenerator.model.PrimaryKeyInfo;
+import com.jpagenerator.model.TableInfo;
+import com.jpagenerator.output.GeneratedFile;
+import com.jpagenerator.output.InMemorySink;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GenerationEngineTest {
+
+    private DatabaseConfig config;
+    private GenerationEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        config = new DatabaseConfig();
+        config.setBasePackage("com.example.entity");
+        config.setForeignKeyStrategy("relationship");
+
+        engine = new GenerationEngine(new InMemorySchemaSource(List.of(createPapelEmpresas(), createEmpresas())));
+    }
+
+    @Test
+    void testRenderInMemoryFollowsRelationships() throws Exception {
+        // Given
+        GenerationRequest request = GenerationRequest.builder()
+                .config(config)
+                .schema("desmonte")
+                .tables(List.of("empresas"))
+                .build();
+
+        // When
+        List<GeneratedFile> files = engine.render(request);
+
+        // Then
+        assertEquals(List.of("com/example/entity/Empresa.java", "com/example/entity/PapelEmpresa.java"),
+                files.stream().map(GeneratedFile::relativePath).toList());
+        assertTrue(files.getFirst().content().contains("private PapelEmpresa papelEmpresa;"));
+    }
+
+    @Test
+    void testRequestIsIsolatedFromLaterConfigChanges() throws Exception {
+        // Given
+        GenerationRequest request = GenerationRequest.builder()
+                .config(config)
+                .schema("desmonte")
+                .tables(List.of("papel_empresas"))
+                .build();
+
+        // When
+        config.setBasePackage("com.other");
+        request.config().setBasePackage("com.another");
+
+        // Then
+        assertEquals("com/example/entity/PapelEmpresa.java", engine.render(request).getFirst().relativePath());
+    }
+
+    @Test
+    void testConcurrentGenerationsShareTheEngine() throws Exception {
+        // Given
+        GenerationPlan plan = new GenerationPlan();
+        plan.setForeignKeyStrategy("column");
+        GenerationRequest request = GenerationRequest.builder()
+                .config(config)
+                .schema("desmonte")
+                .decisions(new PlanDecisions(plan, config))
+                .build();
+        List<GeneratedFile> expected = engine.render(request);
+
+        // When
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<List<GeneratedFile>>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < 64; i++) {
+                futures.add(executor.submit(() -> engine.render(request)));
+            }
+
+            // Then
+            for (Future<List<GeneratedFile>> future : futures) {
+                assertEquals(expected, future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(2, expected.size());
+    }
+
+    @Test
+    void testCrudRenderingIsDeterministic() throws Exception {
+        // Given
+        GenerationPlan plan = new GenerationPlan();
+        plan.setGenerateCrud(true);
+        GenerationRequest request = GenerationRequest.builder()
+                .config(config)
+                .schema("desmonte")
+                .tables(List.of("papel_empresas"))
+                .decisions(new PlanDecisions(plan, config))
+                .build();
+
+        // When
+        List<GeneratedFile> first = engine.render(request);
+        List<GeneratedFile> second = new GenerationEngine(new InMemorySchemaSource(List.of(createPapelEmpresas()))).render(request);
+
+        // Then
+        assertEquals(first, second);
+    }
+
+    @Test
+    void testRunMetricsCountTablesFilesAndBytes() throws Exception {
+        // Given
+        GenerationPlan plan = new GenerationPlan();
+        plan.setGenerateCrud(true);
+        plan.setCrudLayers(EnumSet.of(CrudLayer.REPOSITORY, CrudLayer.SERVICE));
+        GenerationRequest request = GenerationRequest.builder()
+                .config(config)
+                .schema("desmonte")
+                .tables(List.of("empresas"))
+                .decisions(new PlanDecisions(plan, config))
+                .build();
+        InMemorySink sink = new InMemorySink();
+        RunMetrics metrics = new RunMetrics();
+
+        // When
+        engine.generate(request, sink, metrics);
+        metrics.finish();
+        RunReport report = metrics.toReport();
+
+        // Then
+        long expectedBytes = sink.getFiles().stream()
+                .mapToLong(file -> file.content().getBytes(StandardCharsets.UTF_8).length)
+                .sum();
+        assertEquals(2, report.tables());
+        assertEquals(6, report.filesWritten());
+        assertEquals(expectedBytes, report.bytesWritten());
+        assertEquals(2, report.phases().get("entityRendering").count());
+        assertEquals(Set.of("repository", "service"), report.crudLayers().keySet());
+        assertEquals(4, report.phases().get("crudRendering").count());
+    }
+
+    @Test
+    void testJfrEventsDescribeRendersAndWrites(@TempDir Path tempDir) throws Exception {
+        // Given
+        GenerationRequest request = GenerationRequest.builder()
+                .config(config)
+                .schema("desmonte")
+                .tables(List.of("empresas"))
+                .build();
+        Path recordingFile = tempDir.resolve("generation.jfr");
+
+        // When
+        try (Recording recording = new Recording()) {
+            recording.enable(TableRenderEvent.class);
+            recording.enable(FileWriteEvent.class);
+            recording.start();
+            engine.render(request);
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+
+        // Then
+        List<RecordedEvent> events = RecordingFile.readAllEvents(recordingFile);
+        List<RecordedEvent> renders = events.stream()
+                .filter(event -> event.getEventType().getName().equals("com.jpagenerator.TableRender"))
+                .toList();
+        assertEquals(List.of("Empresa", "PapelEmpresa"), renders.stream().map(event -> event.getString("className")).toList());
+        assertEquals("entity", renders.getFirst().getString("artifact"));
+        assertEquals("desmonte", renders.getFirst().getString("schema"));
+        assertEquals(2, renders.getFirst().getInt("columnCount"));
+        assertTrue(renders.getFirst().getLong("bytes") > 0);
+        assertEquals(2, events.stream()
+                .filter(event -> event.getEventType().getName().equals("com.jpagenerator.FileWrite"))
+                .count());
+    }
+
+    private TableInfo createPapelEmpresas() {
+        return TableInfo.builder()
+                .schema("desmonte")
+                .name("papel_empresas")
+                .columns(List.of(
+                        ColumnInfo.builder().name("id").dataType("smallint").nullable(false).ordinalPosition(1).build(),
+                        ColumnInfo.builder().name("descricao").dataType("character varying").maxLength(50).nullable(false).ordinalPosition(2).build()))
+                .primaryKey(new PrimaryKeyInfo(List.of("id")))
+                .build();
+    }
+
+    private TableInfo createEmpresas() {
+        return TableInfo.builder()
+                .schema("desmonte")
+                .name("empresas")
+                .columns(List.of(
+                        ColumnInfo.builder().name("id").dataType("bigint").nullable(false).ordinalPosition(1).build(),
+                        ColumnInfo.builder().name("papel_empresa_id").dataType("smallint").nullable(true).ordinalPosition(2).build()))
+                .primaryKey(new PrimaryKeyInfo(List.of("id")))
+                .foreignKeys(List.of(new ForeignKeyInfo("papel_empresa_id", "desmonte", "papel_empresas", "id", "empresa_papel_empresa_fk")))
+                .build();
+    }
+}
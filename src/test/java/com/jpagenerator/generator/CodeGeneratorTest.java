@@ -2,6 +2,7 @@ package com.jpagenerator.generator;
 
 import com.jpagenerator.config.DatabaseConfig;
 import com.jpagenerator.model.ColumnInfo;
+import com.jpagenerator.model.DataType;
 import com.jpagenerator.model.ForeignKeyInfo;
 import com.jpagenerator.model.PrimaryKeyInfo;
 import com.jpagenerator.model.SequenceInfo;
@@ -20,7 +21,10 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class CodeGeneratorTest {
@@ -52,7 +56,7 @@ class CodeGeneratorTest {
         String className = "Perfil";
         Map<String, String> foreignKeyHandling = new HashMap<>();
         // Adicionado o mapa de nomes de classes
-        Map<String, String> allClassNames = Map.of(tableInfo.getName(), className);
+        Map<String, String> allClassNames = Map.of(tableInfo.name(), className);
 
         // When
         // Corrigida a chamada do metodo para incluir o quarto argumento
@@ -128,7 +132,7 @@ class CodeGeneratorTest {
         TableInfo tableInfo = createSimpleTableInfo();
         String className = "Perfil";
         Map<String, String> foreignKeyHandling = new HashMap<>();
-        Map<String, String> allClassNames = Map.of(tableInfo.getName(), className);
+        Map<String, String> allClassNames = Map.of(tableInfo.name(), className);
 
         // When
         // Corrigida a chamada do metodo para incluir o quarto argumento
@@ -149,7 +153,7 @@ class CodeGeneratorTest {
         TableInfo tableInfo = createTableWithDefaultValues();
         String className = "TestEntity";
         Map<String, String> foreignKeyHandling = new HashMap<>();
-        Map<String, String> allClassNames = Map.of(tableInfo.getName(), className);
+        Map<String, String> allClassNames = Map.of(tableInfo.name(), className);
 
         // When
         String filePath = generator.generateEntity(tableInfo, className, foreignKeyHandling, allClassNames);
@@ -163,123 +167,169 @@ class CodeGeneratorTest {
         assertTrue(content.contains("import org.hibernate.annotations.ColumnDefault;"));
     }
 
-    private TableInfo createSimpleTableInfo() {
-        TableInfo table = new TableInfo();
-        table.setSchema("desmonte");
-        table.setName("perfis");
+    @Test
+    void testSequenceAllocationSizeFollowsIncrement() throws IOException {
+        // Given
+        TableInfo pooled = createSimpleTableInfo().toBuilder()
+                .sequences(List.of(new SequenceInfo("id", "perfis_id_seq", "desmonte", 50)))
+                .build();
+        TableInfo single = createSimpleTableInfo();
+        config.setSequenceIncrementHint(50);
+
+        // When
+        String pooledContent = Files.readString(Path.of(generator.generateEntity(pooled, "Perfil", Map.of(), Map.of())));
+        String singleContent = Files.readString(Path.of(generator.generateEntity(single, "Perfil", Map.of(), Map.of())));
+
+        // Then
+        assertTrue(pooledContent.contains("sequenceName = \"desmonte.perfis_id_seq\", allocationSize = 50)"));
+        assertFalse(pooledContent.contains("ALTER SEQUENCE"));
+        assertTrue(singleContent.contains("allocationSize = 1)"));
+        assertTrue(singleContent.contains("// ALTER SEQUENCE desmonte.perfis_id_seq INCREMENT BY 50;"));
+    }
+
+    @Test
+    void testIdentityColumnUsesItsSequenceUnlessGeneratedAlways() throws IOException {
+        // Given
+        TableInfo simple = createSimpleTableInfo();
+        TableInfo byDefault = withIdentity(simple, "BY DEFAULT").toBuilder()
+                .sequences(List.of(new SequenceInfo("id", "perfis_id_seq", "desmonte", 50)))
+                .build();
+        TableInfo always = withIdentity(simple, "ALWAYS");
+
+        // When
+        String byDefaultContent = Files.readString(Path.of(generator.generateEntity(byDefault, "Perfil", Map.of(), Map.of())));
+        String alwaysContent = Files.readString(Path.of(generator.generateEntity(always, "Perfil", Map.of(), Map.of())));
+
+        // Then
+        assertTrue(byDefaultContent.contains("@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = \"perfis_id_gen\")"));
+        assertTrue(byDefaultContent.contains("sequenceName = \"desmonte.perfis_id_seq\", allocationSize = 50)"));
+        assertTrue(alwaysContent.contains("@GeneratedValue(strategy = GenerationType.IDENTITY)"));
+        assertTrue(alwaysContent.contains("// ALTER TABLE desmonte.perfis ALTER COLUMN id SET GENERATED BY DEFAULT;"));
+        assertFalse(alwaysContent.contains("SequenceGenerator"));
+    }
+
+    private TableInfo withIdentity(TableInfo tableInfo, String identity) {
+        List<ColumnInfo> columns = new ArrayList<>(tableInfo.columns());
+        columns.set(0, columns.getFirst().withDefaultValue(null).withIdentityGeneration(identity));
+        return tableInfo.toBuilder().columns(columns).build();
+    }
+
+    @Test
+    void testBatchFetchSizeAnnotatesEntity() throws IOException {
+        // Given
+        config.setBatchFetchSize(100);
+
+        // When
+        String content = Files.readString(Path.of(generator.generateEntity(createSimpleTableInfo(), "Perfil", Map.of(), Map.of())));
+
+        // Then
+        assertTrue(content.contains("import org.hibernate.annotations.BatchSize;"));
+        assertTrue(content.contains("@BatchSize(size = 100)\npublic class Perfil {"));
+    }
+
+    @Test
+    void testPrimaryKeyFlagIsPrecomputed() {
+        // Given
+        TableInfo tableInfo = createSimpleTableInfo();
 
+        // Then
+        assertTrue(tableInfo.columns().getFirst().primaryKey());
+        assertFalse(tableInfo.columns().get(1).primaryKey());
+        assertSame(tableInfo.columns().get(1).dataType(), DataType.of("character varying"));
+        assertThrows(UnsupportedOperationException.class, () -> tableInfo.columns().add(tableInfo.columns().getFirst()));
+    }
+
+    private TableInfo createSimpleTableInfo() {
         // Columns
         List<ColumnInfo> columns = new ArrayList<>();
 
         // ID column
-        ColumnInfo idCol = new ColumnInfo();
-        idCol.setName("id");
-        idCol.setDataType("smallserial");
-        idCol.setNullable(false);
-        idCol.setDefaultValue("nextval('desmonte.perfis_id_seq'::regclass)");
-        idCol.setOrdinalPosition(1);
-        columns.add(idCol);
+        columns.add(ColumnInfo.builder()
+                .name("id")
+                .dataType("smallserial")
+                .nullable(false)
+                .defaultValue("nextval('desmonte.perfis_id_seq'::regclass)")
+                .ordinalPosition(1)
+                .build());
 
         // Description column
-        ColumnInfo descCol = new ColumnInfo();
-        descCol.setName("descricao");
-        descCol.setDataType("character varying");
-        descCol.setMaxLength(100);
-        descCol.setNullable(false);
-        descCol.setOrdinalPosition(2);
-        columns.add(descCol);
+        columns.add(ColumnInfo.builder()
+                .name("descricao")
+                .dataType("character varying")
+                .maxLength(100)
+                .nullable(false)
+                .ordinalPosition(2)
+                .build());
 
         // Created at column
-        ColumnInfo createdCol = new ColumnInfo();
-        createdCol.setName("created_at");
-        createdCol.setDataType("timestamp");
-        createdCol.setNullable(false);
-        createdCol.setOrdinalPosition(3);
-        columns.add(createdCol);
-
-        table.setColumns(columns);
-
-        // Primary key
-        PrimaryKeyInfo pk = new PrimaryKeyInfo();
-        pk.setColumnNames(List.of("id"));
-        table.setPrimaryKey(pk);
-
-        // Sequences
-        SequenceInfo seq = new SequenceInfo();
-        seq.setColumnName("id");
-        seq.setSequenceName("perfis_id_seq");
-        seq.setSequenceSchema("desmonte");
-        table.setSequences(List.of(seq));
-
-        table.setForeignKeys(new ArrayList<>());
-
-        return table;
+        columns.add(ColumnInfo.builder()
+                .name("created_at")
+                .dataType("timestamp")
+                .nullable(false)
+                .ordinalPosition(3)
+                .build());
+
+        return TableInfo.builder()
+                .schema("desmonte")
+                .name("perfis")
+                .columns(columns)
+                .primaryKey(new PrimaryKeyInfo(List.of("id")))
+                .sequences(List.of(new SequenceInfo("id", "perfis_id_seq", "desmonte")))
+                .foreignKeys(new ArrayList<>())
+                .build();
     }
 
     private TableInfo createTableWithForeignKey() {
-        TableInfo table = new TableInfo();
-        table.setSchema("desmonte");
-        table.setName("empresas");
-
         // Columns
         List<ColumnInfo> columns = new ArrayList<>();
 
         // ID column
-        ColumnInfo idCol = new ColumnInfo();
-        idCol.setName("id");
-        idCol.setDataType("bigserial");
-        idCol.setNullable(false);
-        idCol.setOrdinalPosition(1);
-        columns.add(idCol);
+        columns.add(ColumnInfo.builder()
+                .name("id")
+                .dataType("bigserial")
+                .nullable(false)
+                .ordinalPosition(1)
+                .build());
 
         // FK column
-        ColumnInfo fkCol = new ColumnInfo();
-        fkCol.setName("papel_empresa_id");
-        fkCol.setDataType("smallint");
-        fkCol.setNullable(true);
-        fkCol.setOrdinalPosition(2);
-        columns.add(fkCol);
-
-        table.setColumns(columns);
-
-        // Primary key
-        PrimaryKeyInfo pk = new PrimaryKeyInfo();
-        pk.setColumnNames(List.of("id"));
-        table.setPrimaryKey(pk);
+        columns.add(ColumnInfo.builder()
+                .name("papel_empresa_id")
+                .dataType("smallint")
+                .nullable(true)
+                .ordinalPosition(2)
+                .build());
 
         // Foreign key
-        ForeignKeyInfo fk = new ForeignKeyInfo();
-        fk.setColumnName("papel_empresa_id");
-        fk.setReferencedSchema("desmonte");
-        fk.setReferencedTable("papel_empresas");
-        fk.setReferencedColumn("id");
-        fk.setConstraintName("empresa_papel_empresa_fk");
-        table.setForeignKeys(List.of(fk));
-
-        table.setSequences(new ArrayList<>());
-
-        return table;
+        ForeignKeyInfo fk = new ForeignKeyInfo("papel_empresa_id", "desmonte", "papel_empresas", "id", "empresa_papel_empresa_fk");
+
+        return TableInfo.builder()
+                .schema("desmonte")
+                .name("empresas")
+                .columns(columns)
+                .primaryKey(new PrimaryKeyInfo(List.of("id")))
+                .foreignKeys(List.of(fk))
+                .sequences(new ArrayList<>())
+                .build();
     }
 
     private TableInfo createTableWithDefaultValues() {
-        TableInfo table = new TableInfo();
-        table.setSchema("test");
-        table.setName("test_table");
-
         // Column with default value
-        ColumnInfo ufCol = new ColumnInfo();
-        ufCol.setName("uf");
-        ufCol.setDataType("character varying");
-        ufCol.setMaxLength(2);
-        ufCol.setNullable(true);
-        ufCol.setDefaultValue("'CE'::character varying");
-        ufCol.setOrdinalPosition(1);
-
-        table.setColumns(List.of(ufCol));
-        table.setForeignKeys(new ArrayList<>());
-        table.setSequences(new ArrayList<>());
-        table.setPrimaryKey(new PrimaryKeyInfo()); // Adicionado para evitar NullPointerException
-
-        return table;
+        ColumnInfo ufCol = ColumnInfo.builder()
+                .name("uf")
+                .dataType("character varying")
+                .maxLength(2)
+                .nullable(true)
+                .defaultValue("'CE'::character varying")
+                .ordinalPosition(1)
+                .build();
+
+        return TableInfo.builder()
+                .schema("test")
+                .name("test_table")
+                .columns(List.of(ufCol))
+                .foreignKeys(new ArrayList<>())
+                .sequences(new ArrayList<>())
+                .primaryKey(new PrimaryKeyInfo()) // Adicionado para evitar NullPointerException
+                .build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,108 @@
+package com.jpagenerator.generator;
+
+import com.jpagenerator.config.DatabaseConfig;
+import com.jpagenerator.model.ColumnInfo;
+import com.jpagenerator.model.ForeignKeyInfo;
+import com.jpagenerator.model.PrimaryKeyInfo;
+import com.jpagenerator.model.TableInfo;
+import com.jpagenerator.model.UniqueConstraintInfo;
+import com.jpagenerator.output.GeneratedFile;
+import com.jpagenerator.util.CodeGeneratorHelper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CrudGeneratorTest {
+
+    private CrudGenerator generator;
+
+    @BeforeEach
+    void setUp() {
+        DatabaseConfig config = new DatabaseConfig();
+        config.setBasePackage("com.example.entity");
+        generator = new CrudGenerator(config, new CodeGeneratorHelper());
+    }
+
+    @Test
+    void testKeysetUsesAUniqueNotNullColumn() {
+        // Given
+        CrudOptions options = CrudOptions.builder().pagination(Pagination.KEYSET).keysetColumn("codigo").build();
+
+        // When
+        String service = render(createContas(), options, CrudLayer.SERVICE);
+
+        // Then
+        assertTrue(service.contains("findByCodigoGreaterThanOrderByCodigoAsc"), service);
+    }
+
+    @Test
+    void testUnsuitableKeysetColumnFallsBackToOffset() {
+        // Given: não única, anulável, FK e tipo sem conversão do cursor
+        for (String column : List.of("nome", "apelido", "empresa_id", "limite")) {
+            CrudOptions options = CrudOptions.builder().pagination(Pagination.KEYSET).keysetColumn(column).build();
+
+            // When
+            String service = render(createContas(), options, CrudLayer.SERVICE);
+
+            // Then
+            assertFalse(service.contains("GreaterThan"), column);
+            assertTrue(service.contains("Page<ContaResponse>"), column);
+        }
+    }
+
+    @Test
+    void testCompositePrimaryKeyFallsBackToOffset() {
+        // Given
+        TableInfo itens = TableInfo.builder()
+                .schema("vendas")
+                .name("itens")
+                .columns(List.of(
+                        ColumnInfo.builder().name("pedido_id").dataType("bigint").nullable(false).primaryKey(true).ordinalPosition(1).build(),
+                        ColumnInfo.builder().name("linha").dataType("integer").nullable(false).primaryKey(true).ordinalPosition(2).build(),
+                        ColumnInfo.builder().name("quantidade").dataType("integer").nullable(false).ordinalPosition(3).build()))
+                .primaryKey(new PrimaryKeyInfo(List.of("pedido_id", "linha")))
+                .build();
+        CrudOptions options = CrudOptions.builder().pagination(Pagination.KEYSET).build();
+
+        // When
+        String service = generator.renderCrud(itens, "Item", Map.of("itens", "Item"), Map.of(),
+                EnumSet.of(CrudLayer.SERVICE), options).getFirst().content();
+
+        // Then
+        assertFalse(service.contains("GreaterThan"), service);
+        assertTrue(service.contains("Page<ItemResponse>"), service);
+    }
+
+    private String render(TableInfo tableInfo, CrudOptions options, CrudLayer layer) {
+        List<GeneratedFile> files = generator.renderCrud(tableInfo, "Conta", Map.of("contas", "Conta", "empresas", "Empresa"),
+                Map.of("empresa_id", "relationship"), EnumSet.of(layer), options);
+        return files.getFirst().content();
+    }
+
+    private TableInfo createContas() {
+        return TableInfo.builder()
+                .schema("vendas")
+                .name("contas")
+                .columns(List.of(
+                        ColumnInfo.builder().name("id").dataType("bigint").nullable(false).primaryKey(true).ordinalPosition(1).build(),
+                        ColumnInfo.builder().name("codigo").dataType("character varying").maxLength(20).nullable(false).ordinalPosition(2).build(),
+                        ColumnInfo.builder().name("nome").dataType("text").nullable(false).ordinalPosition(3).build(),
+                        ColumnInfo.builder().name("apelido").dataType("character varying").maxLength(50).nullable(true).ordinalPosition(4).build(),
+                        ColumnInfo.builder().name("empresa_id").dataType("bigint").nullable(false).ordinalPosition(5).build(),
+                        ColumnInfo.builder().name("limite").dataType("numeric").precision(12).scale(2).nullable(false).ordinalPosition(6).build()))
+                .primaryKey(new PrimaryKeyInfo(List.of("id")))
+                .foreignKeys(List.of(new ForeignKeyInfo("empresa_id", "vendas", "empresas", "id", "contas_empresa_fk")))
+                .uniqueConstraints(List.of(
+                        new UniqueConstraintInfo("contas_codigo_key", List.of("codigo")),
+                        new UniqueConstraintInfo("contas_apelido_key", List.of("apelido")),
+                        new UniqueConstraintInfo("contas_empresa_key", List.of("empresa_id")),
+                        new UniqueConstraintInfo("contas_limite_key", List.of("limite"))))
+                .build();
+    }
+}
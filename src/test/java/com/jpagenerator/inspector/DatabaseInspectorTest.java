@@ -0,0 +1,123 @@
+package com.jpagenerator.inspector;
+
+import com.jpagenerator.config.DatabaseConfig;
+import com.jpagenerator.metrics.CatalogQuery;
+import com.jpagenerator.metrics.QueryProfiler;
+import com.jpagenerator.metrics.RunMetrics;
+import com.jpagenerator.metrics.RunReport;
+import com.jpagenerator.model.TableInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Roda contra um PostgreSQL local, informado em {@code JPA_GENERATOR_TEST_DB=host:porta/banco} (usuário e senha em
+ * {@code JPA_GENERATOR_TEST_DB_USER} e {@code JPA_GENERATOR_TEST_DB_PASSWORD}).
+ */
+@EnabledIfEnvironmentVariable(named = "JPA_GENERATOR_TEST_DB", matches = ".+")
+class DatabaseInspectorTest {
+
+    private DatabaseConfig config;
+    private DatabaseInspector inspector;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String[] address = System.getenv("JPA_GENERATOR_TEST_DB").split("[:/]");
+        String user = System.getenv().getOrDefault("JPA_GENERATOR_TEST_DB_USER", "postgres");
+        String password = System.getenv().getOrDefault("JPA_GENERATOR_TEST_DB_PASSWORD", "");
+        config = new DatabaseConfig(address[0], Integer.parseInt(address[1]), address[2], user, password);
+
+        inspector = new DatabaseInspector(config);
+        inspector.connect();
+        execute("DROP SCHEMA IF EXISTS inspector_teste CASCADE",
+                "CREATE SCHEMA inspector_teste",
+                "CREATE TABLE inspector_teste.clientes (id bigserial PRIMARY KEY, nome text NOT NULL)",
+                "CREATE TABLE inspector_teste.eventos (id bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY)");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        execute("DROP SCHEMA IF EXISTS inspector_teste CASCADE");
+        inspector.disconnect();
+    }
+
+    @Test
+    void testFingerprintsChangeWithSequenceIncrement() throws Exception {
+        // Given
+        String schemaBefore = inspector.schemaFingerprint("inspector_teste");
+        Map<String, String> tablesBefore = inspector.tableFingerprints("inspector_teste");
+
+        // When
+        execute("ALTER SEQUENCE inspector_teste.clientes_id_seq INCREMENT BY 50");
+        Map<String, String> tablesAfter = inspector.tableFingerprints("inspector_teste");
+
+        // Then
+        assertNotEquals(schemaBefore, inspector.schemaFingerprint("inspector_teste"));
+        assertNotEquals(tablesBefore.get("clientes"), tablesAfter.get("clientes"));
+        assertEquals(tablesBefore.get("eventos"), tablesAfter.get("eventos"));
+
+        // When
+        execute("ALTER TABLE inspector_teste.eventos ALTER COLUMN id SET INCREMENT BY 25");
+
+        // Then
+        assertNotEquals(tablesAfter.get("eventos"), inspector.tableFingerprints("inspector_teste").get("eventos"));
+    }
+
+    @Test
+    void testInvalidateChangedTablesDropsOnlyStaleCacheEntries() throws Exception {
+        // Given
+        inspector.invalidateChangedTables("inspector_teste");
+        inspector.getTableInfo("inspector_teste", "clientes");
+        TableInfo eventos = inspector.getTableInfo("inspector_teste", "eventos");
+        execute("ALTER TABLE inspector_teste.clientes ADD COLUMN email varchar(200)");
+
+        // When
+        List<String> changed = inspector.invalidateChangedTables("inspector_teste");
+
+        // Then
+        assertEquals(List.of("clientes"), changed);
+        assertEquals(3, inspector.getTableInfo("inspector_teste", "clientes").columns().size());
+        assertSame(eventos, inspector.getTableInfo("inspector_teste", "eventos"));
+    }
+
+    @Test
+    void testFailedExplainBecomesThePlanInsteadOfAborting() throws Exception {
+        // Given
+        RunMetrics metrics = new RunMetrics();
+        QueryProfiler profiler = new QueryProfiler(2);
+        metrics.setQueryProfiler(profiler);
+        inspector.setMetrics(metrics);
+        inspector.getTables("inspector_teste");
+        profiler.record(CatalogQuery.TABLES, "SELECT * FROM inspector_teste.inexistente", new String[0], 60_000_000_000L, 0);
+
+        // When
+        inspector.explainSlowestQueries();
+
+        // Then
+        List<RunReport.SlowQueryReport> slowQueries = metrics.toReport().slowQueries();
+        assertTrue(slowQueries.get(0).plan().startsWith("EXPLAIN falhou: "));
+        assertTrue(slowQueries.get(1).plan().contains("Execution Time"));
+    }
+
+    private void execute(String... statements) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(config.getJdbcUrl(), config.getUsername(), config.getPassword());
+             Statement stmt = connection.createStatement()) {
+            for (String sql : statements) {
+                stmt.execute(sql);
+            }
+        }
+    }
+}
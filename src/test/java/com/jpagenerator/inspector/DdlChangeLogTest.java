@@ -0,0 +1,100 @@
+package com.jpagenerator.inspector;
+
+import com.jpagenerator.config.DatabaseConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Roda contra um PostgreSQL local com superusuário, informado em {@code JPA_GENERATOR_TEST_DB=host:porta/banco}
+ * (usuário e senha em {@code JPA_GENERATOR_TEST_DB_USER} e {@code JPA_GENERATOR_TEST_DB_PASSWORD}).
+ */
+@EnabledIfEnvironmentVariable(named = "JPA_GENERATOR_TEST_DB", matches = ".+")
+class DdlChangeLogTest {
+
+    private DatabaseConfig config;
+    private DatabaseInspector inspector;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String[] address = System.getenv("JPA_GENERATOR_TEST_DB").split("[:/]");
+        String user = System.getenv().getOrDefault("JPA_GENERATOR_TEST_DB_USER", "postgres");
+        String password = System.getenv().getOrDefault("JPA_GENERATOR_TEST_DB_PASSWORD", "");
+        config = new DatabaseConfig(address[0], Integer.parseInt(address[1]), address[2], user, password);
+
+        inspector = new DatabaseInspector(config);
+        inspector.connect();
+        inspector.installDdlChangeLog();
+        execute("DROP SCHEMA IF EXISTS ddl_log_teste CASCADE",
+                "CREATE SCHEMA ddl_log_teste",
+                "CREATE TABLE ddl_log_teste.clientes (id bigserial PRIMARY KEY, nome text NOT NULL)",
+                "CREATE TABLE ddl_log_teste.pedidos (id bigserial PRIMARY KEY, cliente_id bigint REFERENCES ddl_log_teste.clientes (id))",
+                "CREATE TABLE ddl_log_teste.rascunhos (id int PRIMARY KEY)");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        execute("DROP SCHEMA IF EXISTS ddl_log_teste CASCADE");
+        inspector.uninstallDdlChangeLog();
+        inspector.disconnect();
+    }
+
+    @Test
+    void testLogAttributesEachCommandToItsTable() throws Exception {
+        // Given
+        long position = inspector.ddlLogPosition();
+
+        // When
+        execute("ALTER TABLE ddl_log_teste.clientes ADD COLUMN email varchar(200)",
+                "CREATE INDEX pedidos_cliente_idx ON ddl_log_teste.pedidos (cliente_id)",
+                "ALTER SEQUENCE ddl_log_teste.clientes_id_seq INCREMENT BY 50",
+                "DROP TABLE ddl_log_teste.rascunhos");
+        DdlChangeLog.Changes changes = inspector.ddlChangesSince("ddl_log_teste", position);
+
+        // Then
+        assertEquals(List.of("pedidos", "clientes", "rascunhos"), List.copyOf(changes.tables().keySet()));
+        assertTrue(changes.position() > position);
+        assertTrue(inspector.ddlChangesSince("ddl_log_teste", changes.position()).isEmpty());
+    }
+
+    @Test
+    void testMigrationCommittedAfterANewerOneIsNotSkipped() throws Exception {
+        // Given
+        long position = inspector.ddlLogPosition();
+        DdlChangeLog.Changes changes;
+        try (Connection migration = DriverManager.getConnection(config.getJdbcUrl(), config.getUsername(), config.getPassword());
+             Statement stmt = migration.createStatement()) {
+            migration.setAutoCommit(false);
+            stmt.execute("ALTER TABLE ddl_log_teste.clientes ADD COLUMN email varchar(200)");
+            execute("ALTER TABLE ddl_log_teste.pedidos ADD COLUMN total numeric(12, 2)");
+            changes = inspector.ddlChangesSince("ddl_log_teste", position);
+            migration.commit();
+        }
+
+        // When
+        DdlChangeLog.Changes next = inspector.ddlChangesSince("ddl_log_teste", changes.position());
+
+        // Then
+        assertEquals(List.of("pedidos"), List.copyOf(changes.tables().keySet()));
+        assertTrue(next.tables().containsKey("clientes"));
+    }
+
+    private void execute(String... statements) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(config.getJdbcUrl(), config.getUsername(), config.getPassword());
+             Statement stmt = connection.createStatement()) {
+            for (String sql : statements) {
+                stmt.execute(sql);
+            }
+        }
+    }
+}
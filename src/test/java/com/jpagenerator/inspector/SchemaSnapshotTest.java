@@ -0,0 +1,60 @@
+package com.jpagenerator.inspector;
+
+import com.jpagenerator.model.ColumnInfo;
+import com.jpagenerator.model.PrimaryKeyInfo;
+import com.jpagenerator.model.SequenceInfo;
+import com.jpagenerator.model.TableInfo;
+import com.jpagenerator.model.UniqueConstraintInfo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class SchemaSnapshotTest {
+
+    @Test
+    void testSnapshotRoundTripKeepsTablesAndFingerprint(@TempDir Path tempDir) throws Exception {
+        // Given
+        SchemaSnapshot snapshot = SchemaSnapshot.capture(new InMemorySchemaSource(List.of(createPedidos("numeric"))), "vendas");
+        Path file = tempDir.resolve("snapshots/vendas.json");
+
+        // When
+        snapshot.save(file);
+        SchemaSnapshot loaded = SchemaSnapshot.load(file);
+
+        // Then
+        assertEquals(snapshot, loaded);
+        assertEquals(snapshot.fingerprint(), loaded.fingerprint());
+        assertEquals(List.of("pedidos"), loaded.toSource().getTables("vendas"));
+    }
+
+    @Test
+    void testFingerprintChangesWithColumnType() {
+        // Given
+        SchemaSnapshot before = new SchemaSnapshot("vendas", List.of(createPedidos("numeric")));
+
+        // When
+        SchemaSnapshot after = new SchemaSnapshot("vendas", List.of(createPedidos("double precision")));
+
+        // Then
+        assertNotEquals(before.fingerprint(), after.fingerprint());
+    }
+
+    private TableInfo createPedidos(String valorType) {
+        return TableInfo.builder()
+                .schema("vendas")
+                .name("pedidos")
+                .columns(List.of(
+                        ColumnInfo.builder().name("id").dataType("bigint").nullable(false)
+                                .defaultValue("nextval('vendas.pedidos_id_seq'::regclass)").ordinalPosition(1).build(),
+                        ColumnInfo.builder().name("valor").dataType(valorType).precision(12).scale(2).nullable(false).ordinalPosition(2).build()))
+                .primaryKey(new PrimaryKeyInfo(List.of("id")))
+                .uniqueConstraints(List.of(new UniqueConstraintInfo("pedidos_valor_key", List.of("valor"))))
+                .sequences(List.of(new SequenceInfo("id", "pedidos_id_seq", "vendas", 50)))
+                .build();
+    }
+}
@@ -0,0 +1,56 @@
+package com.jpagenerator.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class QueryProfilerTest {
+
+    @Test
+    void testPercentilesAndRowsPerQueryKind() {
+        // Given
+        QueryProfiler profiler = new QueryProfiler(0);
+
+        // When
+        for (int i = 1; i <= 100; i++) {
+            profiler.record(CatalogQuery.COLUMNS, "SELECT 1", new String[]{"s", "t" + i}, i * 1_000_000L, 3);
+        }
+        profiler.record(CatalogQuery.FOREIGN_KEYS, "SELECT 2", new String[]{"s", "t"}, 5_000_000L, 1);
+
+        // Then
+        Map<String, RunReport.QueryStats> stats = profiler.toStats();
+        assertEquals(List.of("columns", "foreignKeys"), List.copyOf(stats.keySet()));
+        RunReport.QueryStats columns = stats.get("columns");
+        assertEquals(100, columns.count());
+        assertEquals(300, columns.rows());
+        assertEquals(50.0, columns.p50Millis());
+        assertEquals(99.0, columns.p99Millis());
+        assertEquals(100.0, columns.maxMillis());
+        assertEquals(5050.0, columns.totalMillis());
+        assertEquals(5.0, stats.get("foreignKeys").p99Millis());
+    }
+
+    @Test
+    void testKeepsOnlyTheSlowestExecutions() {
+        // Given
+        QueryProfiler profiler = new QueryProfiler(2);
+
+        // When
+        profiler.record(CatalogQuery.COLUMNS, "SELECT 1", new String[]{"s", "a"}, 3_000_000L, 1);
+        profiler.record(CatalogQuery.FOREIGN_KEYS, "SELECT 2", new String[]{"s", "b"}, 9_000_000L, 1);
+        profiler.record(CatalogQuery.COLUMNS, "SELECT 1", new String[]{"s", "c"}, 1_000_000L, 1);
+        profiler.record(CatalogQuery.SEQUENCES, "SELECT 3", new String[]{"s", "d"}, 7_000_000L, 1);
+        profiler.attachPlan(profiler.slowest().getFirst(), "Seq Scan on pg_constraint");
+
+        // Then
+        List<RunReport.SlowQueryReport> slowQueries = profiler.toSlowQueries();
+        assertEquals(List.of("foreignKeys", "sequences"), slowQueries.stream().map(RunReport.SlowQueryReport::kind).toList());
+        assertEquals(List.of("s", "b"), slowQueries.getFirst().params());
+        assertEquals("Seq Scan on pg_constraint", slowQueries.getFirst().plan());
+        assertNull(slowQueries.get(1).plan());
+    }
+}
@@ -0,0 +1,53 @@
+package com.jpagenerator.output;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CheckSinkTest {
+
+    @TempDir
+    Path outputDir;
+
+    @Test
+    void testReportsStaleMissingAndOrphanedFilesWithoutWriting() throws Exception {
+        // Given
+        Path entityDir = Files.createDirectories(outputDir.resolve("com/example/entity"));
+        Files.writeString(entityDir.resolve("Empresa.java"), "class Empresa {}\n");
+        Files.writeString(entityDir.resolve("Cliente.java"), "class Cliente { }\n");
+        Files.writeString(entityDir.resolve("Antiga.java"), GeneratedFile.HEADER + "class Antiga {}\n");
+        Files.writeString(entityDir.resolve("ClienteListener.java"), "class ClienteListener {}\n");
+        CheckSink sink = new CheckSink(outputDir.toString(), false);
+
+        // When
+        sink.write(new GeneratedFile("com/example/entity/Empresa.java", "class Empresa {}\n"));
+        sink.write(new GeneratedFile("com/example/entity/Cliente.java", "class Cliente {}\n"));
+        sink.write(new GeneratedFile("com/example/entity/Pedido.java", "class Pedido {}\n"));
+
+        // Then
+        assertEquals(List.of(entityDir.resolve("Cliente.java").toString()), sink.getStale());
+        assertEquals(List.of(entityDir.resolve("Pedido.java").toString()), sink.getMissing());
+        assertEquals(List.of(entityDir.resolve("Antiga.java").toString()), sink.findOrphans());
+        assertTrue(Files.notExists(entityDir.resolve("Pedido.java")));
+    }
+
+    @Test
+    void testFailFastStopsAtTheFirstDifference() {
+        // Given
+        CheckSink sink = new CheckSink(outputDir.toString(), true);
+
+        // When
+        StaleFileException e = assertThrows(StaleFileException.class,
+                () -> sink.write(new GeneratedFile("com/example/entity/Pedido.java", "class Pedido {}\n")));
+
+        // Then
+        assertEquals(outputDir.resolve("com/example/entity/Pedido.java").toAbsolutePath().toString(), e.getPath());
+    }
+}
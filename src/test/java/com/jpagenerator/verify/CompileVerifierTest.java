@@ -0,0 +1,340 @@
+package com.jpagenerator.verify;
+
+import com.jpagenerator.config.DatabaseConfig;
+import com.jpagenerator.config.GenerationPlan;
+import com.jpagenerator.engine.GenerationEngine;
+import com.jpagenerator.engine.GenerationRequest;
+import com.jpagenerator.engine.PlanDecisions;
+import com.jpagenerator.generator.Pagination;
+import com.jpagenerator.inspector.InMemorySchemaSource;
+import com.jpagenerator.model.ColumnInfo;
+import com.jpagenerator.model.ForeignKeyInfo;
+import com.jpagenerator.model.PrimaryKeyInfo;
+import com.jpagenerator.model.SequenceInfo;
+import com.jpagenerator.model.TableInfo;
+import com.jpagenerator.model.UniqueConstraintInfo;
+import com.jpagenerator.output.GeneratedFile;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompileVerifierTest {
+
+    private final CompileVerifier verifier = new CompileVerifier();
+
+    @Test
+    void testGeneratedEntitiesAndCrudCompile() throws Exception {
+        // Given
+        List<GeneratedFile> files = renderClientesAndPedidos();
+
+        // When
+        CompileResult result = verifier.verify(files);
+
+        // Then
+        assertTrue(result.success(), () -> result.problems().toString());
+        assertEquals(files.size(), result.fileCount());
+    }
+
+    @Test
+    void testForeignKeysAreCheckedWithExistsAndBoundByReference() throws Exception {
+        // Given
+        List<GeneratedFile> files = renderClientesAndPedidos();
+
+        // When
+        CompileResult result = verifier.verify(files);
+
+        // Then
+        assertTrue(result.success(), () -> result.problems().toString());
+        String service = content(files, "com/example/entity/service/PedidoService.java");
+        assertTrue(service.contains("private final ClienteRepository clienteRepository;"));
+        assertTrue(service.contains("!clienteRepository.existsById(request.getClienteId())"));
+        assertTrue(service.contains("clienteRepository.getReferenceById(request.getClienteId())"));
+        assertFalse(service.contains("ClienteService"));
+    }
+
+    @Test
+    void testDeleteAndUpdateUseOneStatementPerWrite() throws Exception {
+        // Given
+        List<GeneratedFile> files = renderClientesAndPedidos();
+
+        // When
+        CompileResult result = verifier.verify(files);
+
+        // Then
+        assertTrue(result.success(), () -> result.problems().toString());
+        assertTrue(content(files, "com/example/entity/repository/PedidoRepository.java").contains(
+                "@Modifying\n    @Query(\"delete from Pedido e where e.id = :id\")\n    int deleteDirectlyById(@Param(\"id\") Long id);"));
+        String service = content(files, "com/example/entity/service/PedidoService.java");
+        assertTrue(service.contains("if (pedidoRepository.deleteDirectlyById(id) == 0) {"));
+        assertFalse(service.contains("updatedEntity"));
+        assertFalse(service.contains("deleteById(id)"));
+    }
+
+    @Test
+    void testUniqueConstraintsUseUpsertAndTranslation() throws Exception {
+        // Given
+        List<GeneratedFile> files = renderClientesAndPedidos();
+
+        // When
+        CompileResult result = verifier.verify(files);
+
+        // Then
+        assertTrue(result.success(), () -> result.problems().toString());
+        String repository = content(files, "com/example/entity/repository/PedidoRepository.java");
+        assertTrue(repository.contains("on conflict on constraint pedidos_cliente_entrega_key do update set valor = excluded.valor, pago_em = excluded.pago_em"));
+        assertTrue(repository.contains("int upsertByClienteIdAndEntrega("));
+        assertTrue(content(files, "com/example/entity/service/PedidoService.java").contains(
+                "return new RuntimeException(\"ClienteId, Entrega já cadastrado(a): \" + request.getClienteId() + \", \" + request.getEntrega());"));
+        // Chave primária informada pela aplicação: sem upsert, só a tradução da violação
+        String clienteService = content(files, "com/example/entity/service/ClienteService.java");
+        assertTrue(clienteService.contains("if (\"clientes_email_key\".equalsIgnoreCase(constraintName)) {"));
+        assertFalse(clienteService.contains("existsByEmail"));
+        assertFalse(content(files, "com/example/entity/repository/ClienteRepository.java").contains("upsert"));
+    }
+
+    @Test
+    void testKeysetPaginationCompiles() throws Exception {
+        // Given
+        GenerationPlan plan = createPlan();
+        plan.setPagination(Pagination.KEYSET);
+        GenerationPlan.TablePlan clientes = new GenerationPlan.TablePlan();
+        clientes.setKeysetColumn("email");
+        plan.getTables().put("clientes", clientes);
+
+        // When
+        List<GeneratedFile> files = renderClientesAndPedidos(plan);
+        CompileResult result = verifier.verify(files);
+
+        // Then
+        assertTrue(result.success(), () -> result.problems().toString());
+        assertTrue(content(files, "com/example/entity/repository/ClienteRepository.java")
+                .contains("Slice<Cliente> findByEmailGreaterThanOrderByEmailAsc(String email, Pageable pageable);"));
+        assertTrue(content(files, "com/example/entity/repository/PedidoRepository.java")
+                .contains("Slice<Pedido> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);"));
+    }
+
+    @Test
+    void testSlicePaginationCompilesWithPerTableOverride() throws Exception {
+        // Given
+        GenerationPlan plan = createPlan();
+        plan.setPagination(Pagination.SLICE);
+        GenerationPlan.TablePlan clientes = new GenerationPlan.TablePlan();
+        clientes.setPagination(Pagination.OFFSET);
+        plan.getTables().put("clientes", clientes);
+
+        // When
+        List<GeneratedFile> files = renderClientesAndPedidos(plan);
+        CompileResult result = verifier.verify(files);
+
+        // Then
+        assertTrue(result.success(), () -> result.problems().toString());
+        assertTrue(content(files, "com/example/entity/repository/PedidoRepository.java")
+                .contains("Slice<Pedido> findAllBy(Pageable pageable);"));
+        assertTrue(content(files, "com/example/entity/controller/v1/PedidoController.java")
+                .contains("ResponseEntity<Slice<PedidoResponse>> findAll("));
+        assertTrue(content(files, "com/example/entity/service/ClienteService.java")
+                .contains("public Page<ClienteResponse> findAll(Pageable pageable)"));
+    }
+
+    @Test
+    void testProjectionQueriesCompile() throws Exception {
+        // Given
+        GenerationPlan plan = createPlan();
+        plan.setProjections(true);
+
+        // When
+        List<GeneratedFile> files = renderClientesAndPedidos(plan);
+        CompileResult result = verifier.verify(files);
+
+        // Then
+        assertTrue(result.success(), () -> result.problems().toString());
+        assertTrue(content(files, "com/example/entity/repository/PedidoRepository.java").contains(
+                "select new com.example.entity.dto.response.PedidoResponse(e.id, r1.id, e.valor, e.entrega, e.pagoEm) from Pedido e left join e.cliente r1"));
+        assertTrue(content(files, "com/example/entity/service/PedidoService.java")
+                .contains("return pedidoRepository.findResponseById(id)"));
+    }
+
+    @Test
+    void testProjectionOuterJoinsForeignKeysToUniqueColumns() throws Exception {
+        // Given
+        DatabaseConfig config = new DatabaseConfig();
+        config.setBasePackage("com.example.entity");
+        GenerationPlan plan = createPlan();
+        plan.setProjections(true);
+        TableInfo clientes = TableInfo.builder()
+                .schema("vendas")
+                .name("clientes")
+                .columns(List.of(
+                        ColumnInfo.builder().name("id").dataType("integer").nullable(false).ordinalPosition(1).build(),
+                        ColumnInfo.builder().name("codigo").dataType("integer").nullable(false).ordinalPosition(2).build()))
+                .primaryKey(new PrimaryKeyInfo(List.of("id")))
+                .uniqueConstraints(List.of(new UniqueConstraintInfo("clientes_codigo_key", List.of("codigo"))))
+                .build();
+        TableInfo pedidos = TableInfo.builder()
+                .schema("vendas")
+                .name("pedidos")
+                .columns(List.of(
+                        ColumnInfo.builder().name("id").dataType("bigint").nullable(false).ordinalPosition(1).build(),
+                        ColumnInfo.builder().name("cliente_codigo").dataType("integer").nullable(true).ordinalPosition(2).build()))
+                .primaryKey(new PrimaryKeyInfo(List.of("id")))
+                .foreignKeys(List.of(new ForeignKeyInfo("cliente_codigo", "vendas", "clientes", "codigo", "pedidos_cliente_codigo_fk")))
+                .build();
+
+        // When
+        List<GeneratedFile> files = new GenerationEngine(new InMemorySchemaSource(List.of(clientes, pedidos)))
+                .render(GenerationRequest.builder()
+                        .config(config)
+                        .schema("vendas")
+                        .decisions(new PlanDecisions(plan, config))
+                        .build());
+        CompileResult result = verifier.verify(files);
+
+        // Then
+        assertTrue(result.success(), () -> result.problems().toString());
+        String repository = content(files, "com/example/entity/repository/PedidoRepository.java");
+        assertTrue(repository.contains("PedidoResponse(e.id, r1.codigo) from Pedido e left join e.clienteCodigo r1\","));
+        assertTrue(repository.contains("from Pedido e left join e.clienteCodigo r1 where e.id = :id\")"));
+    }
+
+    @Test
+    void testFetchRelationsCompiles() throws Exception {
+        // Given
+        GenerationPlan plan = createPlan();
+        plan.setFetchRelations(true);
+
+        // When
+        List<GeneratedFile> files = renderClientesAndPedidos(plan);
+        CompileResult result = verifier.verify(files);
+
+        // Then
+        assertTrue(result.success(), () -> result.problems().toString());
+        String repository = content(files, "com/example/entity/repository/PedidoRepository.java");
+        assertTrue(repository.contains("@EntityGraph(attributePaths = {\"cliente\"})\n    Page<Pedido> findAll(Pageable pageable);"));
+        assertTrue(repository.contains("Optional<Pedido> findWithRelationsById(Long id);"));
+        assertFalse(content(files, "com/example/entity/repository/ClienteRepository.java").contains("@EntityGraph"));
+    }
+
+    @Test
+    void testBulkEndpointsCompile() throws Exception {
+        // Given
+        GenerationPlan plan = createPlan();
+        plan.setBulk(true);
+        List<GeneratedFile> files = renderClientesAndPedidos(plan);
+
+        // When
+        CompileResult result = verifier.verify(files);
+
+        // Then
+        assertTrue(result.success(), () -> result.problems().toString());
+        String service = content(files, "com/example/entity/service/PedidoService.java");
+        assertTrue(service.contains("private static final int BULK_CHUNK_SIZE = 500;"));
+        assertTrue(service.contains("results.add(bulkItem(offset + i, () -> create(request)));"));
+        assertTrue(service.contains("pedidoRepository.findAllById(chunk.stream().map(Map.Entry::getKey).toList())"));
+        assertTrue(content(files, "com/example/entity/controller/v1/PedidoController.java")
+                .contains("updateAll(@RequestBody Map<Long, @Valid PedidoRequest> requests)"));
+        assertTrue(content(files, "com/example/entity/dto/response/PedidoBulkResult.java").contains("private PedidoResponse item;"));
+    }
+
+    @Test
+    void testBulkEndpointsCompileWithNamedPrimaryKeys() throws Exception {
+        // Given
+        GenerationPlan plan = createPlan();
+        plan.setBulk(true);
+        List<GeneratedFile> files = renderClientesAndPedidos(plan, "id_cliente", "id_pedido");
+
+        // When
+        CompileResult result = verifier.verify(files);
+
+        // Then
+        assertTrue(result.success(), () -> result.problems().toString());
+        assertTrue(content(files, "com/example/entity/service/ClienteService.java").contains("found.put(cliente.getIdCliente(), cliente);"));
+    }
+
+    @Test
+    void testReportsProblemsPerFile() throws Exception {
+        // Given
+        List<GeneratedFile> files = new ArrayList<>(renderClientesAndPedidos());
+        GeneratedFile pedido = files.stream()
+                .filter(file -> file.relativePath().equals("com/example/entity/Pedido.java"))
+                .findFirst()
+                .orElseThrow();
+        files.set(files.indexOf(pedido), new GeneratedFile(pedido.relativePath(),
+                pedido.content().replace("import java.math.BigDecimal;\n", "").replace("java.math.BigDecimal valor", "BigDecimal valor")));
+
+        // When
+        CompileResult result = verifier.verify(files);
+
+        // Then
+        assertFalse(result.success());
+        assertEquals(List.of("com/example/entity/Pedido.java"), List.copyOf(result.problemsByFile().keySet()));
+        assertTrue(result.problems().getFirst().message().contains("BigDecimal"));
+    }
+
+    private static String content(List<GeneratedFile> files, String relativePath) {
+        return files.stream()
+                .filter(file -> file.relativePath().equals(relativePath))
+                .findFirst()
+                .orElseThrow()
+                .content();
+    }
+
+    private static GenerationPlan createPlan() {
+        GenerationPlan plan = new GenerationPlan();
+        plan.setForeignKeyStrategy("relationship");
+        plan.setGenerateCrud(true);
+        return plan;
+    }
+
+    private static List<GeneratedFile> renderClientesAndPedidos() throws Exception {
+        return renderClientesAndPedidos(createPlan());
+    }
+
+    private static List<GeneratedFile> renderClientesAndPedidos(GenerationPlan plan) throws Exception {
+        return renderClientesAndPedidos(plan, "id", "id");
+    }
+
+    private static List<GeneratedFile> renderClientesAndPedidos(GenerationPlan plan, String clienteKey, String pedidoKey) throws Exception {
+        DatabaseConfig config = new DatabaseConfig();
+        config.setBasePackage("com.example.entity");
+
+        TableInfo clientes = TableInfo.builder()
+                .schema("vendas")
+                .name("clientes")
+                .columns(List.of(
+                        ColumnInfo.builder().name(clienteKey).dataType("integer").nullable(false).ordinalPosition(1).build(),
+                        ColumnInfo.builder().name("nome").dataType("text").nullable(false).ordinalPosition(2).build(),
+                        ColumnInfo.builder().name("email").dataType("character varying").maxLength(100).nullable(false).ordinalPosition(3).build(),
+                        ColumnInfo.builder().name("created_at").dataType("timestamp with time zone").nullable(false).ordinalPosition(4).build()))
+                .primaryKey(new PrimaryKeyInfo(List.of(clienteKey)))
+                .uniqueConstraints(List.of(new UniqueConstraintInfo("clientes_email_key", List.of("email"))))
+                .build();
+
+        TableInfo pedidos = TableInfo.builder()
+                .schema("vendas")
+                .name("pedidos")
+                .columns(List.of(
+                        ColumnInfo.builder().name(pedidoKey).dataType("bigint").nullable(false)
+                                .defaultValue("nextval('vendas.pedidos_id_seq'::regclass)").ordinalPosition(1).build(),
+                        ColumnInfo.builder().name("cliente_id").dataType("integer").nullable(false).ordinalPosition(2).build(),
+                        ColumnInfo.builder().name("valor").dataType("numeric").precision(12).scale(2).nullable(false).ordinalPosition(3).build(),
+                        ColumnInfo.builder().name("entrega").dataType("date").nullable(true).ordinalPosition(4).build(),
+                        ColumnInfo.builder().name("pago_em").dataType("timestamp with time zone").nullable(true).ordinalPosition(5).build()))
+                .primaryKey(new PrimaryKeyInfo(List.of(pedidoKey)))
+                .foreignKeys(List.of(new ForeignKeyInfo("cliente_id", "vendas", "clientes", clienteKey, "pedidos_cliente_fk")))
+                .uniqueConstraints(List.of(new UniqueConstraintInfo("pedidos_cliente_entrega_key", List.of("cliente_id", "entrega"))))
+                .sequences(List.of(new SequenceInfo(pedidoKey, "pedidos_id_seq", "vendas")))
+                .build();
+
+        GenerationEngine engine = new GenerationEngine(new InMemorySchemaSource(List.of(clientes, pedidos)));
+        return engine.render(GenerationRequest.builder()
+                .config(config)
+                .schema("vendas")
+                .decisions(new PlanDecisions(plan, config))
+                .build());
+    }
+}
@@ -0,0 +1,163 @@
+package com.jpagenerator.watch;
+
+import com.jpagenerator.config.DatabaseConfig;
+import com.jpagenerator.config.GenerationPlan;
+import com.jpagenerator.inspector.SchemaSnapshot;
+import com.jpagenerator.model.ColumnInfo;
+import com.jpagenerator.model.ForeignKeyInfo;
+import com.jpagenerator.model.PrimaryKeyInfo;
+import com.jpagenerator.model.TableInfo;
+import com.jpagenerator.output.FileSink;
+import com.jpagenerator.output.InMemorySink;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WatchSessionTest {
+
+    @TempDir
+    Path tempDir;
+
+    private DatabaseConfig config;
+    private GenerationPlan plan;
+    private Path snapshotFile;
+    private WatchSession session;
+    private InMemorySink sink;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        config = new DatabaseConfig();
+        config.setBasePackage("com.example.entity");
+        plan = new GenerationPlan();
+        plan.setForeignKeyStrategy("relationship");
+
+        snapshotFile = tempDir.resolve("vendas.json");
+        new SchemaSnapshot("vendas", List.of(createClientes("text"), createPedidos(), createProdutos())).save(snapshotFile);
+        sink = new InMemorySink();
+        session = new WatchSession(SchemaVersions.snapshot(snapshotFile), config, plan, "vendas", sink);
+    }
+
+    @Test
+    void testOnlyChangedTablesAndTheirReferencesAreGeneratedAgain() throws Exception {
+        // Given
+        session.generateAll();
+        new SchemaSnapshot("vendas", List.of(createClientes("character varying"), createPedidos(), createProdutos())).save(snapshotFile);
+
+        // When
+        WatchSession.WatchCycle cycle = session.regenerateChanged();
+
+        // Then
+        assertEquals(List.of("clientes"), cycle.changedTables());
+        assertEquals(List.of("com/example/entity/Cliente.java", "com/example/entity/Pedido.java"),
+                cycle.generatedFiles());
+    }
+
+    @Test
+    void testUnchangedSnapshotGeneratesNothing() throws Exception {
+        // Given
+        session.generateAll();
+        int filesAfterFirstRun = sink.getFiles().size();
+
+        // When
+        WatchSession.WatchCycle cycle = session.regenerateChanged();
+
+        // Then
+        assertTrue(cycle.isEmpty());
+        assertEquals(filesAfterFirstRun, sink.getFiles().size());
+    }
+
+    @Test
+    void testFailedCycleIsRetriedOnTheNextOne() throws Exception {
+        // Given
+        AtomicBoolean failNextWrite = new AtomicBoolean();
+        FileSink flakySink = file -> {
+            if (failNextWrite.getAndSet(false)) {
+                throw new IOException("Sem espaço em disco");
+            }
+            return sink.write(file);
+        };
+        WatchSession flakySession = new WatchSession(SchemaVersions.snapshot(snapshotFile), config, plan, "vendas", flakySink);
+        flakySession.generateAll();
+        new SchemaSnapshot("vendas", List.of(createClientes("character varying"), createPedidos(), createProdutos())).save(snapshotFile);
+        failNextWrite.set(true);
+        assertThrows(IOException.class, flakySession::regenerateChanged);
+
+        // When
+        WatchSession.WatchCycle cycle = flakySession.regenerateChanged();
+
+        // Then
+        assertEquals(List.of("clientes"), cycle.changedTables());
+        assertEquals(List.of("com/example/entity/Cliente.java", "com/example/entity/Pedido.java"),
+                cycle.generatedFiles());
+    }
+
+    @Test
+    void testWatcherGroupsABurstOfChanges() throws Exception {
+        // Given
+        Path migrations = Files.createDirectories(tempDir.resolve("db/migration"));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try (FileChangeWatcher watcher = new FileChangeWatcher(List.of(migrations), Duration.ofMillis(200))) {
+            // When
+            Future<Set<Path>> changes = executor.submit(watcher::awaitChanges);
+            Files.writeString(migrations.resolve("V1__clientes.sql"), "CREATE TABLE clientes (id bigint);");
+            Files.writeString(migrations.resolve("V2__pedidos.sql"), "CREATE TABLE pedidos (id bigint);");
+
+            // Then
+            assertTrue(changes.get(10, TimeUnit.SECONDS).containsAll(Set.of(
+                    migrations.resolve("V1__clientes.sql").toAbsolutePath(),
+                    migrations.resolve("V2__pedidos.sql").toAbsolutePath())));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private TableInfo createClientes(String nomeType) {
+        return TableInfo.builder()
+                .schema("vendas")
+                .name("clientes")
+                .columns(List.of(
+                        ColumnInfo.builder().name("id").dataType("bigint").nullable(false).ordinalPosition(1).build(),
+                        ColumnInfo.builder().name("nome").dataType(nomeType).nullable(false).ordinalPosition(2).build()))
+                .primaryKey(new PrimaryKeyInfo(List.of("id")))
+                .build();
+    }
+
+    private TableInfo createPedidos() {
+        return TableInfo.builder()
+                .schema("vendas")
+                .name("pedidos")
+                .columns(List.of(
+                        ColumnInfo.builder().name("id").dataType("bigint").nullable(false).ordinalPosition(1).build(),
+                        ColumnInfo.builder().name("cliente_id").dataType("bigint").nullable(false).ordinalPosition(2).build()))
+                .primaryKey(new PrimaryKeyInfo(List.of("id")))
+                .foreignKeys(List.of(new ForeignKeyInfo("cliente_id", "vendas", "clientes", "id", "pedidos_cliente_fk")))
+                .build();
+    }
+
+    private TableInfo createProdutos() {
+        return TableInfo.builder()
+                .schema("vendas")
+                .name("produtos")
+                .columns(List.of(
+                        ColumnInfo.builder().name("id").dataType("bigint").nullable(false).ordinalPosition(1).build()))
+                .primaryKey(new PrimaryKeyInfo(List.of("id")))
+                .build();
+    }
+}